@@ -0,0 +1,96 @@
+package com.example.vms.benchmark;
+
+import com.example.vms.model.MemoryManager;
+import com.example.vms.utils.LogResults;
+import com.example.vms.utils.SimulationFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of MemoryManager.load and store on each of their paths:
+ * a TLB hit (the same page again), a page table hit (a loop over the resident pages, larger than the TLB)
+ * and a page fault (a loop over twice as many pages as there are frames, so that LRU and FIFO always miss).
+ * Every replacement algorithm is measured from 8 to 1M frames. Run with -prof gc for the allocation rate, and
+ * restrict the grid with e.g. -p algorithm=LRU -p frames=8,1024 (Optimal scans every page on each eviction,
+ * so its fault path is very slow with many frames).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MemoryManagerBenchmark {
+    private static final int PAGE_SIZE = 16; // bytes per page
+    private static final int TLB_SIZE = 4; // smaller than the smallest frame count, so the page table path misses the TLB
+
+    @Param({"FIFO", "LRU", "NRU", "Optimal"})
+    public String algorithm; // page replacement algorithm
+
+    @Param({"8", "1024", "65536", "1048576"})
+    public int frames; // frames of main memory
+
+    private MemoryManager memoryManager; // simulator under test
+    private int virtualPages; // allocated pages: the first half is resident, the second half starts on disk
+    private int cursor; // position in the current access loop
+
+    /**
+     * Creates the memory manager and allocates twice as many pages as there are frames,
+     * so that the first half fills the main memory and the rest goes to secondary storage.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        LogResults.setEnabled(false);
+        virtualPages = frames * 2;
+        int virtualAddressWidth = 32 - Integer.numberOfLeadingZeros(virtualPages * PAGE_SIZE - 1);
+        memoryManager = new MemoryManager(virtualAddressWidth, TLB_SIZE, PAGE_SIZE, frames * PAGE_SIZE,
+                virtualPages * PAGE_SIZE,
+                SimulationFactory.createReplacementAlgorithm(algorithm, PAGE_SIZE, frames * PAGE_SIZE, null), null);
+        for (int vpn = 0; vpn < virtualPages; vpn++) {
+            memoryManager.allocatePage(vpn);
+        }
+        cursor = 0;
+    }
+
+    @Benchmark
+    public void loadTlbHit() {
+        memoryManager.load(3);
+    }
+
+    @Benchmark
+    public void storeTlbHit() {
+        memoryManager.store(3, 42);
+    }
+
+    @Benchmark
+    public void loadPageTableHit() {
+        memoryManager.load(nextPage(frames) * PAGE_SIZE);
+    }
+
+    @Benchmark
+    public void storePageTableHit() {
+        memoryManager.store(nextPage(frames) * PAGE_SIZE, 42);
+    }
+
+    @Benchmark
+    public void loadPageFault() {
+        memoryManager.load(nextPage(virtualPages) * PAGE_SIZE);
+    }
+
+    @Benchmark
+    public void storePageFault() {
+        memoryManager.store(nextPage(virtualPages) * PAGE_SIZE, 42);
+    }
+
+    /**
+     * Advances the access loop.
+     * @param pages The length of the loop.
+     * @return The next page of the loop.
+     */
+    private int nextPage(int pages) {
+        int page = cursor;
+        cursor = page + 1 == pages ? 0 : page + 1;
+        return page;
+    }
+}
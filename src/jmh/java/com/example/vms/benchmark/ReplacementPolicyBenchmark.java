@@ -0,0 +1,196 @@
+package com.example.vms.benchmark;
+
+import com.example.vms.model.*;
+import com.example.vms.utils.LogResults;
+import com.example.vms.utils.ZipfSampler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the replacement algorithms on their own, without the rest of the simulator:
+ * touching a resident page (updatePageAccess), replacing a page (evictPage followed by addPage),
+ * and the TLB victim helpers of LRU, NRU and Optimal. The touched pages follow a Zipf or a scan stream,
+ * and the resident set grows from 64 to 256K pages, so that each policy's scaling curve shows up as
+ * the drop in throughput between two sizes (a flat curve means constant-time operations).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ReplacementPolicyBenchmark {
+    private static final int STREAM_LENGTH = 1 << 16; // precomputed page references (a power of two)
+    private static final int FUTURE_LENGTH = 4096; // references known to Optimal
+    private static final int TLB_PAGES = 64; // pages passed to the TLB victim helpers
+
+    /**
+     * A replacement algorithm that tracks residentPages pages of a page table twice that size.
+     */
+    @State(Scope.Thread)
+    public static class PolicyState {
+        @Param({"FIFO", "LRU", "NRU", "Optimal"})
+        public String policy; // replacement algorithm
+
+        @Param({"64", "1024", "16384", "262144"})
+        public int residentPages; // pages tracked by the algorithm
+
+        @Param({"Zipf", "Scan"})
+        public String workload; // order in which resident pages are touched
+
+        ReplacementAlgorithm algorithm; // algorithm under test
+        PageTable pageTable; // page table shared with LRU and NRU
+        int[] stream; // resident page references
+        int position; // next reference of the stream
+        int spare; // page that is not tracked; it replaces the next victim
+
+        /**
+         * Creates the algorithm and fills it with the resident pages 0 .. residentPages - 1.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            LogResults.setEnabled(false);
+            pageTable = new PageTable(residentPages + 1);
+            for (int vpn = 0; vpn <= residentPages; vpn++) {
+                pageTable.addEntry(vpn, vpn);
+            }
+            stream = createStream(workload, residentPages, 11);
+            algorithm = createAlgorithm(policy, pageTable, residentPages, stream);
+            for (int vpn = 0; vpn < residentPages; vpn++) {
+                algorithm.addPage(vpn);
+            }
+            spare = residentPages;
+            position = 0;
+        }
+
+        /**
+         * Gets the next page of the stream.
+         * @return A resident page number.
+         */
+        int nextPage() {
+            int page = stream[position];
+            position = (position + 1) & (STREAM_LENGTH - 1);
+            return page;
+        }
+    }
+
+    /**
+     * An LRU, NRU or Optimal algorithm (FIFO has no TLB helper) with a fixed set of TLB pages.
+     */
+    @State(Scope.Thread)
+    public static class TlbState {
+        @Param({"LRU", "NRU", "Optimal"})
+        public String policy; // replacement algorithm
+
+        @Param({"64", "1024", "16384", "262144"})
+        public int residentPages; // pages tracked by the algorithm
+
+        ReplacementAlgorithm algorithm; // algorithm under test
+        Set<Integer> tlbPages; // pages in the TLB, spread over the resident set
+
+        /**
+         * Creates the algorithm, touches every resident page once and picks the TLB pages.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            LogResults.setEnabled(false);
+            PageTable pageTable = new PageTable(residentPages);
+            for (int vpn = 0; vpn < residentPages; vpn++) {
+                pageTable.addEntry(vpn, vpn);
+            }
+            int[] stream = createStream("Zipf", residentPages, 13);
+            algorithm = createAlgorithm(policy, pageTable, residentPages, stream);
+            for (int vpn = 0; vpn < residentPages; vpn++) {
+                algorithm.addPage(vpn);
+            }
+            tlbPages = new LinkedHashSet<>();
+            int step = Math.max(1, residentPages / TLB_PAGES);
+            for (int vpn = 0; vpn < residentPages && tlbPages.size() < TLB_PAGES; vpn += step) {
+                tlbPages.add(vpn);
+            }
+        }
+    }
+
+    @Benchmark
+    public void touch(PolicyState state) {
+        state.algorithm.updatePageAccess(state.nextPage());
+    }
+
+    @Benchmark
+    public int evictAndAdd(PolicyState state) {
+        int victim = state.algorithm.evictPage();
+        state.algorithm.addPage(state.spare);
+        state.spare = victim; // the victim is the page brought in next time
+        return victim;
+    }
+
+    @Benchmark
+    public int tlbVictim(TlbState state) {
+        switch (state.policy) {
+            case "LRU":
+                return ((LRUReplacement) state.algorithm).getTLBLRUPage(state.tlbPages);
+            case "NRU":
+                return ((NRUReplacement) state.algorithm).getTLBNRUPage(state.tlbPages);
+            default:
+                return ((OptimalReplacement) state.algorithm).getTLBOptimalPage(state.tlbPages);
+        }
+    }
+
+    /**
+     * Creates a replacement algorithm the way MemoryManager does (LRU and NRU are bound to the page table,
+     * Optimal knows the first references of the stream).
+     * @param policy The algorithm name.
+     * @param pageTable The page table.
+     * @param residentPages The number of frames.
+     * @param stream The page references.
+     * @return The algorithm.
+     */
+    private static ReplacementAlgorithm createAlgorithm(String policy, PageTable pageTable, int residentPages, int[] stream) {
+        switch (policy) {
+            case "LRU":
+                return new LRUReplacement(pageTable);
+            case "NRU":
+                return new NRUReplacement(pageTable);
+            case "Optimal":
+                OptimalReplacement optimal = new OptimalReplacement();
+                List<Integer> future = new ArrayList<>(FUTURE_LENGTH);
+                for (int i = 0; i < FUTURE_LENGTH; i++) {
+                    future.add(stream[i]);
+                }
+                optimal.setFutureAccesses(future);
+                return optimal;
+            case "FIFO":
+            default:
+                return new FIFOReplacement(residentPages);
+        }
+    }
+
+    /**
+     * Precomputes a stream of references to the pages 0 .. pages - 1.
+     * @param workload Zipf (exponent 0.9, hot pages spread over the range) or Scan (0, 1, 2, ... in a loop).
+     * @param pages The number of pages.
+     * @param seed The random seed.
+     * @return STREAM_LENGTH page numbers.
+     */
+    private static int[] createStream(String workload, int pages, long seed) {
+        int[] stream = new int[STREAM_LENGTH];
+        if ("Scan".equals(workload)) {
+            for (int i = 0; i < STREAM_LENGTH; i++) {
+                stream[i] = i % pages;
+            }
+            return stream;
+        }
+        ZipfSampler sampler = new ZipfSampler(pages, 0.9);
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < STREAM_LENGTH; i++) {
+            int rank = sampler.sample(random); // 1 is the most popular
+            stream[i] = (int) ((rank * 0x9E3779B1L) % pages); // scatter the ranks over the page numbers
+        }
+        return stream;
+    }
+}
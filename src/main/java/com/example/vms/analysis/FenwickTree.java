@@ -0,0 +1,67 @@
+package com.example.vms.analysis;
+
+/**
+ * A Fenwick (binary indexed) tree over int counts: adding to a position and summing a prefix both take O(log n).
+ */
+public class FenwickTree {
+    private final int[] tree; // partial sums, 1-based
+
+    /**
+     * Creates a tree with every count zero.
+     * @param size The number of positions.
+     */
+    public FenwickTree(int size) {
+        this.tree = new int[size + 1];
+    }
+
+    /**
+     * Creates a tree whose first positions have a count of one, in O(n).
+     * @param size The number of positions.
+     * @param ones The number of leading positions set to one.
+     * @return The tree.
+     */
+    public static FenwickTree withLeadingOnes(int size, int ones) {
+        FenwickTree fenwick = new FenwickTree(size);
+        int[] tree = fenwick.tree;
+        for (int i = 1; i <= ones; i++) {
+            tree[i] += 1;
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                tree[parent] += tree[i];
+            }
+        }
+        for (int i = ones + 1; i <= size; i++) { // propagate the sums of the ones into the later nodes
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                tree[parent] += tree[i];
+            }
+        }
+        return fenwick;
+    }
+
+    /**
+     * Adds to the count of a position.
+     * @param index The position (0-based).
+     * @param delta The amount to add.
+     */
+    public void add(int index, int delta) {
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Sums the counts of positions 0 to index.
+     * @param index The last position included (0-based), or -1 for an empty prefix.
+     * @return The sum.
+     */
+    public int prefixSum(int index) {
+        int sum = 0;
+        for (int i = index + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    public int size() { return tree.length - 1; } // gets the number of positions
+}
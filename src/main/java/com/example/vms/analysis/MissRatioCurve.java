@@ -0,0 +1,47 @@
+package com.example.vms.analysis;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * LRU miss ratio as a function of the number of frames. Beyond the largest size stored only first references
+ * miss, so the ratio stays at its last value.
+ */
+public class MissRatioCurve {
+    private final double[] missRatio; // miss ratio for 0..n frames
+
+    /**
+     * Creates a curve.
+     * @param missRatio The miss ratio for 0..n frames.
+     */
+    public MissRatioCurve(double[] missRatio) {
+        this.missRatio = missRatio;
+    }
+
+    /**
+     * Returns the miss ratio of an LRU memory.
+     * @param frames The number of frames.
+     * @return The fraction of references that miss.
+     */
+    public double getMissRatio(int frames) {
+        if (missRatio.length == 0) {
+            return 0.0;
+        }
+        return missRatio[Math.max(0, Math.min(frames, missRatio.length - 1))];
+    }
+
+    /**
+     * Writes the curve as CSV (frames,physicalMemorySize,missRatio).
+     * @param out The destination.
+     * @param pageSize The page size used to turn frames into a physical memory size.
+     * @throws IOException if writing fails.
+     */
+    public void writeCsv(Appendable out, int pageSize) throws IOException {
+        out.append("frames,physicalMemorySize,missRatio\n");
+        for (int frames = 1; frames < missRatio.length; frames++) {
+            out.append(String.format(Locale.ROOT, "%d,%d,%.6f%n", frames, (long) frames * pageSize, missRatio[frames]));
+        }
+    }
+
+    public int getMaxFrames() { return missRatio.length - 1; } // gets the largest number of frames stored
+}
@@ -0,0 +1,87 @@
+package com.example.vms.analysis;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Histogram of LRU stack (reuse) distances. Counts are weights, so that sampled analyses can let one
+ * reference stand for several; an exact analysis adds a weight of one per reference.
+ */
+public class ReuseHistogram {
+    private double[] counts = new double[64]; // weight of each finite distance (index = distance)
+    private double cold; // weight of first references (infinite distance)
+    private double total; // weight of all references
+
+    /**
+     * Adds a reference with a finite distance.
+     * @param distance The stack distance (at least 1).
+     * @param weight The number of references it stands for.
+     */
+    public void add(int distance, double weight) {
+        if (distance >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(counts.length * 2, distance + 1));
+        }
+        counts[distance] += weight;
+        total += weight;
+    }
+
+    /**
+     * Adds a first reference to a page.
+     * @param weight The number of references it stands for.
+     */
+    public void addCold(double weight) {
+        cold += weight;
+        total += weight;
+    }
+
+    /**
+     * Builds the LRU miss-ratio curve: the miss ratio for every memory size from 0 frames up to the largest distance seen.
+     * A reference misses in a memory of c frames when its distance is larger than c.
+     * @return The miss-ratio curve.
+     */
+    public MissRatioCurve toMissRatioCurve() {
+        int maxDistance = getMaxDistance();
+        double[] missRatio = new double[maxDistance + 1];
+        double misses = total;
+        for (int frames = 0; frames <= maxDistance; frames++) {
+            if (frames > 0) {
+                misses -= counts[frames]; // references with distance == frames now hit
+            }
+            missRatio[frames] = total == 0 ? 0.0 : Math.max(misses, 0.0) / total;
+        }
+        return new MissRatioCurve(missRatio);
+    }
+
+    /**
+     * Writes the non-empty buckets as CSV (distance,count), with the first references on a line of their own.
+     * @param out The destination.
+     * @throws IOException if writing fails.
+     */
+    public void writeCsv(Appendable out) throws IOException {
+        out.append("distance,count\n");
+        for (int distance = 1; distance < counts.length; distance++) {
+            if (counts[distance] != 0) {
+                out.append(String.format(Locale.ROOT, "%d,%.1f%n", distance, counts[distance]));
+            }
+        }
+        out.append(String.format(Locale.ROOT, "cold,%.1f%n", cold));
+    }
+
+    /**
+     * Returns the largest finite distance seen.
+     * @return The largest distance, or 0 if every reference was a first reference.
+     */
+    public int getMaxDistance() {
+        for (int distance = counts.length - 1; distance > 0; distance--) {
+            if (counts[distance] != 0) {
+                return distance;
+            }
+        }
+        return 0;
+    }
+
+    public double getCount(int distance) { return distance < counts.length ? counts[distance] : 0.0; } // gets the weight of a distance
+    public double getCold() { return cold; } // gets the weight of first references
+    public double getTotal() { return total; } // gets the weight of all references
+}
@@ -0,0 +1,170 @@
+package com.example.vms.analysis;
+
+import com.example.vms.trace.TraceSink;
+
+import java.util.Arrays;
+
+/**
+ * Approximate LRU miss-ratio curves with spatially hashed sampling (SHARDS, Waldspurger et al.), in constant memory.
+ * Every page is hashed and only pages whose hash is below a threshold are tracked, so a sampled page is
+ * followed on every reference and its stack distances stay meaningful. A distance measured among the sampled
+ * pages (not counting the page itself) is divided by the sampling rate to estimate the real distance, and each sampled reference counts
+ * for 1 / rate references.
+ * The number of tracked pages is fixed: when a new page would exceed it, the page with the largest hash is
+ * dropped and the threshold is lowered to that hash, so the rate adapts to the number of distinct pages.
+ * Allocate operations are not references and are ignored.
+ */
+public class ShardsAnalyzer implements TraceSink {
+    private static final int HASH_BITS = 24; // hashes are compared in [0, 2^24)
+    private static final long HASH_RANGE = 1L << HASH_BITS;
+    public static final int DEFAULT_SAMPLED_PAGES = 8192; // default number of tracked pages
+
+    private final int pageSize; // page size used to find the page of an address
+    private final int maxSampledPages; // largest number of pages tracked at once
+    private final StackDistanceTracker tracker; // LRU stack distances of the sampled pages
+    private final ReuseHistogram histogram; // estimated distances
+    private long[] heap; // sampled pages as (hash << 32 | vpn), max-heap on the hash
+    private int heapSize; // number of sampled pages
+    private long threshold; // pages with a hash below this are sampled
+    private long references; // number of references seen
+    private long sampledReferences; // number of references to sampled pages
+
+    /**
+     * Creates an analyzer that tracks at most the default number of pages.
+     * @param pageSize The page size of the simulation.
+     */
+    public ShardsAnalyzer(int pageSize) {
+        this(pageSize, DEFAULT_SAMPLED_PAGES);
+    }
+
+    /**
+     * Creates an analyzer. The sampling rate starts at 1 and only goes down once more pages than
+     * maxSampledPages have been seen.
+     * @param pageSize The page size of the simulation.
+     * @param maxSampledPages The largest number of pages tracked at once.
+     */
+    public ShardsAnalyzer(int pageSize, int maxSampledPages) {
+        if (maxSampledPages < 1) {
+            throw new IllegalArgumentException("At least one page must be sampled: " + maxSampledPages);
+        }
+        this.pageSize = pageSize;
+        this.maxSampledPages = maxSampledPages;
+        this.tracker = new StackDistanceTracker();
+        this.histogram = new ReuseHistogram();
+        this.heap = new long[Math.min(maxSampledPages, 1024) + 1];
+        this.threshold = HASH_RANGE;
+    }
+
+    @Override
+    public void allocatePage(int vpn) {
+        // allocation is not a reference
+    }
+
+    @Override
+    public void load(int virtualAddress) {
+        reference(virtualAddress / pageSize);
+    }
+
+    @Override
+    public void store(int virtualAddress, int data) {
+        reference(virtualAddress / pageSize);
+    }
+
+    /**
+     * Records a reference to a page if the page is sampled.
+     * @param vpn The virtual page number.
+     */
+    private void reference(int vpn) {
+        if (vpn < 0) {
+            return;
+        }
+        references++;
+        long hash = hash(vpn);
+        if (hash >= threshold) {
+            return;
+        }
+        sampledReferences++;
+        double rate = getSamplingRate();
+        int distance = tracker.access(vpn);
+        if (distance == StackDistanceTracker.COLD) {
+            histogram.addCold(1 / rate);
+            push(hash << 32 | vpn);
+            while (heapSize > maxSampledPages) {
+                long dropped = pop();
+                tracker.remove((int) dropped);
+                threshold = dropped >>> 32; // every page hashed at or above the dropped page is no longer sampled
+                while (heapSize > 0 && heap[1] >>> 32 >= threshold) {
+                    tracker.remove((int) pop()); // pages sharing the dropped hash
+                }
+            }
+        } else {
+            // the other sampled pages above this one stand for (distance - 1) / rate pages
+            histogram.add((int) Math.min(Math.round((distance - 1) / rate) + 1, Integer.MAX_VALUE - 8), 1 / rate);
+        }
+    }
+
+    /**
+     * Hashes a page number into [0, 2^24) (the finalizer of SplitMix64).
+     * @param vpn The virtual page number.
+     * @return The hash.
+     */
+    private static long hash(int vpn) {
+        long z = vpn + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return z >>> (64 - HASH_BITS);
+    }
+
+    /**
+     * Adds a sampled page to the max-heap.
+     * @param entry The page as (hash << 32 | vpn).
+     */
+    private void push(long entry) {
+        if (++heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        int i = heapSize;
+        while (i > 1 && heap[i >> 1] < entry) {
+            heap[i] = heap[i >> 1];
+            i >>= 1;
+        }
+        heap[i] = entry;
+    }
+
+    /**
+     * Removes the sampled page with the largest hash from the max-heap.
+     * @return The page as (hash << 32 | vpn).
+     */
+    private long pop() {
+        long top = heap[1];
+        long last = heap[heapSize--];
+        int i = 1;
+        while (2 * i <= heapSize) {
+            int child = 2 * i;
+            if (child < heapSize && heap[child + 1] > heap[child]) {
+                child++;
+            }
+            if (heap[child] <= last) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    /**
+     * Returns the current sampling rate.
+     * @return The fraction of pages that are sampled (1.0 until more than maxSampledPages pages have been seen).
+     */
+    public double getSamplingRate() {
+        return (double) threshold / HASH_RANGE;
+    }
+
+    public ReuseHistogram getHistogram() { return histogram; } // gets the estimated reuse distance histogram
+    public MissRatioCurve getMissRatioCurve() { return histogram.toMissRatioCurve(); } // gets the estimated LRU miss-ratio curve
+    public long getReferences() { return references; } // gets the number of references seen
+    public long getSampledReferences() { return sampledReferences; } // gets the number of references to sampled pages
+}
@@ -0,0 +1,59 @@
+package com.example.vms.analysis;
+
+import com.example.vms.trace.TraceSink;
+
+/**
+ * Exact single-pass LRU analysis of a trace. It consumes the same operations as a MemoryManager and records the
+ * stack distance of every page referenced by a Load or Store, which gives the LRU miss ratio for every
+ * physical memory size at once instead of one simulation per size. Allocate operations are not references
+ * and are ignored.
+ */
+public class StackDistanceAnalyzer implements TraceSink {
+    private final int pageSize; // page size used to find the page of an address
+    private final StackDistanceTracker tracker; // LRU stack distances of the pages
+    private final ReuseHistogram histogram; // distances seen so far
+
+    /**
+     * Creates an analyzer.
+     * @param pageSize The page size of the simulation.
+     */
+    public StackDistanceAnalyzer(int pageSize) {
+        this.pageSize = pageSize;
+        this.tracker = new StackDistanceTracker();
+        this.histogram = new ReuseHistogram();
+    }
+
+    @Override
+    public void allocatePage(int vpn) {
+        // allocation is not a reference
+    }
+
+    @Override
+    public void load(int virtualAddress) {
+        reference(virtualAddress / pageSize);
+    }
+
+    @Override
+    public void store(int virtualAddress, int data) {
+        reference(virtualAddress / pageSize);
+    }
+
+    /**
+     * Records a reference to a page.
+     * @param vpn The virtual page number.
+     */
+    private void reference(int vpn) {
+        if (vpn < 0) {
+            return;
+        }
+        int distance = tracker.access(vpn);
+        if (distance == StackDistanceTracker.COLD) {
+            histogram.addCold(1);
+        } else {
+            histogram.add(distance, 1);
+        }
+    }
+
+    public ReuseHistogram getHistogram() { return histogram; } // gets the reuse distance histogram
+    public MissRatioCurve getMissRatioCurve() { return histogram.toMissRatioCurve(); } // gets the LRU miss-ratio curve
+}
@@ -0,0 +1,99 @@
+package com.example.vms.analysis;
+
+import com.example.vms.utils.IntIntMap;
+
+import java.util.Arrays;
+
+/**
+ * Computes LRU stack distances (Mattson et al.): the distance of a reference is the number of distinct keys
+ * referenced since the previous reference to the same key, plus one, so a reference hits in an LRU memory
+ * of c frames exactly when its distance is at most c.
+ * Each key is marked in a Fenwick tree at the time of its last reference; the distance is the number of marks
+ * after that time, which takes O(log n) per reference. When the time axis fills up, the live marks are packed
+ * to the front, so the tree only ever needs about twice as many positions as there are distinct keys.
+ */
+public class StackDistanceTracker {
+    public static final int COLD = 0; // distance returned for the first reference to a key
+    private static final int MIN_CAPACITY = 1024; // smallest time axis
+
+    private FenwickTree marks; // one mark at the time of the last reference of every live key
+    private int[] keyAt; // key referenced at each time, or -1 if it was referenced again later
+    private final IntIntMap lastTime; // time of the last reference of every live key
+    private int now; // next free time
+    private int live; // number of live keys
+
+    /**
+     * Creates an empty tracker.
+     */
+    public StackDistanceTracker() {
+        this.marks = new FenwickTree(MIN_CAPACITY);
+        this.keyAt = new int[MIN_CAPACITY];
+        this.lastTime = new IntIntMap(MIN_CAPACITY);
+        this.now = 0;
+        this.live = 0;
+    }
+
+    /**
+     * Records a reference.
+     * @param key The referenced key (non-negative).
+     * @return The stack distance of the reference (1 for an immediate re-reference), or COLD for the first reference.
+     */
+    public int access(int key) {
+        if (now == keyAt.length) {
+            compact();
+        }
+        int previous = lastTime.get(key, -1);
+        int distance = COLD;
+        if (previous >= 0) {
+            distance = live - marks.prefixSum(previous) + 1; // marks after the previous reference, plus the key itself
+            marks.add(previous, -1);
+            keyAt[previous] = -1;
+        } else {
+            live++;
+        }
+        marks.add(now, 1);
+        keyAt[now] = key;
+        lastTime.put(key, now);
+        now++;
+        return distance;
+    }
+
+    /**
+     * Forgets a key, as if it had never been referenced.
+     * @param key The key.
+     * @return true if the key was live, false otherwise.
+     */
+    public boolean remove(int key) {
+        int previous = lastTime.remove(key, -1);
+        if (previous < 0) {
+            return false;
+        }
+        marks.add(previous, -1);
+        keyAt[previous] = -1;
+        live--;
+        return true;
+    }
+
+    /**
+     * Packs the live keys to the front of the time axis, keeping their order, and resizes the axis
+     * to twice the number of live keys.
+     */
+    private void compact() {
+        int capacity = Math.max(MIN_CAPACITY, live * 2);
+        int[] packed = new int[capacity];
+        int time = 0;
+        for (int i = 0; i < now; i++) {
+            if (keyAt[i] != -1) {
+                packed[time] = keyAt[i];
+                lastTime.put(keyAt[i], time);
+                time++;
+            }
+        }
+        Arrays.fill(packed, time, capacity, -1);
+        keyAt = packed;
+        marks = FenwickTree.withLeadingOnes(capacity, time);
+        now = time;
+    }
+
+    public int getLiveKeys() { return live; } // gets the number of distinct keys being tracked
+}
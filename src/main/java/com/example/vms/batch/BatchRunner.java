@@ -0,0 +1,367 @@
+package com.example.vms.batch;
+
+import com.example.vms.analysis.MissRatioCurve;
+import com.example.vms.analysis.ReuseHistogram;
+import com.example.vms.analysis.ShardsAnalyzer;
+import com.example.vms.analysis.StackDistanceAnalyzer;
+import com.example.vms.model.MemoryManager;
+import com.example.vms.model.SimulationEvent;
+import com.example.vms.trace.BinaryTraceWriter;
+import com.example.vms.trace.DecodedTrace;
+import com.example.vms.trace.EventJournalReader;
+import com.example.vms.trace.EventJournalWriter;
+import com.example.vms.trace.OperationListSource;
+import com.example.vms.trace.TraceSource;
+import com.example.vms.trace.TraceSources;
+import com.example.vms.trace.WorkloadGenerator;
+import com.example.vms.utils.ConfigLoader;
+import com.example.vms.utils.LogResults;
+import com.example.vms.utils.SimulationConfig;
+import com.example.vms.utils.SimulationFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line entry point that runs the simulator without starting the web application.
+ * <pre>
+ * replay &lt;config.json&gt; [--trace &lt;file&gt;] [--format &lt;format&gt;] [--repeat &lt;n&gt;]
+ *        [--log] [--log-level ERROR|INFO|DEBUG] [--log-categories TLB,PAGETABLE,...] [--journal &lt;file&gt;]
+ * convert &lt;config.json&gt; --out &lt;file.bin&gt; [--trace &lt;file&gt;] [--format &lt;format&gt;]
+ * sweep &lt;config.json&gt; [--trace &lt;file&gt;] [--page-sizes a,b] [--memory-sizes a,b] [--tlb-sizes a,b]
+ *       [--algorithms FIFO,LRU,...] [--threads &lt;n&gt;] [--out &lt;file.csv&gt;]
+ * mrc &lt;config.json&gt; [--trace &lt;file&gt;] [--shards &lt;pages&gt;] [--out &lt;file.csv&gt;] [--histogram &lt;file.csv&gt;]
+ * journal &lt;journal file&gt; [--out &lt;file.csv&gt;]
+ * </pre>
+ * The configuration file gives the memory parameters; the operations come from the trace file,
+ * or from the configuration itself when no trace is given. Instead of a trace, a synthetic workload can be
+ * generated with --pattern &lt;pattern&gt; --ops &lt;n&gt; [--seed &lt;s&gt;] [--pages &lt;n&gt;] [--alpha &lt;a&gt;]
+ * [--stride &lt;bytes&gt;] [--phase &lt;n&gt;] [--stores &lt;ratio&gt;] (see {@link WorkloadGenerator}).
+ * Logging is off unless --log (or a --log-level / --log-categories filter) is passed.
+ */
+public class BatchRunner {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            printUsage();
+            System.exit(1);
+        }
+        Map<String, String> options = parseOptions(args, 2);
+        switch (args[0]) {
+            case "replay":
+                replay(args[1], options);
+                break;
+            case "convert":
+                convert(args[1], options);
+                break;
+            case "sweep":
+                sweep(args[1], options);
+                break;
+            case "mrc":
+                missRatioCurve(args[1], options);
+                break;
+            case "journal":
+                readJournal(args[1], options);
+                break;
+            default:
+                printUsage();
+                System.exit(1);
+        }
+    }
+
+    /**
+     * Replays a trace against the simulator described by a configuration file and prints the statistics.
+     * For the Optimal algorithm the trace is decoded first, so its future accesses are those of the replayed operations.
+     * @param configFile The configuration file.
+     * @param options The command line options.
+     * @throws Exception if the configuration or the trace cannot be read.
+     */
+    private static void replay(String configFile, Map<String, String> options) throws Exception {
+        configureLogging(options);
+        SimulationConfig config = ConfigLoader.loadConfigFromFile(configFile);
+        TraceSource source = openTrace(config, options);
+        int repeat = Integer.parseInt(options.getOrDefault("repeat", "1"));
+        if ("Optimal".equals(config.getReplacementAlgorithm())) {
+            // Optimal has to know the accesses of the operations actually replayed, every pass of them
+            DecodedTrace trace = DecodedTrace.decode(source, config.getPageSize());
+            List<Integer> passAccesses = trace.pageAccesses(config.getPageSize());
+            List<Integer> futureAccesses = new ArrayList<>(passAccesses.size() * Math.max(repeat, 1));
+            for (int pass = 0; pass < repeat; pass++) {
+                futureAccesses.addAll(passAccesses);
+            }
+            config.setFutureAccesses(futureAccesses);
+            source = trace;
+        }
+
+        MemoryManager memoryManager = SimulationFactory.createMemoryManager(config);
+        EventJournalWriter journal = null;
+        if (options.containsKey("journal")) {
+            journal = new EventJournalWriter(Path.of(options.get("journal")));
+            memoryManager.setListener(journal);
+        }
+        ReplayReport report = ReplayEngine.replay(source, memoryManager, repeat);
+        if (journal != null) {
+            journal.close();
+            System.out.println("Journal: " + journal.getRecordCount() + " events written to " + options.get("journal"));
+        }
+
+        System.out.println(report);
+        System.out.println(memoryManager.getResults().formatStats());
+        LogResults.close();
+    }
+
+    /**
+     * Reads an event journal written by replay --journal and prints the number of events of each kind,
+     * or writes every event as a CSV row to --out.
+     * @param journalFile The journal file.
+     * @param options The command line options.
+     * @throws IOException if the journal cannot be read or the output cannot be written.
+     */
+    private static void readJournal(String journalFile, Map<String, String> options) throws IOException {
+        EventJournalReader reader = new EventJournalReader(Path.of(journalFile));
+        if (options.containsKey("out")) {
+            try (PrintStream out = new PrintStream(new BufferedOutputStream(Files.newOutputStream(Path.of(options.get("out")))))) {
+                out.println("operation,event,vpn,frame,dirty");
+                reader.read((event, operation, vpn, frame, dirty) ->
+                        out.println(operation + "," + event + "," + vpn + "," + frame + "," + dirty));
+            }
+            return;
+        }
+        long[] counts = new long[SimulationEvent.values().length];
+        long[] operations = {0};
+        reader.read((event, operation, vpn, frame, dirty) -> {
+            counts[event.ordinal()]++;
+            operations[0] = operation + 1;
+        });
+        System.out.println("Events: " + reader.getRecordCount() + " over " + operations[0] + " operations");
+        for (SimulationEvent event : SimulationEvent.values()) {
+            System.out.println(event + ": " + counts[event.ordinal()]);
+        }
+    }
+
+    /**
+     * Turns logging on if --log, --log-level or --log-categories is given and applies the level and category filters.
+     * @param options The command line options.
+     */
+    private static void configureLogging(Map<String, String> options) {
+        boolean on = options.containsKey("log") || options.containsKey("log-level") || options.containsKey("log-categories");
+        LogResults.setEnabled(on);
+        if (options.containsKey("log-level")) {
+            LogResults.setLevel(LogResults.Level.valueOf(options.get("log-level").toUpperCase()));
+        }
+        if (options.containsKey("log-categories")) {
+            String[] names = options.get("log-categories").split(",");
+            LogResults.Category[] categories = new LogResults.Category[names.length];
+            for (int i = 0; i < names.length; i++) {
+                categories[i] = LogResults.Category.valueOf(names[i].trim().toUpperCase());
+            }
+            LogResults.setCategories(categories);
+        }
+    }
+
+    /**
+     * Replays a trace against every combination of the given parameters in parallel and prints a CSV table.
+     * Parameters that are not given keep the value of the configuration.
+     * @param configFile The configuration file.
+     * @param options The command line options.
+     * @throws Exception if the configuration or the trace cannot be read, or a grid point fails.
+     */
+    private static void sweep(String configFile, Map<String, String> options) throws Exception {
+        LogResults.setEnabled(false);
+        SimulationConfig config = ConfigLoader.loadConfigFromFile(configFile);
+        DecodedTrace trace = DecodedTrace.decode(openTrace(config, options), config.getPageSize());
+        List<Integer> pageSizes = intList(options.get("page-sizes"), config.getPageSize());
+        List<Integer> memorySizes = intList(options.get("memory-sizes"), config.getPhysicalMemorySize());
+        List<Integer> tlbSizes = intList(options.get("tlb-sizes"), config.getTlbSize());
+        List<String> algorithms = options.containsKey("algorithms")
+                ? Arrays.asList(options.get("algorithms").split(","))
+                : List.of(config.getReplacementAlgorithm() != null ? config.getReplacementAlgorithm() : "FIFO");
+        int threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        long start = System.nanoTime();
+        List<SweepResult> results = new SweepRunner(trace, config).run(pageSizes, memorySizes, tlbSizes, algorithms, threads);
+        long elapsedNanos = System.nanoTime() - start;
+
+        try (PrintStream out = options.containsKey("out") ? new PrintStream(options.get("out")) : null) {
+            PrintStream table = out != null ? out : System.out;
+            table.println(SweepResult.csvHeader());
+            for (SweepResult result : results) {
+                table.println(result.toCsv());
+            }
+        }
+        System.err.printf("%d grid points, %d operations each, in %.3f ms on %d threads%n",
+                results.size(), trace.size(), elapsedNanos / 1e6, threads);
+    }
+
+    /**
+     * Computes the LRU miss-ratio curve of a trace in one pass and prints it as CSV.
+     * With --shards &lt;n&gt; the curve is estimated from a hashed sample of at most n pages, in constant memory.
+     * @param configFile The configuration file.
+     * @param options The command line options.
+     * @throws Exception if the configuration or the trace cannot be read, or the output cannot be written.
+     */
+    private static void missRatioCurve(String configFile, Map<String, String> options) throws Exception {
+        LogResults.setEnabled(false);
+        SimulationConfig config = ConfigLoader.loadConfigFromFile(configFile);
+        TraceSource source = openTrace(config, options);
+        if (options.containsKey("shards")) {
+            ShardsAnalyzer analyzer = new ShardsAnalyzer(config.getPageSize(), Integer.parseInt(options.get("shards")));
+            ReplayReport report = ReplayEngine.replay(source, analyzer, 1);
+            writeCurve(analyzer.getHistogram(), config.getPageSize(), options);
+            System.err.println(report);
+            System.err.printf("Sampled %d of %d references (final sampling rate %.6f)%n",
+                    analyzer.getSampledReferences(), analyzer.getReferences(), analyzer.getSamplingRate());
+            return;
+        }
+        StackDistanceAnalyzer analyzer = new StackDistanceAnalyzer(config.getPageSize());
+        ReplayReport report = ReplayEngine.replay(source, analyzer, 1);
+        writeCurve(analyzer.getHistogram(), config.getPageSize(), options);
+        System.err.println(report);
+    }
+
+    /**
+     * Writes a miss-ratio curve to --out (or the standard output) and its histogram to --histogram, if given.
+     * @param histogram The reuse distance histogram.
+     * @param pageSize The page size.
+     * @param options The command line options.
+     * @throws IOException if a file cannot be written.
+     */
+    private static void writeCurve(ReuseHistogram histogram, int pageSize, Map<String, String> options) throws IOException {
+        MissRatioCurve curve = histogram.toMissRatioCurve();
+        if (options.containsKey("out")) {
+            try (Writer out = Files.newBufferedWriter(Path.of(options.get("out")))) {
+                curve.writeCsv(out, pageSize);
+            }
+        } else {
+            curve.writeCsv(System.out, pageSize);
+        }
+        if (options.containsKey("histogram")) {
+            try (Writer out = Files.newBufferedWriter(Path.of(options.get("histogram")))) {
+                histogram.writeCsv(out);
+            }
+        }
+    }
+
+    /**
+     * Parses a comma-separated list of ints.
+     * @param value The list, or null.
+     * @param fallback The single value used when the list is null.
+     * @return The values.
+     */
+    private static List<Integer> intList(String value, int fallback) {
+        List<Integer> values = new ArrayList<>();
+        if (value == null) {
+            values.add(fallback);
+            return values;
+        }
+        for (String item : value.split(",")) {
+            values.add(Integer.parseInt(item.trim()));
+        }
+        return values;
+    }
+
+    /**
+     * Converts a trace (by default the operations of the configuration) to the binary trace format.
+     * @param configFile The configuration file.
+     * @param options The command line options.
+     * @throws Exception if the configuration or the trace cannot be read, or the output cannot be written.
+     */
+    private static void convert(String configFile, Map<String, String> options) throws Exception {
+        if (!options.containsKey("out")) {
+            throw new IllegalArgumentException("convert needs --out <file.bin>");
+        }
+        LogResults.setEnabled(false);
+        SimulationConfig config = ConfigLoader.loadConfigFromFile(configFile);
+        TraceSource source = openTrace(config, options);
+        try (BinaryTraceWriter writer = new BinaryTraceWriter(Path.of(options.get("out")))) {
+            source.replay(writer);
+            System.out.println("Wrote " + writer.getRecordCount() + " operations to " + options.get("out"));
+        }
+    }
+
+    /**
+     * Opens the trace given with --trace, the workload given with --pattern,
+     * or falls back to the operations of the configuration.
+     * @param config The simulation configuration.
+     * @param options The command line options.
+     * @return The trace source.
+     * @throws Exception if the trace cannot be opened.
+     */
+    static TraceSource openTrace(SimulationConfig config, Map<String, String> options) throws Exception {
+        if (options.containsKey("trace")) {
+            return TraceSources.open(options.get("trace"), options.get("format"), config);
+        }
+        if (options.containsKey("pattern")) {
+            return createWorkload(config, options);
+        }
+        if (config.getOperations() == null) {
+            throw new IllegalArgumentException("The configuration has no operations and no --trace was given");
+        }
+        return new OperationListSource(config.getOperations(), config.getPageSize());
+    }
+
+    /**
+     * Creates a synthetic workload for the address space of a configuration.
+     * @param config The simulation configuration.
+     * @param options The command line options.
+     * @return The workload generator.
+     */
+    static WorkloadGenerator createWorkload(SimulationConfig config, Map<String, String> options) {
+        if (!options.containsKey("ops")) {
+            throw new IllegalArgumentException("--pattern needs --ops <n>");
+        }
+        WorkloadGenerator generator = new WorkloadGenerator(options.get("pattern"), config.getVirtualAddressWidth(),
+                config.getPageSize(), Long.parseLong(options.get("ops")), Long.parseLong(options.getOrDefault("seed", "1")));
+        if (options.containsKey("pages"))
+            generator.setWorkingSetPages(Integer.parseInt(options.get("pages")));
+        if (options.containsKey("alpha"))
+            generator.setAlpha(Double.parseDouble(options.get("alpha")));
+        if (options.containsKey("stride"))
+            generator.setStride(Integer.parseInt(options.get("stride")));
+        if (options.containsKey("phase"))
+            generator.setPhaseLength(Long.parseLong(options.get("phase")));
+        if (options.containsKey("stores"))
+            generator.setStoreRatio(Double.parseDouble(options.get("stores")));
+        return generator;
+    }
+
+    /**
+     * Parses "--name value" options and "--flag" switches.
+     * @param args The command line arguments.
+     * @param from The index of the first option.
+     * @return The options by name (switches map to "true").
+     */
+    static Map<String, String> parseOptions(String[] args, int from) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = from; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                options.put(name, args[++i]);
+            } else {
+                options.put(name, "true");
+            }
+        }
+        return options;
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: BatchRunner replay <config.json> [--trace <file>] [--format <format>] [--repeat <n>] [--log] [--log-level <level>] [--log-categories <a,b>] [--journal <file>]");
+        System.err.println("       BatchRunner convert <config.json> --out <file.bin> [--trace <file>] [--format <format>]");
+        System.err.println("       BatchRunner sweep <config.json> [--trace <file>] [--page-sizes a,b] [--memory-sizes a,b] [--tlb-sizes a,b] [--algorithms FIFO,LRU,...] [--threads <n>] [--out <file.csv>]");
+        System.err.println("       BatchRunner mrc <config.json> [--trace <file>] [--shards <pages>] [--out <file.csv>] [--histogram <file.csv>]");
+        System.err.println("       BatchRunner journal <journal file> [--out <file.csv>]");
+        System.err.println("       (--pattern <Uniform|Zipf|Sequential|Loop|Strided|Phased> --ops <n> [--seed <s>] [--pages <n>] [--alpha <a>] [--stride <bytes>] [--phase <n>] [--stores <ratio>] instead of --trace)");
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.vms.batch;
+
+import com.example.vms.trace.TraceSink;
+import com.example.vms.trace.TraceSource;
+
+import java.io.IOException;
+
+/**
+ * Drives a simulator with a trace in a tight loop, outside of the web application.
+ */
+public class ReplayEngine {
+
+    /**
+     * Replays a trace one or more times into a sink and measures the throughput.
+     * @param source The trace to replay.
+     * @param sink The simulator (or any other sink) that executes the operations.
+     * @param repeat The number of times the trace is replayed.
+     * @return The number of operations executed and the time it took.
+     * @throws IOException if the trace cannot be read.
+     */
+    public static ReplayReport replay(TraceSource source, TraceSink sink, int repeat) throws IOException {
+        long operations = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < repeat; i++) {
+            operations += source.replay(sink);
+        }
+        return new ReplayReport(operations, System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.vms.batch;
+
+/**
+ * Outcome of a headless replay: how many operations were executed and how long it took.
+ */
+public class ReplayReport {
+    private final long operations; // number of operations executed
+    private final long elapsedNanos; // wall time of the replay in nanoseconds
+
+    /**
+     * Creates a replay report.
+     * @param operations The number of operations executed.
+     * @param elapsedNanos The wall time of the replay in nanoseconds.
+     */
+    public ReplayReport(long operations, long elapsedNanos) {
+        this.operations = operations;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Calculates the throughput of the replay.
+     * @return The number of operations per second, or 0.0 if no time was measured.
+     */
+    public double getOperationsPerSecond() {
+        if (elapsedNanos == 0) return 0.0; // Prevent division by zero
+        return operations * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public long getOperations() { return operations; } // gets the number of operations executed
+    public long getElapsedNanos() { return elapsedNanos; } // gets the wall time in nanoseconds
+
+    @Override
+    public String toString() {
+        return String.format("Operations: %d in %.3f ms (%.0f ops/sec)", operations, elapsedNanos / 1e6, getOperationsPerSecond());
+    }
+}
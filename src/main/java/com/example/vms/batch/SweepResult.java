@@ -0,0 +1,63 @@
+package com.example.vms.batch;
+
+import com.example.vms.model.ResultsSnapshot;
+
+import java.util.Locale;
+
+/**
+ * Statistics of one grid point of a parameter sweep.
+ */
+public class SweepResult {
+    private final int pageSize; // page size of the grid point
+    private final int physicalMemorySize; // physical memory size of the grid point
+    private final int tlbSize; // TLB size of the grid point
+    private final String replacementAlgorithm; // page replacement algorithm of the grid point
+    private final ReplayReport report; // operations executed and time taken
+    private final ResultsSnapshot results; // statistics of the simulation
+
+    /**
+     * Creates the result of a grid point.
+     * @param pageSize The page size.
+     * @param physicalMemorySize The physical memory size.
+     * @param tlbSize The TLB size.
+     * @param replacementAlgorithm The page replacement algorithm.
+     * @param report The operations executed and the time taken.
+     * @param results The statistics of the simulation.
+     */
+    public SweepResult(int pageSize, int physicalMemorySize, int tlbSize, String replacementAlgorithm,
+                       ReplayReport report, ResultsSnapshot results) {
+        this.pageSize = pageSize;
+        this.physicalMemorySize = physicalMemorySize;
+        this.tlbSize = tlbSize;
+        this.replacementAlgorithm = replacementAlgorithm;
+        this.report = report;
+        this.results = results;
+    }
+
+    /**
+     * Returns the column names of {@link #toCsv()}.
+     * @return The CSV header line.
+     */
+    public static String csvHeader() {
+        return "pageSize,physicalMemorySize,frames,tlbSize,replacementAlgorithm,operations,tlbHitRate,"
+                + "pageTableMisses,pageTableMissRate,diskReads,diskWrites,pageEvictions,elapsedMs";
+    }
+
+    /**
+     * Formats the result as a CSV line.
+     * @return The CSV line.
+     */
+    public String toCsv() {
+        return String.format(Locale.ROOT, "%d,%d,%d,%d,%s,%d,%.4f,%d,%.4f,%d,%d,%d,%.3f",
+                pageSize, physicalMemorySize, physicalMemorySize / pageSize, tlbSize, replacementAlgorithm,
+                report.getOperations(), results.getTLBHitRate(), results.getPageTableMisses(), results.getPageTableMissRate(),
+                results.getDiskReads(), results.getDiskWrites(), results.getPageEvictions(), report.getElapsedNanos() / 1e6);
+    }
+
+    public int getPageSize() { return pageSize; } // gets the page size
+    public int getPhysicalMemorySize() { return physicalMemorySize; } // gets the physical memory size
+    public int getTlbSize() { return tlbSize; } // gets the TLB size
+    public String getReplacementAlgorithm() { return replacementAlgorithm; } // gets the page replacement algorithm
+    public ReplayReport getReport() { return report; } // gets the operations executed and the time taken
+    public ResultsSnapshot getResults() { return results; } // gets the statistics of the simulation
+}
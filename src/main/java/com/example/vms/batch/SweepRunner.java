@@ -0,0 +1,104 @@
+package com.example.vms.batch;
+
+import com.example.vms.model.MemoryManager;
+import com.example.vms.trace.DecodedTrace;
+import com.example.vms.utils.LogResults;
+import com.example.vms.utils.SimulationConfig;
+import com.example.vms.utils.SimulationFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Runs one trace against every combination of page size, physical memory size, TLB size and replacement algorithm.
+ * Each grid point gets its own MemoryManager and runs as an independent task on a fork-join pool;
+ * the decoded trace is shared by all of them and only read. Logging is suppressed on the worker threads.
+ */
+public class SweepRunner {
+    private final DecodedTrace trace; // trace replayed at every grid point
+    private final SimulationConfig base; // configuration the grid values are applied to
+    private final Map<Integer, List<Integer>> futureAccesses = new ConcurrentHashMap<>(); // Optimal future accesses by page size
+
+    /**
+     * Creates a sweep runner.
+     * @param trace The decoded trace to replay.
+     * @param base The configuration that gives every parameter not varied by the sweep.
+     */
+    public SweepRunner(DecodedTrace trace, SimulationConfig base) {
+        this.trace = trace;
+        this.base = base;
+    }
+
+    /**
+     * Runs every grid point. Points with less physical memory than one page are skipped.
+     * @param pageSizes The page sizes.
+     * @param physicalMemorySizes The physical memory sizes.
+     * @param tlbSizes The TLB sizes.
+     * @param replacementAlgorithms The page replacement algorithms.
+     * @param threads The number of worker threads.
+     * @return The results, in grid order (page size, then memory size, then TLB size, then algorithm).
+     * @throws InterruptedException if the sweep is interrupted.
+     * @throws ExecutionException if a grid point fails.
+     */
+    public List<SweepResult> run(List<Integer> pageSizes, List<Integer> physicalMemorySizes, List<Integer> tlbSizes,
+                                 List<String> replacementAlgorithms, int threads) throws InterruptedException, ExecutionException {
+        List<Callable<SweepResult>> tasks = new ArrayList<>();
+        for (int pageSize : pageSizes) {
+            for (int physicalMemorySize : physicalMemorySizes) {
+                if (physicalMemorySize < pageSize) {
+                    continue; // no frame at all
+                }
+                for (int tlbSize : tlbSizes) {
+                    for (String algorithm : replacementAlgorithms) {
+                        tasks.add(() -> runPoint(pageSize, physicalMemorySize, tlbSize, algorithm));
+                    }
+                }
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(Math.max(threads, 1));
+        try {
+            List<SweepResult> results = new ArrayList<>();
+            for (Future<SweepResult> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Replays the trace on a new simulation for one grid point.
+     * @param pageSize The page size.
+     * @param physicalMemorySize The physical memory size.
+     * @param tlbSize The TLB size.
+     * @param algorithm The page replacement algorithm.
+     * @return The result of the grid point.
+     */
+    SweepResult runPoint(int pageSize, int physicalMemorySize, int tlbSize, String algorithm) {
+        LogResults.setSuppressedForCurrentThread(true);
+        try {
+            SimulationConfig config = base.copy();
+            config.setPageSize(pageSize);
+            config.setPhysicalMemorySize(physicalMemorySize);
+            config.setTlbSize(tlbSize);
+            config.setReplacementAlgorithm(algorithm);
+            if ("Optimal".equals(algorithm)) {
+                config.setFutureAccesses(futureAccesses.computeIfAbsent(pageSize, trace::pageAccesses));
+            }
+            MemoryManager memoryManager = SimulationFactory.createMemoryManager(config);
+            long start = System.nanoTime();
+            long operations = trace.replay(memoryManager, pageSize);
+            ReplayReport report = new ReplayReport(operations, System.nanoTime() - start);
+            return new SweepResult(pageSize, physicalMemorySize, tlbSize, algorithm, report, memoryManager.getResults().snapshot());
+        } finally {
+            LogResults.setSuppressedForCurrentThread(false);
+        }
+    }
+}
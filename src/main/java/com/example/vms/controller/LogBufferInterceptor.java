@@ -0,0 +1,66 @@
+package com.example.vms.controller;
+
+import com.example.vms.utils.LogBuffer;
+import com.example.vms.utils.LogResults;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Binds the log buffer of the caller's session to the request thread while a request is handled,
+ * so that the messages of a simulation step end up in the session that triggered it.
+ */
+@Component
+public class LogBufferInterceptor implements AsyncHandlerInterceptor {
+    public static final String SESSION_ATTRIBUTE = "logBuffer"; // name of the session attribute holding the buffer
+
+    @Value("${vms.log.buffer-capacity:" + LogBuffer.DEFAULT_CAPACITY + "}")
+    private int capacity; // messages kept per session
+
+    /**
+     * Binds the session's log buffer (created on first use) to the current thread.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        LogResults.bindBuffer(sessionBuffer(request.getSession(), capacity));
+        return true;
+    }
+
+    /**
+     * Unbinds the buffer, so that the pooled thread does not keep writing into this session.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        LogResults.unbindBuffer();
+    }
+
+    /**
+     * Unbinds the buffer when a handler goes asynchronous (such as the event stream): the request thread
+     * goes back to the pool long before afterCompletion is called.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        LogResults.unbindBuffer();
+    }
+
+    /**
+     * Gets the log buffer of a session, creating it if the session has none yet.
+     * @param session The HTTP session.
+     * @param capacity The capacity of a new buffer.
+     * @return The session's log buffer.
+     */
+    public static LogBuffer sessionBuffer(HttpSession session, int capacity) {
+        synchronized (WebUtils.getSessionMutex(session)) { // two parallel first requests must not create two buffers
+            LogBuffer buffer = (LogBuffer) session.getAttribute(SESSION_ATTRIBUTE);
+            if (buffer == null) {
+                buffer = new LogBuffer(capacity);
+                session.setAttribute(SESSION_ATTRIBUTE, buffer);
+            }
+            return buffer;
+        }
+    }
+}
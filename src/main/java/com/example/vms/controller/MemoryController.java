@@ -2,20 +2,34 @@ package com.example.vms.controller;
 
 import com.example.vms.model.*;
 import com.example.vms.utils.ConfigLoader;
+import com.example.vms.utils.LogBuffer;
 import com.example.vms.utils.LogResults;
 import com.example.vms.utils.Operation;
 import com.example.vms.utils.SimulationConfig;
+import com.example.vms.utils.SimulationFactory;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
+import com.example.vms.trace.BinaryTraceStreamSource;
+import com.example.vms.trace.JsonOperationSource;
+import com.example.vms.trace.TraceSource;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.support.SessionStatus;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -25,87 +39,25 @@ import java.util.stream.Collectors;
 @Controller
 @SessionAttributes({"address", "storeData"})
 public class MemoryController {
+    private static final int MAX_TABLE_PAGE_SIZE = 1000; // Rows returned by one table request at most
+    @Value("${vms.operations.max-batch:1000000}")
+    private long maxBatchOperations; // Operations accepted by one /api/operations request at most
+    @Value("${vms.operations.max-outcomes:10000}")
+    private int maxBatchOutcomes; // Per-operation outcomes returned by one /api/operations request at most
     @Autowired
     private HttpSession session;
-    private MemoryManager memoryManager;
-    private String replacementAlgorithm = "FIFO";  // Store current algorithm for display
-    private int virtualAddressWidth;
-    private int pageSize;
-    private int tlbSize;
-    private int physicalMemorySize;
-    private int secondaryMemorySize;
-    private int virtualMemorySize;
-    private int pageTableSize;
-    private PageTable pageTable = null;
-    private List<Integer> futureAccesses = new ArrayList<>(); // List of future memory accesses
-    public static List<String> logMessages = new ArrayList<>(); // List to store log messages
+    @Autowired
+    private HttpServletRequest request;
+    @Autowired
+    private SimulationRegistry registry; // Simulations of all sessions
 
     /**
-     * Default constructor that initializes the memory manager with default values.
+     * Gets the simulation of the current session.
+     * @return The simulation locked for this request, or the session's simulation if none is locked.
      */
-    public MemoryController() {
-        initializeMemoryManager(0, 0, 0, 0, 0, "FIFO");
-    }
-
-    /**
-     * Initializes the memory manager with the given configuration parameters.
-     * Sets up the memory manager with the specified replacement algorithm and memory sizes.
-     * @param virtualAddressWidth the width of the virtual address
-     * @param pageSize the size of a single page
-     * @param tlbSize the size of the Translation Lookaside Buffer
-     * @param physicalMemorySize the size of the physical memory
-     * @param diskSize the size of the secondary memory
-     * @param replacementAlgorithm the page replacement algorithm to use (FIFO, LRU, Optimal)
-     */
-    private void initializeMemoryManager(int virtualAddressWidth, int pageSize, int tlbSize,
-                                         int physicalMemorySize, int diskSize, String replacementAlgorithm) {
-        // Determine the replacement algorithm
-        ReplacementAlgorithm algorithm;
-        switch (replacementAlgorithm) {
-            case "LRU":
-                algorithm = new LRUReplacement(pageTable);
-                break;
-            case "NRU":
-                algorithm = new NRUReplacement(pageTable);
-                break;
-            case "Optimal":
-                algorithm = new OptimalReplacement();
-                ((OptimalReplacement) algorithm).setFutureAccesses(futureAccesses);
-                break;
-            case "FIFO":
-            default:
-                int maxSize = 0;
-                if(pageSize != 0)
-                    maxSize = physicalMemorySize / pageSize;
-                algorithm = new FIFOReplacement(maxSize);
-                break;
-        }
-
-        // Initialize memory manager with the provided configuration, or use default if no configuration is provided
-        if (virtualAddressWidth == 0 && pageSize == 0 && tlbSize == 0 && physicalMemorySize == 0) {
-            memoryManager = new MemoryManager();
-        } else {
-            if (pageSize != 0 && virtualAddressWidth != 0) {
-                // Store configuration parameters
-                this.virtualAddressWidth = virtualAddressWidth;
-                this.pageSize = pageSize;
-                this.tlbSize = tlbSize;
-                this.physicalMemorySize = physicalMemorySize;
-                this.replacementAlgorithm = replacementAlgorithm;
-                this.secondaryMemorySize = diskSize;
-                this.virtualMemorySize = (int) Math.pow(2, virtualAddressWidth);
-                this.pageTableSize = (int) (virtualMemorySize / pageSize);
-
-                // Log the configuration values
-//                LogResults.log("Configured with virtual memory size: " + virtualMemorySize);
-//                LogResults.log("Configured with page table size: " + pageTableSize);
-//                LogResults.log("Configured with number of physical frames: " + physicalMemorySize / pageSize);
-//                LogResults.log("Configured with number of virtual pages: " + virtualMemorySize / pageSize);
-
-                // Initialize memory manager with the calculated parameters
-                memoryManager = new MemoryManager(virtualAddressWidth, tlbSize, pageSize, physicalMemorySize, diskSize, algorithm);
-            }
-        }
+    private SimulationSession simulation() {
+        SimulationSession simulation = (SimulationSession) request.getAttribute(SimulationInterceptor.REQUEST_ATTRIBUTE);
+        return simulation != null ? simulation : registry.get(session.getId());
     }
 
     /**
@@ -115,37 +67,33 @@ public class MemoryController {
      */
     @GetMapping("/")
     public String index(Model model) {
+        SimulationSession simulation = simulation();
+        MemoryManager memoryManager = simulation.getMemoryManager();
         // Add simulation results and configuration settings to the model
-        model.addAttribute("tlbHit", Results.getTLBHitRate());
-        model.addAttribute("tlbMiss", Results.getTLBMissRate());
-        model.addAttribute("pageTableHit", Results.getPageTableHitRate());
-        model.addAttribute("pageTableMiss", Results.getPageTableMissRate());
-        model.addAttribute("diskRead", Results.diskRead);
-        model.addAttribute("diskWrite", Results.diskWrite);
-        model.addAttribute("pageEviction", Results.pageEviction);
+        ResultsSnapshot results = memoryManager.getResults().snapshot();
+        model.addAttribute("tlbHit", results.getTLBHitRate());
+        model.addAttribute("tlbMiss", results.getTLBMissRate());
+        model.addAttribute("pageTableHit", results.getPageTableHitRate());
+        model.addAttribute("pageTableMiss", results.getPageTableMissRate());
+        model.addAttribute("diskRead", results.getDiskReads());
+        model.addAttribute("diskWrite", results.getDiskWrites());
+        model.addAttribute("pageEviction", results.getPageEvictions());
 
         // Add configuration settings to the model
-        model.addAttribute("virtualAddressWidth", virtualAddressWidth);
-        model.addAttribute("pageSize", pageSize);
-        model.addAttribute("tlbSize", tlbSize);
-        model.addAttribute("physicalMemorySize", physicalMemorySize);
-        model.addAttribute("secondaryMemorySize", secondaryMemorySize);
-        model.addAttribute("replacementAlgorithm", replacementAlgorithm);
-        model.addAttribute("virtualMemorySize", virtualMemorySize);
-        model.addAttribute("pageTableSize", pageTableSize);
-
-        if (replacementAlgorithm.equalsIgnoreCase("Optimal")) {
-            OptimalReplacement optimalReplacement = new OptimalReplacement();
-            //OptimalReplacement optimalReplacement = (OptimalReplacement) memoryManager.getReplacementAlgorithm();
-            memoryManager.getPageTable().updateFutureAccesses(optimalReplacement); // Update future accesses for the page table
-        }
+        model.addAttribute("virtualAddressWidth", simulation.getVirtualAddressWidth());
+        model.addAttribute("pageSize", simulation.getPageSize());
+        model.addAttribute("tlbSize", simulation.getTlbSize());
+        model.addAttribute("physicalMemorySize", simulation.getPhysicalMemorySize());
+        model.addAttribute("secondaryMemorySize", simulation.getSecondaryMemorySize());
+        model.addAttribute("replacementAlgorithm", simulation.getReplacementAlgorithm());
+        model.addAttribute("tlbReplacementAlgorithm", simulation.getTlbReplacementAlgorithm());
+        model.addAttribute("virtualMemorySize", simulation.getVirtualMemorySize());
+        model.addAttribute("pageTableSize", simulation.getPageTableSize());
 
         // Memory data
+        // The page table, main memory and disk are fetched page by page by the view (/api/pageTable, /api/frames, /api/disk)
         model.addAttribute("tlbEntries", memoryManager.getTlb().getEntries());
-        model.addAttribute("mainMemory", memoryManager.getMainMemory().getMemory());
-        model.addAttribute("diskEntries", memoryManager.getSecondaryStorage().getDisk());
-        model.addAttribute("pageTableEntries", memoryManager.getPageTable().getPageTableContents());
-        model.addAttribute("logMessages", logMessages);
+        // The log messages are fetched by the view from /api/logs, by sequence number
 
         // Add default values for attributes that might not be set yet
         if (!model.containsAttribute("address"))
@@ -178,6 +126,7 @@ public class MemoryController {
      * @param physicalMemorySize the physical memory size
      * @param secondaryMemorySize the secondary memory size
      * @param replacementAlgorithm the page replacement algorithm to use
+     * @param tlbReplacementAlgorithm the TLB replacement policy to use (empty to match the page algorithm)
      * @param model the model to add attributes to for the view
      * @return the view name to redirect to
      */
@@ -190,13 +139,15 @@ public class MemoryController {
             @RequestParam(value = "physicalMemorySize", required = false) int physicalMemorySize,
             @RequestParam(value = "secondaryMemorySize", required = false) int secondaryMemorySize,
             @RequestParam(value = "replacementAlgorithm", required = false) String replacementAlgorithm,
+            @RequestParam(value = "tlbReplacementAlgorithm", required = false) String tlbReplacementAlgorithm,
             Model model) {
-        Results.logStats();
-        logMessages.clear();
-        Results.reset();
+        SimulationSession simulation = simulation();
+        simulation.getMemoryManager().getResults().logStats();
+        logBuffer().clear();
+        simulation.getMemoryManager().getResults().reset();
 
         // Initialize MemoryManager with user-configured parameters
-        initializeMemoryManager(virtualAddressWidth, pageSize, tlbSize, physicalMemorySize, secondaryMemorySize, replacementAlgorithm);
+        simulation.configure(virtualAddressWidth, pageSize, tlbSize, physicalMemorySize, secondaryMemorySize, replacementAlgorithm, tlbReplacementAlgorithm);
 
         // Update the model with the latest values to retain them in the form fields
         model.addAttribute("virtualAddressWidth", virtualAddressWidth);
@@ -205,8 +156,9 @@ public class MemoryController {
         model.addAttribute("physicalMemorySize", physicalMemorySize);
         model.addAttribute("secondaryMemorySize", secondaryMemorySize);
         model.addAttribute("replacementAlgorithm", replacementAlgorithm);
-        model.addAttribute("virtualMemorySize", virtualMemorySize);
-        model.addAttribute("pageTableSize", pageTableSize);
+        model.addAttribute("tlbReplacementAlgorithm", tlbReplacementAlgorithm);
+        model.addAttribute("virtualMemorySize", simulation.getVirtualMemorySize());
+        model.addAttribute("pageTableSize", simulation.getPageTableSize());
 
         LogResults.log("\nSimulation configured with virtualAddressWidth: " + virtualAddressWidth +
                 ", pageSize: " + pageSize + ", tlbSize: " + tlbSize +
@@ -223,11 +175,12 @@ public class MemoryController {
      */
     @GetMapping("/loadConfig")
     public String loadConfiguration(@RequestParam(value = "configFile", required = false) String configFile, Model model) {
-        Results.logStats();
-        logMessages.clear();
-        Results.reset();
+        SimulationSession simulation = simulation();
+        simulation.getMemoryManager().getResults().logStats();
+        logBuffer().clear();
+        simulation.getMemoryManager().getResults().reset();
         if (configFile == null || configFile.isEmpty()) {
-            logMessages.add("Error: Missing configFile parameter");
+            logBuffer().add("Error: Missing configFile parameter");
             return "redirect:/";
         }
         try {
@@ -237,17 +190,19 @@ public class MemoryController {
                 {
                     // Parse futureAccesses from the configuration
                     List<Integer> configFutureAccesses = selectedConfig.getFutureAccesses();
-                    futureAccesses = configFutureAccesses;
+                    simulation.setFutureAccesses(configFutureAccesses);
                 }
                 // Initialize the memory manager with the selected configuration
-                initializeMemoryManager(
+                simulation.configure(
                         selectedConfig.getVirtualAddressWidth(),
                         selectedConfig.getPageSize(),
                         selectedConfig.getTlbSize(),
                         selectedConfig.getPhysicalMemorySize(),
                         selectedConfig.getSecondaryMemorySize(),
-                        selectedConfig.getReplacementAlgorithm()
+                        selectedConfig.getReplacementAlgorithm(),
+                        selectedConfig.getTlbReplacementAlgorithm()
                 );
+                SimulationFactory.applyOptions(simulation.getMemoryManager(), selectedConfig);
                 // Update the model attributes for rendering
                 model.addAttribute("virtualAddressWidth", selectedConfig.getVirtualAddressWidth());
                 model.addAttribute("pageSize", selectedConfig.getPageSize());
@@ -255,17 +210,18 @@ public class MemoryController {
                 model.addAttribute("physicalMemorySize", selectedConfig.getPhysicalMemorySize());
                 model.addAttribute("secondaryMemorySize", selectedConfig.getSecondaryMemorySize());
                 model.addAttribute("replacementAlgorithm", selectedConfig.getReplacementAlgorithm());
-                model.addAttribute("virtualMemorySize", virtualMemorySize);
-                model.addAttribute("pageTableSize", pageTableSize);
+                model.addAttribute("tlbReplacementAlgorithm", selectedConfig.getTlbReplacementAlgorithm());
+                model.addAttribute("virtualMemorySize", simulation.getVirtualMemorySize());
+                model.addAttribute("pageTableSize", simulation.getPageTableSize());
                 // Store the operations list and initialize the current step in the session
                 session.setAttribute("operations", selectedConfig.getOperations());
                 session.setAttribute("currentStep", 0);  // Set the starting point for operations
-                logMessages.add("Configuration loaded successfully from " + configFile);
+                logBuffer().add("Configuration loaded successfully from " + configFile);
             } else {
-                logMessages.add("Error: Configuration file not found or invalid");
+                logBuffer().add("Error: Configuration file not found or invalid");
             }
         } catch (Exception e) {
-            logMessages.add("Error loading configuration: " + e.getMessage());
+            logBuffer().add("Error loading configuration: " + e.getMessage());
         }
         return "redirect:/"; // Redirect back to the main page
     }
@@ -278,14 +234,14 @@ public class MemoryController {
      */
     @GetMapping("/nextOperation")
     public String nextOperation(Model model, RedirectAttributes redirectAttributes) {
-        logMessages.clear();
+        logBuffer().clear();
         // Get operations and current step from the session
         List<Operation> operations = (List<Operation>) session.getAttribute("operations");
         Integer currentStep = (Integer) session.getAttribute("currentStep");
         // If operations are completed
         if (operations == null || currentStep == null || currentStep >= operations.size()) {
-            logMessages.add("All operations are completed.");
-            model.addAttribute("logMessages", logMessages);
+            logBuffer().add("All operations are completed.");
+            model.addAttribute("logMessages", logBuffer().getMessages());
             redirectAttributes.addFlashAttribute("highlightVpn", -1);
             redirectAttributes.addFlashAttribute("highlightOffset", -1);
             redirectAttributes.addFlashAttribute("operationType", null);
@@ -301,6 +257,7 @@ public class MemoryController {
         redirectAttributes.addFlashAttribute("highlightAddress", operation.getAddress());
 
         // Execute the operation
+        MemoryManager memoryManager = simulation().getMemoryManager();
         switch (operation.getType()) {
             case "Allocate":
                 memoryManager.allocatePage(operation.getVpn());
@@ -311,17 +268,17 @@ public class MemoryController {
                 // logMessages.add("Loaded address: " + operation.getAddress());
                 break;
             case "Store":
-                int address = operation.getVpn() * pageSize + operation.getOffset();
+                int address = operation.getVpn() * simulation().getPageSize() + operation.getOffset();
                 memoryManager.store(address, operation.getData());
                 // logMessages.add("Stored data " + operation.getData() + " at address: " + address);
                 break;
             default:
-                logMessages.add("Unknown operation type: " + operation.getType());
+                logBuffer().add("Unknown operation type: " + operation.getType());
         }
         // Update the current step in the session
         session.setAttribute("currentStep", currentStep + 1);
         // Add log messages to the model for the view
-        model.addAttribute("logMessages", logMessages);
+        model.addAttribute("logMessages", logBuffer().getMessages());
         return "redirect:/";  // Redirect back to the main page
     }
 
@@ -377,9 +334,9 @@ public class MemoryController {
      */
     @PostMapping("/load")
     public String loadAddress(@RequestParam("address") int address, Model model) {
-        logMessages.clear();
+        logBuffer().clear();
         // Simulate loading the address
-        memoryManager.load(address);
+        simulation().getMemoryManager().load(address);
         // Add the address to the model to display
         model.addAttribute("address", address);
         // LogResults.log("Loaded address: " + address);
@@ -395,10 +352,10 @@ public class MemoryController {
      */
     @PostMapping("/store")
     public String storeAddress(@RequestParam("address") int address, @RequestParam("data") int data, Model model) {
-        logMessages.clear();
+        logBuffer().clear();
         // Simulate storing the data at the given address
         //int address = vpn * pageSize + offset;
-        memoryManager.store(address, data);
+        simulation().getMemoryManager().store(address, data);
 
         // Add the address and data to the model to display
         model.addAttribute("address", address);
@@ -415,9 +372,9 @@ public class MemoryController {
      */
     @PostMapping("/allocate")
     public String allocatePage(@RequestParam("allocatePage") int pageNumber, Model model) {
-        logMessages.clear();
+        logBuffer().clear();
         // Simulate page allocation
-        memoryManager.allocatePage(pageNumber);
+        simulation().getMemoryManager().allocatePage(pageNumber);
         // Add the allocated page number to the model
         model.addAttribute("allocatePage", pageNumber);
         //LogResults.log("Allocated page number: " + pageNumber);
@@ -435,36 +392,29 @@ public class MemoryController {
     public String resetSimulation(Model model, SessionStatus status, RedirectAttributes redirectAttributes) {
         // Print memory contents for debugging purposes
         //memoryManager.printMemoryContents();
-        Results.logStats();
-        // Reset the results and memory manager state
-        Results.reset();
-        memoryManager = new MemoryManager();
+        SimulationSession simulation = simulation();
+        simulation.getMemoryManager().getResults().logStats();
+        // Reset the results and memory manager state, and the configuration variables to default values
+        simulation.getMemoryManager().getResults().reset();
+        simulation.reset();
         status.setComplete();
-
-        // Reset configuration variables to default values
-        virtualAddressWidth = 0;
-        virtualMemorySize = 0;
-        pageTableSize = 0;
-        tlbSize = 0;
-        physicalMemorySize = 0;
-        secondaryMemorySize = 0;
-        pageSize = 0;
         int pageNumber = 0;
-        logMessages.clear();
+        logBuffer().clear();
 
         // Add the default values to the model to reset the fields
-        model.addAttribute("virtualAddressWidth", virtualAddressWidth);
-        model.addAttribute("pageSize", pageSize);
-        model.addAttribute("tlbSize", tlbSize);
-        model.addAttribute("physicalMemorySize", physicalMemorySize);
-        model.addAttribute("secondaryMemorySize", secondaryMemorySize);
+        model.addAttribute("virtualAddressWidth", simulation.getVirtualAddressWidth());
+        model.addAttribute("pageSize", simulation.getPageSize());
+        model.addAttribute("tlbSize", simulation.getTlbSize());
+        model.addAttribute("physicalMemorySize", simulation.getPhysicalMemorySize());
+        model.addAttribute("secondaryMemorySize", simulation.getSecondaryMemorySize());
         model.addAttribute("replacementAlgorithm", "FIFO");
+        model.addAttribute("tlbReplacementAlgorithm", simulation.getTlbReplacementAlgorithm());
         model.addAttribute("address", 0);
         model.addAttribute("storeData", 0);
-        model.addAttribute("virtualMemorySize", virtualMemorySize);
-        model.addAttribute("pageTableSize", pageTableSize);
+        model.addAttribute("virtualMemorySize", simulation.getVirtualMemorySize());
+        model.addAttribute("pageTableSize", simulation.getPageTableSize());
         model.addAttribute("allocatePage", pageNumber);
-        model.addAttribute("logMessages", logMessages);
+        model.addAttribute("logMessages", logBuffer().getMessages());
 
         // Log the reset action
         LogResults.log("\nSimulation reset.\n");
@@ -475,8 +425,17 @@ public class MemoryController {
 
     /**
      * Handles an HTTP GET request to retrieve memory-related data.
-     * The response includes information about the TLB, main memory, disk, and page table contents.
+     * The response includes information about the TLB, main memory, disk, and page table contents,
+     * and the version of the state they were taken at. A client that passes the version it already has
+     * gets only what changed since then: the changed page table entries, frames and disk pages (null for
+     * one that was removed), and the TLB if it changed. If that is not possible (the version is too old
+     * or the whole state changed), the full state is returned and "full" is true.
+     * The version is also the ETag, so a poll with an up-to-date If-None-Match header gets 304 Not Modified.
+     * @param since The version the client already has, or null for the full state.
+     * @param webRequest The request, for the If-None-Match check.
      * @return A map containing:
+     *         - "version": The version of the state.
+     *         - "full": Whether the maps below hold the whole state or only the changes.
      *         - "tlbEntries": The current contents of the Translation Lookaside Buffer.
      *         - "mainMemory": The contents of the main memory.
      *         - "diskEntries": The contents of the secondary storage.
@@ -484,23 +443,279 @@ public class MemoryController {
      */
     @GetMapping("/memoryData")
     @ResponseBody
-    public Map<String, Object> getMemoryData() {
+    public ResponseEntity<Map<String, Object>> getMemoryData(@RequestParam(value = "since", required = false) Long since,
+                                                             WebRequest webRequest) {
+        SimulationSession simulation = simulation();
+        MemoryManager memoryManager = simulation.getMemoryManager();
+        long version = simulation.getChangeLog().getVersion();
+        String eTag = "\"" + version + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return null; // 304, nothing changed since the client's copy
+        }
+        ChangeLog.Delta delta = since != null ? simulation.getChangeLog().since(since) : null;
         Map<String, Object> data = new HashMap<>();
-        data.put("tlbEntries", memoryManager.getTlb().getTLBContents());
-        data.put("mainMemory", memoryManager.getMainMemory().getMemory());
-        data.put("diskEntries", memoryManager.getSecondaryStorage().getDisk());
-        data.put("pageTableEntries", memoryManager.getPageTable().getPageTableContents());
-        return data;
+        data.put("version", version);
+        data.put("full", delta == null);
+        if (delta == null) {
+            data.put("tlbEntries", memoryManager.getTlb().getTLBContents());
+            data.put("mainMemory", memoryManager.getMainMemory().getMemory());
+            data.put("diskEntries", memoryManager.getSecondaryStorage().getDisk());
+            data.put("pageTableEntries", memoryManager.getPageTable().getPageTableContents());
+        } else {
+            if (delta.isTlb())
+                data.put("tlbEntries", memoryManager.getTlb().getTLBContents());
+            Map<Integer, Page> frames = new HashMap<>();
+            for (int frame : delta.getFrames())
+                frames.put(frame, memoryManager.getMainMemory().getPage(frame));
+            Map<Integer, Page> diskPages = new HashMap<>();
+            for (int vpn : delta.getDiskPages())
+                diskPages.put(vpn, memoryManager.getSecondaryStorage().getPage(vpn));
+            Map<Integer, PageTableEntry> pages = new HashMap<>();
+            IntFunction<PageTableEntry> rows = pageTableRows(memoryManager);
+            for (int vpn : delta.getPages())
+                pages.put(vpn, rows.apply(vpn));
+            data.put("mainMemory", frames);
+            data.put("diskEntries", diskPages);
+            data.put("pageTableEntries", pages);
+        }
+        return ResponseEntity.ok().eTag(eTag).body(data);
+    }
+
+    /**
+     * Returns one page of the page table, optionally restricted to a range of VPNs and to valid entries.
+     * Only the requested entries are copied, so the cost does not depend on the size of the page table
+     * (with validOnly, it depends on the number of resident pages).
+     * @param from The first VPN of the range.
+     * @param to The VPN after the last one of the range (the end of the page table if missing).
+     * @param validOnly Whether to list only the entries of pages held in main memory.
+     * @param page The index of the page, starting at 0.
+     * @param size The number of VPNs per page.
+     * @return The entries of the page by VPN, and the number of VPNs matching the query.
+     */
+    @GetMapping("/api/pageTable")
+    @ResponseBody
+    public TablePage<PageTableEntry> getPageTable(@RequestParam(value = "from", defaultValue = "0") int from,
+                                                  @RequestParam(value = "to", required = false) Integer to,
+                                                  @RequestParam(value = "validOnly", defaultValue = "false") boolean validOnly,
+                                                  @RequestParam(value = "page", defaultValue = "0") int page,
+                                                  @RequestParam(value = "size", defaultValue = "50") int size) {
+        MemoryManager memoryManager = simulation().getMemoryManager();
+        int end = to != null ? Math.min(to, memoryManager.getPageTable().getSize()) : memoryManager.getPageTable().getSize();
+        if (!validOnly) {
+            return TablePage.ofKeyRange(from, end, page, size, MAX_TABLE_PAGE_SIZE, pageTableRows(memoryManager));
+        }
+        return TablePage.ofKeys(validVPNs(memoryManager, from, end), page, size, MAX_TABLE_PAGE_SIZE, pageTableRows(memoryManager));
+    }
+
+    /**
+     * Lists the VPNs of a range whose pages are held in main memory, by walking the frames rather than the page table.
+     * @param memoryManager The simulation.
+     * @param from The first VPN of the range.
+     * @param end The VPN after the last one of the range.
+     * @return The VPNs, in ascending order.
+     */
+    static List<Integer> validVPNs(MemoryManager memoryManager, int from, int end) {
+        List<Integer> vpns = new ArrayList<>();
+        for (int vpn : memoryManager.getMainMemory().getResidentVPNs()) {
+            if (vpn >= from && vpn < end && memoryManager.getPageTable().isValid(vpn))
+                vpns.add(vpn);
+        }
+        Collections.sort(vpns);
+        return vpns;
+    }
+
+    /**
+     * Gets the rows of the page table view: copies of the entries, with the next access filled in from the
+     * future accesses when the Optimal algorithm runs. Only the rows returned are computed, so the cost does not
+     * grow with the size of the page table.
+     * @param memoryManager The simulation.
+     * @return The row of a VPN, or null if the page table has no entry for it.
+     */
+    private static IntFunction<PageTableEntry> pageTableRows(MemoryManager memoryManager) {
+        PageTable pageTable = memoryManager.getPageTable();
+        if (!(memoryManager.getReplacementAlgorithm() instanceof OptimalReplacement optimal)) {
+            return pageTable::copyEntry;
+        }
+        return vpn -> {
+            PageTableEntry entry = pageTable.copyEntry(vpn);
+            if (entry != null)
+                entry.setNextAccess(optimal.getNextUse(vpn));
+            return entry;
+        };
+    }
+
+    /**
+     * Returns one page of the main memory frames. Free frames are counted but have no row.
+     * @param from The first frame of the range.
+     * @param to The frame after the last one of the range (the number of frames if missing).
+     * @param page The index of the page, starting at 0.
+     * @param size The number of frames per page.
+     * @return The pages held by the frames of the page, by frame number.
+     */
+    @GetMapping("/api/frames")
+    @ResponseBody
+    public TablePage<Page> getFrames(@RequestParam(value = "from", defaultValue = "0") int from,
+                                     @RequestParam(value = "to", required = false) Integer to,
+                                     @RequestParam(value = "page", defaultValue = "0") int page,
+                                     @RequestParam(value = "size", defaultValue = "50") int size) {
+        MainMemory mainMemory = simulation().getMemoryManager().getMainMemory();
+        int end = to != null ? Math.min(to, mainMemory.getNrFrames()) : mainMemory.getNrFrames();
+        return TablePage.ofKeyRange(from, end, page, size, MAX_TABLE_PAGE_SIZE, mainMemory::getPage);
+    }
+
+    /**
+     * Returns one page of the secondary storage. VPNs with nothing on disk are counted but have no row.
+     * @param from The first VPN of the range.
+     * @param to The VPN after the last one of the range (the end of the address space or disk if missing).
+     * @param page The index of the page, starting at 0.
+     * @param size The number of VPNs per page.
+     * @return The disk pages of the page, by VPN.
+     */
+    @GetMapping("/api/disk")
+    @ResponseBody
+    public TablePage<Page> getDisk(@RequestParam(value = "from", defaultValue = "0") int from,
+                                   @RequestParam(value = "to", required = false) Integer to,
+                                   @RequestParam(value = "page", defaultValue = "0") int page,
+                                   @RequestParam(value = "size", defaultValue = "50") int size) {
+        MemoryManager memoryManager = simulation().getMemoryManager();
+        SecondaryStorage disk = memoryManager.getSecondaryStorage();
+        int limit = Math.max(memoryManager.getPageTable().getSize(), disk.getPageCount());
+        int end = to != null ? Math.min(to, limit) : limit;
+        return TablePage.ofKeyRange(from, end, page, size, MAX_TABLE_PAGE_SIZE, disk::getPage);
+    }
+
+    /**
+     * Returns the sizes and statistics of the simulation, without any table contents.
+     * @return A map containing the configuration, the statistics, the number of resident frames,
+     *         the sizes of the tables and the state version (see /memoryData).
+     */
+    @GetMapping("/api/summary")
+    @ResponseBody
+    public Map<String, Object> getSummary() {
+        SimulationSession simulation = simulation();
+        MemoryManager memoryManager = simulation.getMemoryManager();
+        ResultsSnapshot results = memoryManager.getResults().snapshot();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("virtualAddressWidth", simulation.getVirtualAddressWidth());
+        summary.put("pageSize", simulation.getPageSize());
+        summary.put("tlbSize", simulation.getTlbSize());
+        summary.put("physicalMemorySize", simulation.getPhysicalMemorySize());
+        summary.put("secondaryMemorySize", simulation.getSecondaryMemorySize());
+        summary.put("replacementAlgorithm", simulation.getReplacementAlgorithm());
+        summary.put("tlbReplacementAlgorithm", simulation.getTlbReplacementAlgorithm());
+        summary.put("pageTableSize", memoryManager.getPageTable().getSize());
+        summary.put("frames", memoryManager.getMainMemory().getNrFrames());
+        summary.put("residentFrames", memoryManager.getMainMemory().getResidentFrames());
+        summary.put("diskPages", memoryManager.getSecondaryStorage().getPageCount());
+        summary.put("tlbEntries", memoryManager.getTlb().getEntries().size());
+        summary.put("operations", memoryManager.getOperationCount());
+        summary.put("tlbHit", results.getTLBHitRate());
+        summary.put("tlbMiss", results.getTLBMissRate());
+        summary.put("pageTableHit", results.getPageTableHitRate());
+        summary.put("pageTableMiss", results.getPageTableMissRate());
+        summary.put("diskRead", results.getDiskReads());
+        summary.put("diskWrite", results.getDiskWrites());
+        summary.put("pageEviction", results.getPageEvictions());
+        summary.put("version", simulation.getChangeLog().getVersion());
+        return summary;
+    }
+
+    /**
+     * Executes many operations in one request. The body is a JSON array of operations, or a stream of operation
+     * objects (NDJSON), in the format of the configuration files; it is parsed as it is read.
+     * @param body The request body.
+     * @param outcomes Whether to return what each operation did (for the first vms.operations.max-outcomes operations).
+     * @param log Whether to write the log messages of every operation (by default only a summary is logged).
+     * @return The number of operations executed and the statistics they added, or an error with the operations
+     *         executed before it.
+     */
+    @PostMapping(path = "/api/operations", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> executeOperations(InputStream body,
+                                                                 @RequestParam(value = "outcomes", defaultValue = "false") boolean outcomes,
+                                                                 @RequestParam(value = "log", defaultValue = "false") boolean log) {
+        return executeBatch(new JsonOperationSource(body, simulation().getPageSize()), outcomes, log);
+    }
+
+    /**
+     * Executes many operations in one request, given as a binary trace (the format written by BinaryTraceWriter).
+     * @param body The request body.
+     * @param outcomes Whether to return what each operation did.
+     * @param log Whether to write the log messages of every operation.
+     * @return The number of operations executed and the statistics they added, or an error.
+     */
+    @PostMapping(path = "/api/operations", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> executeBinaryOperations(InputStream body,
+                                                                       @RequestParam(value = "outcomes", defaultValue = "false") boolean outcomes,
+                                                                       @RequestParam(value = "log", defaultValue = "false") boolean log) {
+        return executeBatch(new BinaryTraceStreamSource(body), outcomes, log);
+    }
+
+    /**
+     * Runs a batch of operations against the simulation of the session.
+     * @param source The operations.
+     * @param outcomes Whether to record what each operation did.
+     * @param log Whether to write the log messages of every operation.
+     * @return The summary of the batch; with 400 Bad Request and an error message if the input was invalid
+     *         or too long (the operations before the error stay executed).
+     */
+    private ResponseEntity<Map<String, Object>> executeBatch(TraceSource source, boolean outcomes, boolean log) {
+        SimulationSession simulation = simulation();
+        OperationBatch batch = new OperationBatch(simulation.getMemoryManager(), maxBatchOperations, outcomes ? maxBatchOutcomes : 0);
+        String error = null;
+        LogResults.setSuppressedForCurrentThread(!log);
+        try {
+            batch.run(source);
+        } catch (JsonProcessingException e) {
+            error = e.getOriginalMessage(); // without the parser location and reference chain
+        } catch (IOException | IllegalArgumentException e) {
+            error = e.getMessage();
+        } finally {
+            LogResults.setSuppressedForCurrentThread(false);
+        }
+        Map<String, Object> summary = batch.getSummary();
+        summary.put("operations", simulation.getMemoryManager().getOperationCount());
+        summary.put("version", simulation.getChangeLog().getVersion());
+        LogResults.log(LogResults.Level.INFO, LogResults.Category.GENERAL, "Executed a batch of " + batch.getExecuted() + " operations"
+                + (error != null ? " (stopped: " + error + ")" : ""));
+        if (error != null) {
+            summary.put("error", error);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(summary);
+        }
+        return ResponseEntity.ok(summary);
+    }
+
+    /**
+     * Returns the log messages of the caller's session that came after a sequence number,
+     * so that the page can fetch new messages without reloading the ones it already shows.
+     * @param since The sequence number of the last message the caller has (0 for every kept message).
+     * @return The newer messages, the sequence number to pass next time and the number of messages
+     *         that were overwritten before they could be fetched.
+     */
+    @GetMapping("/api/logs")
+    @ResponseBody
+    public LogBuffer.Slice getLogs(@RequestParam(value = "since", defaultValue = "0") long since) {
+        return logBuffer().since(since);
+    }
+
+    /**
+     * Gets the log buffer of the current session.
+     * @return The buffer bound to this request, or the session's buffer if none is bound.
+     */
+    private LogBuffer logBuffer() {
+        LogBuffer buffer = LogResults.getBoundBuffer();
+        return buffer != null ? buffer : LogBufferInterceptor.sessionBuffer(session, LogBuffer.DEFAULT_CAPACITY);
     }
 
     /**
-     * Handles an HTTP POST request to clear all log messages stored in the application.
+     * Handles an HTTP POST request to clear the log messages of the caller's session.
      * After clearing the messages, the user is redirected to the index page.
      * @return A redirect string to the index page ("/").
      */
     @PostMapping("/clearMessages")
     public String clearMessages() {
-        logMessages.clear(); // Clear the log messages
+        logBuffer().clear(); // Clear the log messages
         return "redirect:/"; // Redirect to the index page
     }
 }
@@ -0,0 +1,206 @@
+package com.example.vms.controller;
+
+import com.example.vms.model.MemoryManager;
+import com.example.vms.model.ResultsSnapshot;
+import com.example.vms.model.SimulationEvent;
+import com.example.vms.model.SimulationListener;
+import com.example.vms.trace.TraceSink;
+import com.example.vms.trace.TraceSource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the operations posted to /api/operations against a memory manager in one go, and sums up what they did.
+ * The batch sits between the trace source and the memory manager, counting the operations and refusing to go
+ * past the allowed number. When per-operation outcomes are asked for, it also listens to the simulation events
+ * (in front of the existing listener, for the duration of the batch) to record the lookups, fault and eviction
+ * of each operation.
+ */
+public class OperationBatch implements TraceSink, SimulationListener {
+    private final MemoryManager memoryManager; // simulation the operations run against
+    private final long maxOperations; // operations accepted at most
+    private final int maxOutcomes; // outcomes recorded at most, 0 if they were not asked for
+    private final List<Map<String, Object>> outcomes = new ArrayList<>(); // outcome of each operation, in order
+    private SimulationListener next; // listener of the memory manager before the batch
+    private Map<String, Object> current; // outcome of the running operation, or null if it is not recorded
+    private long executed; // operations executed so far
+    private ResultsSnapshot before; // statistics before the batch
+    private long elapsedNanos; // time spent running the batch
+
+    /**
+     * Creates a batch.
+     * @param memoryManager The simulation the operations run against.
+     * @param maxOperations The number of operations accepted at most.
+     * @param maxOutcomes The number of per-operation outcomes recorded at most, 0 for none.
+     */
+    public OperationBatch(MemoryManager memoryManager, long maxOperations, int maxOutcomes) {
+        this.memoryManager = memoryManager;
+        this.maxOperations = maxOperations;
+        this.maxOutcomes = Math.max(maxOutcomes, 0);
+    }
+
+    /**
+     * Runs every operation of a source. The operations executed before an error stay executed.
+     * @param source The operations.
+     * @throws IOException if the source cannot be read.
+     * @throws IllegalArgumentException if the source holds more operations than allowed.
+     */
+    public void run(TraceSource source) throws IOException {
+        before = memoryManager.getResults().snapshot();
+        long start = System.nanoTime();
+        next = memoryManager.getListener();
+        if (maxOutcomes > 0) {
+            memoryManager.setListener(this);
+        }
+        try {
+            source.replay(this);
+        } finally {
+            memoryManager.setListener(next);
+            current = null;
+            elapsedNanos = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Allocates a page.
+     * @param vpn The virtual page number.
+     */
+    @Override
+    public void allocatePage(int vpn) {
+        begin("Allocate", "vpn", vpn);
+        memoryManager.allocatePage(vpn);
+        executed++;
+    }
+
+    /**
+     * Loads from a virtual address.
+     * @param virtualAddress The virtual address.
+     */
+    @Override
+    public void load(int virtualAddress) {
+        begin("Load", "address", virtualAddress);
+        memoryManager.load(virtualAddress);
+        executed++;
+    }
+
+    /**
+     * Stores data at a virtual address.
+     * @param virtualAddress The virtual address.
+     * @param data The data.
+     */
+    @Override
+    public void store(int virtualAddress, int data) {
+        begin("Store", "address", virtualAddress);
+        memoryManager.store(virtualAddress, data);
+        executed++;
+    }
+
+    /**
+     * Checks that one more operation is allowed and starts its outcome if outcomes are recorded.
+     * @param type The type of the operation.
+     * @param operandName vpn or address.
+     * @param operand The VPN or virtual address.
+     */
+    private void begin(String type, String operandName, int operand) {
+        if (executed >= maxOperations) {
+            throw new IllegalArgumentException("A batch holds at most " + maxOperations + " operations");
+        }
+        if (outcomes.size() < maxOutcomes) {
+            current = new LinkedHashMap<>();
+            current.put("type", type);
+            current.put(operandName, operand);
+            outcomes.add(current);
+        } else {
+            current = null;
+        }
+    }
+
+    /**
+     * Records an event in the outcome of the running operation and passes it on.
+     * @param event The kind of event.
+     * @param operation The index of the operation.
+     * @param vpn The virtual page number.
+     * @param frame The frame, or -1.
+     * @param dirty Whether an evicted page was dirty.
+     */
+    @Override
+    public void onEvent(SimulationEvent event, long operation, int vpn, int frame, boolean dirty) {
+        if (next != null) {
+            next.onEvent(event, operation, vpn, frame, dirty);
+        }
+        if (current == null) {
+            return;
+        }
+        switch (event) {
+            case TLB_HIT:
+                current.put("tlb", "hit");
+                current.put("frame", frame);
+                break;
+            case TLB_MISS:
+                current.put("tlb", "miss");
+                break;
+            case PAGE_TABLE_HIT:
+                current.put("pageTable", "hit");
+                current.put("frame", frame);
+                break;
+            case PAGE_TABLE_MISS:
+                current.put("pageTable", "miss");
+                break;
+            case PAGE_FAULT:
+                current.put("fault", true);
+                current.put("frame", frame);
+                break;
+            case PAGE_ALLOCATED:
+                current.put("frame", frame);
+                break;
+            case EVICTION:
+                current.put("evicted", vpn);
+                current.put("writeBack", dirty);
+                break;
+            default:
+                break; // disk transfers follow from the fault and the write-back
+        }
+    }
+
+    /**
+     * Passes a timing on.
+     * @param event PAGE_FAULT or EVICTION.
+     * @param nanos The time, in nanoseconds.
+     */
+    @Override
+    public void onTiming(SimulationEvent event, long nanos) {
+        if (next != null) {
+            next.onTiming(event, nanos);
+        }
+    }
+
+    /**
+     * Sums up the batch: the operations executed, the time taken and the statistics they added.
+     * @return The summary, by name, with the outcomes if they were recorded.
+     */
+    public Map<String, Object> getSummary() {
+        ResultsSnapshot after = memoryManager.getResults().snapshot();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("executed", executed);
+        summary.put("elapsedNanos", elapsedNanos);
+        summary.put("operationsPerSecond", elapsedNanos > 0 ? executed * 1_000_000_000.0 / elapsedNanos : 0.0);
+        summary.put("tlbHits", after.getTlbHits() - before.getTlbHits());
+        summary.put("tlbMisses", after.getTlbMisses() - before.getTlbMisses());
+        summary.put("pageTableHits", after.getPageTableHits() - before.getPageTableHits());
+        summary.put("pageTableMisses", after.getPageTableMisses() - before.getPageTableMisses());
+        summary.put("diskReads", after.getDiskReads() - before.getDiskReads());
+        summary.put("diskWrites", after.getDiskWrites() - before.getDiskWrites());
+        summary.put("pageEvictions", after.getPageEvictions() - before.getPageEvictions());
+        if (maxOutcomes > 0) {
+            summary.put("outcomesTruncated", executed > outcomes.size());
+            summary.put("outcomes", outcomes);
+        }
+        return summary;
+    }
+
+    public long getExecuted() { return executed; } // gets the number of operations executed so far
+}
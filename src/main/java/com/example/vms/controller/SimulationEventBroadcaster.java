@@ -0,0 +1,98 @@
+package com.example.vms.controller;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Flushes the event streams of the simulations that have subscribers, at a fixed interval.
+ * One thread does the flushing; the events are written to the clients on a separate pool,
+ * with at most one task per client, so a slow client never holds up the others.
+ */
+@Component
+public class SimulationEventBroadcaster {
+    private final long timeoutMillis; // lifetime of an SSE connection; the browser reconnects after it
+    private final int maxSubscribers; // clients per simulation at most
+    private final Set<SimulationEventStream> streams = ConcurrentHashMap.newKeySet(); // streams with subscribers
+    private final ScheduledExecutorService ticker; // runs the flushes
+    private final ExecutorService senders; // writes the events to the clients
+
+    /**
+     * Starts flushing.
+     * @param interval The time between two flushes.
+     * @param timeout The lifetime of an SSE connection.
+     * @param maxSubscribers The number of clients following one simulation at most.
+     */
+    public SimulationEventBroadcaster(@Value("${vms.events.interval:100ms}") Duration interval,
+                                      @Value("${vms.events.timeout:30m}") Duration timeout,
+                                      @Value("${vms.events.max-subscribers:4}") int maxSubscribers) {
+        this.timeoutMillis = timeout.toMillis();
+        this.maxSubscribers = Math.max(maxSubscribers, 1);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(daemonThreads("vms-events-flush"));
+        this.senders = Executors.newCachedThreadPool(daemonThreads("vms-events-send"));
+        long period = Math.max(interval.toMillis(), 1);
+        ticker.scheduleAtFixedRate(this::flush, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens an SSE connection to the event stream of a simulation.
+     * @param stream The event stream of the simulation.
+     * @return The connection, to return from the request handler.
+     */
+    public SseEmitter subscribe(SimulationEventStream stream) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        stream.subscribe(emitter, senders, maxSubscribers);
+        streams.add(stream);
+        return emitter;
+    }
+
+    /**
+     * Flushes every stream with subscribers and forgets the others.
+     */
+    void flush() {
+        for (SimulationEventStream stream : streams) {
+            if (stream.hasSubscribers()) {
+                stream.flush(senders);
+            } else {
+                streams.remove(stream);
+                if (stream.hasSubscribers()) { // a client subscribed in between
+                    streams.add(stream);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops flushing when the application shuts down.
+     */
+    @PreDestroy
+    public void close() {
+        ticker.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    /**
+     * Creates daemon threads with numbered names, so that they never keep the JVM alive.
+     * @param prefix The name prefix.
+     * @return The thread factory.
+     */
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.vms.controller;
+
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Streams the events of the caller's simulation as Server-Sent Events (see {@link SimulationEventStream}).
+ * It is kept out of the MemoryController because the connection stays open: the simulation must not stay
+ * locked for it, and the events are produced by the requests of the other controller.
+ */
+@Controller
+public class SimulationEventController {
+    private final SimulationRegistry registry; // simulations by session ID
+    private final SimulationEventBroadcaster broadcaster; // flushes the event streams
+
+    /**
+     * Creates the controller.
+     * @param registry The simulations by session ID.
+     * @param broadcaster The broadcaster of the event streams.
+     */
+    public SimulationEventController(SimulationRegistry registry, SimulationEventBroadcaster broadcaster) {
+        this.registry = registry;
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * Opens the event stream of the caller's simulation.
+     * @param session The HTTP session of the caller.
+     * @return The SSE connection.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(HttpSession session) {
+        return broadcaster.subscribe(registry.get(session.getId()).getEvents());
+    }
+}
@@ -0,0 +1,370 @@
+package com.example.vms.controller;
+
+import com.example.vms.model.ChangeLog;
+import com.example.vms.model.MemoryManager;
+import com.example.vms.model.ResultsSnapshot;
+import com.example.vms.model.SimulationEvent;
+import com.example.vms.model.SimulationListener;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes the events of one simulation to the browsers following it, as Server-Sent Events.
+ * The stream sits between the memory manager and its listener (the metrics): it passes every event on and,
+ * while someone is subscribed, folds the events into a batch. The {@link SimulationEventBroadcaster} flushes
+ * the batch at a fixed interval, so a replay running at full speed costs each client a few small messages
+ * per second instead of one per operation. A flush sends up to four events:
+ * - reset: the memory manager was replaced; the client has to fetch the whole state again
+ * - access: the TLB and page table hits and misses since the previous flush
+ * - frames: per frame, the page it holds now (-1 if none) and the faults, evictions and write-backs it saw
+ * - stats: the totals of the simulation and the version of its state (see /memoryData?since=)
+ * Each subscriber has its own backlog. While a slow client is still receiving, new batches are merged into
+ * its backlog instead of queuing up, so the memory used stays bounded by the number of frames and a slow
+ * client just gets fewer, larger messages.
+ */
+public class SimulationEventStream implements SimulationListener {
+    private static final long HEARTBEAT_NANOS = TimeUnit.SECONDS.toNanos(15); // idle subscribers get stats this often
+
+    private final ChangeLog changeLog; // versions of the simulation state
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>(); // clients following the simulation
+    private volatile SimulationListener next; // listener the events are passed on to, or null
+    private volatile MemoryManager memoryManager; // simulation the events come from
+    private Batch pending = new Batch(); // events since the last flush; guarded by this
+
+    /**
+     * Creates a stream without subscribers.
+     * @param changeLog The log of state changes of the simulation, for the versions sent to the clients.
+     */
+    public SimulationEventStream(ChangeLog changeLog) {
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * Starts receiving the events of a memory manager, in front of the listener it already has.
+     * The subscribers are told to fetch the whole state again.
+     * @param memoryManager The new memory manager of the simulation.
+     */
+    public void attach(MemoryManager memoryManager) {
+        this.next = memoryManager.getListener();
+        this.memoryManager = memoryManager;
+        memoryManager.setListener(this);
+        synchronized (this) {
+            pending = new Batch();
+            pending.reset = true;
+        }
+    }
+
+    /**
+     * Passes an event on and, if someone is subscribed, adds it to the pending batch.
+     * @param event The kind of event.
+     * @param operation The index of the operation.
+     * @param vpn The virtual page number.
+     * @param frame The frame, or -1.
+     * @param dirty Whether an evicted page was dirty.
+     */
+    @Override
+    public void onEvent(SimulationEvent event, long operation, int vpn, int frame, boolean dirty) {
+        SimulationListener listener = next;
+        if (listener != null) {
+            listener.onEvent(event, operation, vpn, frame, dirty);
+        }
+        if (subscribers.isEmpty()) {
+            return; // nobody follows the simulation: nothing to collect
+        }
+        synchronized (this) {
+            pending.add(event, operation, vpn, frame, dirty);
+        }
+    }
+
+    /**
+     * Passes a timing on; the clients do not receive timings.
+     * @param event PAGE_FAULT or EVICTION.
+     * @param nanos The time, in nanoseconds.
+     */
+    @Override
+    public void onTiming(SimulationEvent event, long nanos) {
+        SimulationListener listener = next;
+        if (listener != null) {
+            listener.onTiming(event, nanos);
+        }
+    }
+
+    /**
+     * Adds a client. It first receives the current stats, then the events of every flush.
+     * If there are already as many subscribers as allowed, the oldest one is disconnected.
+     * @param emitter The SSE connection of the client.
+     * @param executor The executor the events are sent on.
+     * @param maxSubscribers The number of subscribers kept at most.
+     */
+    public void subscribe(SseEmitter emitter, Executor executor, int maxSubscribers) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        while (subscribers.size() >= Math.max(maxSubscribers, 1)) {
+            Subscriber oldest = subscribers.remove(0);
+            oldest.emitter.complete();
+        }
+        subscribers.add(subscriber);
+        subscriber.offer(null, executor);
+    }
+
+    /**
+     * Hands the pending batch to every subscriber. Subscribers that got nothing for a while receive
+     * the stats, so that connections to clients that went away are noticed.
+     * @param executor The executor the events are sent on.
+     */
+    public void flush(Executor executor) {
+        Batch batch = null;
+        synchronized (this) {
+            if (!pending.isEmpty()) {
+                batch = pending;
+                pending = new Batch();
+            }
+        }
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (batch != null || now - subscriber.lastSent > HEARTBEAT_NANOS) {
+                subscriber.offer(batch, executor);
+            }
+        }
+    }
+
+    /**
+     * Disconnects all the subscribers. Called when the registry drops the simulation.
+     */
+    public void close() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    public boolean hasSubscribers() { return !subscribers.isEmpty(); } // checks whether a client follows the simulation
+    public int getSubscriberCount() { return subscribers.size(); } // gets the number of clients following the simulation
+
+    /**
+     * One client following the simulation.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter; // SSE connection of the client
+        private Batch backlog; // events not sent yet, or null; guarded by this
+        private boolean sending; // whether a task is sending to the client; guarded by this
+        private volatile long lastSent = System.nanoTime(); // System.nanoTime() of the last message
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Merges a batch into the backlog and starts sending it, unless a send is already running
+         * (it picks the backlog up when it is done).
+         * @param batch The batch, or null to send the stats only.
+         * @param executor The executor the events are sent on.
+         */
+        private void offer(Batch batch, Executor executor) {
+            synchronized (this) {
+                if (backlog == null) {
+                    backlog = new Batch();
+                }
+                if (batch != null) {
+                    backlog.merge(batch);
+                }
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) { // the application is shutting down
+                synchronized (this) {
+                    sending = false;
+                }
+            }
+        }
+
+        /**
+         * Sends the backlog until it is empty.
+         */
+        private void drain() {
+            while (true) {
+                Batch batch;
+                synchronized (this) {
+                    batch = backlog;
+                    backlog = null;
+                    if (batch == null) {
+                        sending = false;
+                        return;
+                    }
+                }
+                try {
+                    send(batch);
+                } catch (IOException | IllegalStateException e) { // the client went away or the connection timed out
+                    subscribers.remove(this);
+                    emitter.completeWithError(e);
+                    return; // sending stays true: nothing is sent to this client any more
+                }
+            }
+        }
+
+        /**
+         * Sends the events of a batch, followed by the stats.
+         * @param batch The batch.
+         * @throws IOException If the client cannot be written to.
+         */
+        private void send(Batch batch) throws IOException {
+            if (batch.reset) {
+                emitter.send(SseEmitter.event().name("reset").data(Map.of("version", changeLog.getVersion()), MediaType.APPLICATION_JSON));
+            }
+            if (batch.tlbHits + batch.tlbMisses + batch.pageTableHits + batch.pageTableMisses > 0) {
+                Map<String, Object> access = new LinkedHashMap<>();
+                access.put("operation", batch.operation);
+                access.put("tlbHits", batch.tlbHits);
+                access.put("tlbMisses", batch.tlbMisses);
+                access.put("pageTableHits", batch.pageTableHits);
+                access.put("pageTableMisses", batch.pageTableMisses);
+                emitter.send(SseEmitter.event().name("access").data(access, MediaType.APPLICATION_JSON));
+            }
+            if (!batch.frames.isEmpty()) {
+                Map<Integer, Map<String, Integer>> frames = new LinkedHashMap<>();
+                batch.frames.forEach((frame, change) -> frames.put(frame, change.toMap()));
+                emitter.send(SseEmitter.event().name("frames").data(frames, MediaType.APPLICATION_JSON));
+            }
+            emitter.send(SseEmitter.event().name("stats").data(stats(), MediaType.APPLICATION_JSON));
+            lastSent = System.nanoTime();
+        }
+    }
+
+    /**
+     * Gets the totals of the simulation. The counters can be read while the simulation runs.
+     * @return The stats, by name.
+     */
+    private Map<String, Object> stats() {
+        MemoryManager simulation = memoryManager;
+        ResultsSnapshot results = simulation.getResults().snapshot();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("version", changeLog.getVersion());
+        stats.put("operations", simulation.getOperationCount());
+        stats.put("tlbHit", results.getTLBHitRate());
+        stats.put("tlbMiss", results.getTLBMissRate());
+        stats.put("pageTableHit", results.getPageTableHitRate());
+        stats.put("pageTableMiss", results.getPageTableMissRate());
+        stats.put("diskRead", results.getDiskReads());
+        stats.put("diskWrite", results.getDiskWrites());
+        stats.put("pageEviction", results.getPageEvictions());
+        return stats;
+    }
+
+    /**
+     * The events of a period, folded together: counts of the lookups, and per frame the last mapping.
+     */
+    private static final class Batch {
+        private boolean reset; // whether the memory manager was replaced
+        private long operation = -1; // index of the last operation, -1 if there was no event
+        private long tlbHits, tlbMisses, pageTableHits, pageTableMisses; // lookups by result
+        private final Map<Integer, FrameChange> frames = new TreeMap<>(); // changes by frame
+
+        /**
+         * Adds an event.
+         */
+        private void add(SimulationEvent event, long operation, int vpn, int frame, boolean dirty) {
+            this.operation = operation;
+            switch (event) {
+                case TLB_HIT:
+                    tlbHits++;
+                    break;
+                case TLB_MISS:
+                    tlbMisses++;
+                    break;
+                case PAGE_TABLE_HIT:
+                    pageTableHits++;
+                    break;
+                case PAGE_TABLE_MISS:
+                    pageTableMisses++;
+                    break;
+                case PAGE_FAULT:
+                    frames.computeIfAbsent(frame, f -> new FrameChange()).load(vpn, true);
+                    break;
+                case PAGE_ALLOCATED:
+                    frames.computeIfAbsent(frame, f -> new FrameChange()).load(vpn, false);
+                    break;
+                case EVICTION:
+                    frames.computeIfAbsent(frame, f -> new FrameChange()).evict(dirty);
+                    break;
+                default:
+                    break; // disk reads and writes are counted in the stats
+            }
+        }
+
+        /**
+         * Adds the events of a later batch. A reset in it makes the earlier events pointless.
+         * @param later The later batch; it is not modified.
+         */
+        private void merge(Batch later) {
+            if (later.reset) {
+                reset = true;
+                operation = -1;
+                tlbHits = tlbMisses = pageTableHits = pageTableMisses = 0;
+                frames.clear();
+            }
+            operation = Math.max(operation, later.operation);
+            tlbHits += later.tlbHits;
+            tlbMisses += later.tlbMisses;
+            pageTableHits += later.pageTableHits;
+            pageTableMisses += later.pageTableMisses;
+            later.frames.forEach((frame, change) -> frames.computeIfAbsent(frame, f -> new FrameChange()).merge(change));
+        }
+
+        private boolean isEmpty() { return !reset && operation < 0; } // checks whether the batch holds nothing
+    }
+
+    /**
+     * What happened to one frame during a batch.
+     */
+    private static final class FrameChange {
+        private int vpn = -1; // page held at the end of the batch, -1 if the frame is free
+        private int faults, evictions, writeBacks; // pages loaded by a fault, pages evicted, dirty pages written back
+
+        private void load(int vpn, boolean fault) {
+            this.vpn = vpn;
+            if (fault) {
+                faults++;
+            }
+        }
+
+        private void evict(boolean dirty) {
+            vpn = -1;
+            evictions++;
+            if (dirty) {
+                writeBacks++;
+            }
+        }
+
+        private void merge(FrameChange later) {
+            vpn = later.vpn; // every change ends with a load or an eviction
+            faults += later.faults;
+            evictions += later.evictions;
+            writeBacks += later.writeBacks;
+        }
+
+        private Map<String, Integer> toMap() {
+            Map<String, Integer> map = new LinkedHashMap<>();
+            map.put("vpn", vpn);
+            map.put("faults", faults);
+            map.put("evictions", evictions);
+            map.put("writeBacks", writeBacks);
+            return map;
+        }
+    }
+}
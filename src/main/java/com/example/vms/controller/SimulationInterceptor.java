@@ -0,0 +1,61 @@
+package com.example.vms.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Locks the simulation of the caller's session while a request of the MemoryController is handled,
+ * so that two requests of the same user never work on one memory manager at the same time.
+ * The locked simulation is stored as a request attribute for the controller to use.
+ */
+@Component
+public class SimulationInterceptor implements AsyncHandlerInterceptor {
+    public static final String REQUEST_ATTRIBUTE = "simulation"; // name of the request attribute holding the simulation
+
+    private final SimulationRegistry registry; // simulations by session ID
+
+    /**
+     * Creates the interceptor.
+     * @param registry The simulations by session ID.
+     */
+    public SimulationInterceptor(SimulationRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Looks up (or creates) the session's simulation and waits for its lock.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method && method.getBeanType() == MemoryController.class) {
+            SimulationSession simulation = registry.get(request.getSession().getId());
+            simulation.lock();
+            request.setAttribute(REQUEST_ATTRIBUTE, simulation);
+        }
+        return true;
+    }
+
+    /**
+     * Releases the simulation for the next request.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SimulationSession simulation = (SimulationSession) request.getAttribute(REQUEST_ATTRIBUTE);
+        if (simulation != null) {
+            request.removeAttribute(REQUEST_ATTRIBUTE);
+            simulation.unlock();
+        }
+    }
+
+    /**
+     * Releases the simulation when a handler goes asynchronous: afterCompletion is only called once the
+     * response is complete, and the simulation must not stay locked until then.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        afterCompletion(request, response, handler, null);
+    }
+}
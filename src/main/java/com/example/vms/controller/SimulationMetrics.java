@@ -0,0 +1,165 @@
+package com.example.vms.controller;
+
+import com.example.vms.model.MemoryManager;
+import com.example.vms.model.SimulationEvent;
+import com.example.vms.model.SimulationListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the internals of the web application's simulations as Micrometer meters, so that they can be read
+ * under /actuator/metrics or scraped in Prometheus format from /actuator/prometheus.
+ * The meters are fed by the simulation events (this class is the listener of every bound memory manager)
+ * and cover all the simulations of the application together:
+ * - vms.tlb.lookups and vms.pagetable.lookups: counters tagged result=hit or result=miss
+ * - vms.page.faults, vms.page.evictions, vms.disk.reads and vms.disk.writes (dirty pages written back)
+ * - vms.operations: loads and stores; its rate is the simulation throughput in operations per second
+ * - vms.page.fault.time and vms.page.eviction.time: timers of handlePageFault and handleEviction
+ * - vms.frames.resident and vms.simulations: gauges of the frames holding a page and of the bound simulations
+ */
+@Component
+public class SimulationMetrics implements SimulationListener {
+    private final Counter tlbHits, tlbMisses; // TLB lookups by result
+    private final Counter pageTableHits, pageTableMisses; // page table lookups by result
+    private final Counter pageFaults, evictions, diskReads, diskWrites; // fault handling steps
+    private final Counter operations; // loads and stores
+    private final Timer pageFaultTime, evictionTime; // wall time of handlePageFault and handleEviction
+    private final Set<MemoryManager> simulations = ConcurrentHashMap.newKeySet(); // memory managers reporting here
+
+    /**
+     * Registers the meters.
+     * @param registry The registry provided by Spring Boot Actuator.
+     */
+    public SimulationMetrics(MeterRegistry registry) {
+        tlbHits = counter(registry, "vms.tlb.lookups", "hit", "TLB lookups");
+        tlbMisses = counter(registry, "vms.tlb.lookups", "miss", "TLB lookups");
+        pageTableHits = counter(registry, "vms.pagetable.lookups", "hit", "Page table lookups");
+        pageTableMisses = counter(registry, "vms.pagetable.lookups", "miss", "Page table lookups");
+        pageFaults = counter(registry, "vms.page.faults", null, "Pages loaded from secondary storage into a frame");
+        evictions = counter(registry, "vms.page.evictions", null, "Pages evicted from main memory");
+        diskReads = counter(registry, "vms.disk.reads", null, "Pages read from secondary storage");
+        diskWrites = counter(registry, "vms.disk.writes", null, "Dirty pages written back to secondary storage");
+        operations = counter(registry, "vms.operations", null, "Loads and stores executed");
+        pageFaultTime = Timer.builder("vms.page.fault.time")
+                .description("Time spent handling a page fault, eviction included")
+                .register(registry);
+        evictionTime = Timer.builder("vms.page.eviction.time")
+                .description("Time spent evicting a page")
+                .register(registry);
+        Gauge.builder("vms.frames.resident", this, SimulationMetrics::getResidentFrames)
+                .description("Frames that hold a page, over all simulations")
+                .register(registry);
+        Gauge.builder("vms.simulations", simulations, Set::size)
+                .description("Simulations reporting to the metrics")
+                .register(registry);
+    }
+
+    /**
+     * Creates a counter, tagged with the lookup result if there is one.
+     * @param registry The meter registry.
+     * @param name The meter name.
+     * @param result hit, miss, or null for no tag.
+     * @param description The meter description.
+     * @return The counter.
+     */
+    private static Counter counter(MeterRegistry registry, String name, String result, String description) {
+        Counter.Builder builder = Counter.builder(name).description(description);
+        if (result != null) {
+            builder.tag("result", result);
+        }
+        return builder.register(registry);
+    }
+
+    /**
+     * Makes a memory manager report its events to the meters.
+     * @param memoryManager The memory manager.
+     */
+    public void bind(MemoryManager memoryManager) {
+        memoryManager.setListener(this);
+        simulations.add(memoryManager);
+    }
+
+    /**
+     * Stops counting a memory manager, for example because it is replaced by a new simulation.
+     * The counters keep the values it already added.
+     * @param memoryManager The memory manager, or null.
+     */
+    public void unbind(MemoryManager memoryManager) {
+        if (memoryManager != null && simulations.remove(memoryManager)) {
+            memoryManager.setListener(null);
+        }
+    }
+
+    /**
+     * Counts an event of a bound simulation.
+     * @param event The kind of event.
+     * @param operation The index of the operation.
+     * @param vpn The virtual page number.
+     * @param frame The frame, or -1.
+     * @param dirty Whether an evicted page was dirty.
+     */
+    @Override
+    public void onEvent(SimulationEvent event, long operation, int vpn, int frame, boolean dirty) {
+        switch (event) {
+            case TLB_HIT:
+                tlbHits.increment();
+                operations.increment(); // every load and store starts with exactly one TLB lookup
+                break;
+            case TLB_MISS:
+                tlbMisses.increment();
+                operations.increment();
+                break;
+            case PAGE_TABLE_HIT:
+                pageTableHits.increment();
+                break;
+            case PAGE_TABLE_MISS:
+                pageTableMisses.increment();
+                break;
+            case PAGE_FAULT:
+                pageFaults.increment();
+                break;
+            case EVICTION:
+                evictions.increment();
+                break;
+            case DISK_READ:
+                diskReads.increment();
+                break;
+            case DISK_WRITE:
+                diskWrites.increment();
+                break;
+        }
+    }
+
+    /**
+     * Records the time a bound simulation spent on a page fault or an eviction.
+     * @param event PAGE_FAULT or EVICTION.
+     * @param nanos The time, in nanoseconds.
+     */
+    @Override
+    public void onTiming(SimulationEvent event, long nanos) {
+        if (event == SimulationEvent.PAGE_FAULT) {
+            pageFaultTime.record(nanos, TimeUnit.NANOSECONDS);
+        } else if (event == SimulationEvent.EVICTION) {
+            evictionTime.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Counts the frames that hold a page in all the bound simulations.
+     * @return The number of resident frames.
+     */
+    public double getResidentFrames() {
+        long resident = 0;
+        for (MemoryManager memoryManager : simulations) {
+            resident += memoryManager.getMainMemory().getResidentFrames();
+        }
+        return resident;
+    }
+}
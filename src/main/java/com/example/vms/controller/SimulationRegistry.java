@@ -0,0 +1,118 @@
+package com.example.vms.controller;
+
+import jakarta.servlet.http.HttpSessionEvent;
+import jakarta.servlet.http.HttpSessionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the simulation of every user of the web application, keyed by HTTP session ID.
+ * The registry is bounded: when it is full, the least recently used simulation is dropped to make room,
+ * and simulations that were not used for the idle timeout are dropped as well. A simulation is also
+ * dropped when its HTTP session is invalidated or expires.
+ */
+@Component
+public class SimulationRegistry implements HttpSessionListener {
+    private final SimulationMetrics metrics; // meters every simulation reports to
+    private final int maxSessions; // simulations kept at most
+    private final long idleTimeoutNanos; // simulations unused for longer are dropped
+    private final LinkedHashMap<String, SimulationSession> sessions = new LinkedHashMap<>(16, 0.75f, true); // least recently used first
+
+    /**
+     * Creates an empty registry.
+     * @param metrics The meters every simulation reports to.
+     * @param maxSessions The number of simulations kept at most.
+     * @param idleTimeout How long a simulation is kept without being used.
+     */
+    public SimulationRegistry(SimulationMetrics metrics,
+                              @Value("${vms.simulations.max-sessions:64}") int maxSessions,
+                              @Value("${vms.simulations.idle-timeout:30m}") Duration idleTimeout) {
+        this.metrics = metrics;
+        this.maxSessions = Math.max(maxSessions, 1);
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    /**
+     * Gets the simulation of a session, creating a default one if the session has none yet.
+     * Drops idle simulations first, and the least recently used one if the registry is full.
+     * @param id The session ID.
+     * @return The simulation of the session.
+     */
+    public synchronized SimulationSession get(String id) {
+        evictIdle();
+        SimulationSession simulation = sessions.get(id);
+        if (simulation == null) {
+            if (sessions.size() >= maxSessions) {
+                evictLeastRecentlyUsed();
+            }
+            simulation = new SimulationSession(id, metrics);
+            sessions.put(id, simulation);
+        }
+        simulation.touch();
+        return simulation;
+    }
+
+    /**
+     * Drops the simulation of a session.
+     * @param id The session ID.
+     */
+    public synchronized void remove(String id) {
+        SimulationSession simulation = sessions.remove(id);
+        if (simulation != null) {
+            simulation.close();
+        }
+    }
+
+    /**
+     * Drops the simulation of an HTTP session that was invalidated or expired.
+     * @param event The session event.
+     */
+    @Override
+    public void sessionDestroyed(HttpSessionEvent event) {
+        remove(event.getSession().getId());
+    }
+
+    /**
+     * Drops the simulations that were not used for the idle timeout and that no request is working on.
+     */
+    private void evictIdle() {
+        long now = System.nanoTime();
+        Iterator<SimulationSession> iterator = sessions.values().iterator();
+        while (iterator.hasNext()) {
+            SimulationSession simulation = iterator.next();
+            if (now - simulation.getLastAccess() > idleTimeoutNanos && !simulation.isLocked()) {
+                iterator.remove();
+                simulation.close();
+            }
+        }
+    }
+
+    /**
+     * Drops the least recently used simulation, preferring one that no request is working on.
+     * A request still working on a dropped simulation finishes normally; only the registry forgets it.
+     */
+    private void evictLeastRecentlyUsed() {
+        Map.Entry<String, SimulationSession> victim = null;
+        for (Map.Entry<String, SimulationSession> entry : sessions.entrySet()) {
+            if (victim == null) {
+                victim = entry;
+            }
+            if (!entry.getValue().isLocked()) {
+                victim = entry;
+                break;
+            }
+        }
+        if (victim != null) {
+            sessions.remove(victim.getKey());
+            victim.getValue().close();
+        }
+    }
+
+    public synchronized int size() { return sessions.size(); } // gets the number of simulations kept
+    public int getMaxSessions() { return maxSessions; } // gets the number of simulations kept at most
+}
@@ -0,0 +1,166 @@
+package com.example.vms.controller;
+
+import com.example.vms.model.ChangeLog;
+import com.example.vms.model.MemoryManager;
+import com.example.vms.model.ReplacementAlgorithm;
+import com.example.vms.utils.SimulationFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The simulation of one user of the web application: a memory manager with the configuration it was built from.
+ * Sessions are kept by the {@link SimulationRegistry}; each one has its own lock, so that requests for the same
+ * simulation run one after the other while requests for different simulations run in parallel.
+ */
+public class SimulationSession {
+    private final String id; // key of the session in the registry
+    private final SimulationMetrics metrics; // meters the memory manager reports to
+    private final ReentrantLock lock = new ReentrantLock(); // held while a request works on this simulation
+    private volatile long lastAccess; // System.nanoTime() of the last request, for idle eviction
+    private final ChangeLog changeLog = new ChangeLog(); // state changes; kept across memory managers so versions keep growing
+    private final SimulationEventStream events = new SimulationEventStream(changeLog); // events pushed to the browsers
+    private MemoryManager memoryManager;
+    private String replacementAlgorithm = "FIFO";  // Store current algorithm for display
+    private String tlbReplacementAlgorithm = "";  // Store current TLB policy for display (empty = match the page algorithm)
+    private int virtualAddressWidth;
+    private int pageSize;
+    private int tlbSize;
+    private int physicalMemorySize;
+    private int secondaryMemorySize;
+    private int virtualMemorySize;
+    private int pageTableSize;
+    private List<Integer> futureAccesses = new ArrayList<>(); // List of future memory accesses
+
+    /**
+     * Creates a simulation with a default memory manager.
+     * @param id the key of the session in the registry
+     * @param metrics the meters the simulation reports to, or null
+     */
+    public SimulationSession(String id, SimulationMetrics metrics) {
+        this.id = id;
+        this.metrics = metrics;
+        this.lastAccess = System.nanoTime();
+        configure(0, 0, 0, 0, 0, "FIFO", null);
+    }
+
+    /**
+     * Initializes the memory manager with the given configuration parameters.
+     * Sets up the memory manager with the specified replacement algorithm and memory sizes.
+     * @param virtualAddressWidth the width of the virtual address
+     * @param pageSize the size of a single page
+     * @param tlbSize the size of the Translation Lookaside Buffer
+     * @param physicalMemorySize the size of the physical memory
+     * @param diskSize the size of the secondary memory
+     * @param replacementAlgorithm the page replacement algorithm to use (FIFO, LRU, Optimal)
+     * @param tlbReplacementAlgorithm the TLB replacement policy to use (LRU, FIFO, Random, PLRU), or null to match the page algorithm
+     */
+    public void configure(int virtualAddressWidth, int pageSize, int tlbSize,
+                          int physicalMemorySize, int diskSize, String replacementAlgorithm,
+                          String tlbReplacementAlgorithm) {
+        // Determine the replacement algorithm
+        ReplacementAlgorithm algorithm = SimulationFactory.createReplacementAlgorithm(replacementAlgorithm, pageSize, physicalMemorySize, futureAccesses);
+
+        // Initialize memory manager with the provided configuration, or use default if no configuration is provided
+        if (virtualAddressWidth == 0 && pageSize == 0 && tlbSize == 0 && physicalMemorySize == 0) {
+            setMemoryManager(new MemoryManager());
+        } else if (pageSize != 0 && virtualAddressWidth != 0) {
+            // Store configuration parameters
+            this.virtualAddressWidth = virtualAddressWidth;
+            this.pageSize = pageSize;
+            this.tlbSize = tlbSize;
+            this.physicalMemorySize = physicalMemorySize;
+            this.replacementAlgorithm = replacementAlgorithm;
+            this.tlbReplacementAlgorithm = tlbReplacementAlgorithm != null ? tlbReplacementAlgorithm : "";
+            this.secondaryMemorySize = diskSize;
+            this.virtualMemorySize = (int) Math.pow(2, virtualAddressWidth);
+            this.pageTableSize = (int) (virtualMemorySize / pageSize);
+
+            // Initialize memory manager with the calculated parameters
+            setMemoryManager(new MemoryManager(virtualAddressWidth, tlbSize, pageSize, physicalMemorySize, diskSize, algorithm, tlbReplacementAlgorithm));
+        }
+    }
+
+    /**
+     * Goes back to a default memory manager and clears the configuration.
+     */
+    public void reset() {
+        setMemoryManager(new MemoryManager());
+        virtualAddressWidth = 0;
+        virtualMemorySize = 0;
+        pageTableSize = 0;
+        tlbSize = 0;
+        physicalMemorySize = 0;
+        secondaryMemorySize = 0;
+        pageSize = 0;
+        tlbReplacementAlgorithm = "";
+    }
+
+    /**
+     * Replaces the memory manager and moves the metrics and the event stream over to the new one.
+     * @param memoryManager the new memory manager
+     */
+    private void setMemoryManager(MemoryManager memoryManager) {
+        if (metrics != null) {
+            metrics.unbind(this.memoryManager);
+            metrics.bind(memoryManager);
+        }
+        this.memoryManager = memoryManager;
+        events.attach(memoryManager);
+        memoryManager.setChangeLog(changeLog);
+        changeLog.record(ChangeLog.Kind.ALL, 0); // clients have to fetch the new state whole
+    }
+
+    /**
+     * Stops reporting to the metrics, disconnects the event stream and retires the change log.
+     * Called when the registry drops the session.
+     */
+    public void close() {
+        if (metrics != null) {
+            metrics.unbind(memoryManager);
+        }
+        events.close();
+        changeLog.retire(); // a session created with the same id starts above its versions
+    }
+
+    /**
+     * Waits until no other request works on this simulation and marks it as used.
+     */
+    public void lock() {
+        lock.lock();
+        lastAccess = System.nanoTime();
+    }
+
+    /**
+     * Lets the next request work on this simulation.
+     */
+    public void unlock() {
+        lastAccess = System.nanoTime();
+        lock.unlock();
+    }
+
+    /**
+     * Marks the simulation as used without locking it.
+     */
+    public void touch() {
+        lastAccess = System.nanoTime();
+    }
+
+    public String getId() { return id; } // gets the key of the session in the registry
+    public long getLastAccess() { return lastAccess; } // gets the System.nanoTime() of the last request
+    public boolean isLocked() { return lock.isLocked(); } // checks whether a request is working on the simulation
+    public MemoryManager getMemoryManager() { return memoryManager; } // gets the memory manager of the simulation
+    public ChangeLog getChangeLog() { return changeLog; } // gets the log of state changes of the simulation
+    public SimulationEventStream getEvents() { return events; } // gets the stream of events pushed to the browsers
+    public String getReplacementAlgorithm() { return replacementAlgorithm; } // gets the page replacement algorithm
+    public String getTlbReplacementAlgorithm() { return tlbReplacementAlgorithm; } // gets the TLB policy (empty = match the page algorithm)
+    public int getVirtualAddressWidth() { return virtualAddressWidth; } // gets the width of a virtual address
+    public int getPageSize() { return pageSize; } // gets the size of a page
+    public int getTlbSize() { return tlbSize; } // gets the number of TLB entries
+    public int getPhysicalMemorySize() { return physicalMemorySize; } // gets the size of the main memory
+    public int getSecondaryMemorySize() { return secondaryMemorySize; } // gets the size of the disk
+    public int getVirtualMemorySize() { return virtualMemorySize; } // gets the size of the virtual address space
+    public int getPageTableSize() { return pageTableSize; } // gets the number of page table entries
+    public void setFutureAccesses(List<Integer> futureAccesses) { this.futureAccesses = futureAccesses; } // sets the future accesses for Optimal
+}
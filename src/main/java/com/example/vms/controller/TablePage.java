@@ -0,0 +1,87 @@
+package com.example.vms.controller;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * One page of rows of a memory table (page table, main memory or secondary storage), returned by the
+ * paginated endpoints of the MemoryController. Rows are keyed by VPN or frame number, in ascending order;
+ * keys without a row (a free frame, a VPN with nothing on disk) are counted in the total but left out.
+ * @param <T> The row type.
+ */
+public class TablePage<T> {
+    private final int page; // index of this page, starting at 0
+    private final int size; // keys per page
+    private final long total; // keys matching the query, over all pages
+    private final Map<Integer, T> rows; // rows of this page by VPN or frame number
+
+    /**
+     * Creates a page of rows.
+     * @param page The index of the page.
+     * @param size The number of keys per page.
+     * @param total The number of keys matching the query.
+     * @param rows The rows of the page.
+     */
+    public TablePage(int page, int size, long total, Map<Integer, T> rows) {
+        this.page = page;
+        this.size = size;
+        this.total = total;
+        this.rows = rows;
+    }
+
+    /**
+     * Builds one page of a range of keys (VPNs or frame numbers), looking up only the keys of the page.
+     * @param from The first key of the range.
+     * @param end The key after the last one of the range; an empty range if it is not above from.
+     * @param page The index of the page; a page past the end has no rows.
+     * @param size The number of keys per page, clamped to 1..maxSize.
+     * @param maxSize The number of keys per page at most.
+     * @param lookup Gets the row of a key, or null if the key has none.
+     * @return The rows of the keys of the page.
+     * @param <T> The row type.
+     */
+    public static <T> TablePage<T> ofKeyRange(int from, int end, int page, int size, int maxSize, IntFunction<T> lookup) {
+        int start = Math.max(from, 0);
+        int pageSize = Math.min(Math.max(size, 1), maxSize);
+        int pageIndex = Math.max(page, 0);
+        Map<Integer, T> rows = new LinkedHashMap<>();
+        long last = Math.min(end, start + (long) (pageIndex + 1) * pageSize);
+        for (long key = start + (long) pageIndex * pageSize; key < last; key++) {
+            T row = lookup.apply((int) key);
+            if (row != null)
+                rows.put((int) key, row);
+        }
+        return new TablePage<>(pageIndex, pageSize, Math.max(0, end - start), rows);
+    }
+
+    /**
+     * Builds one page of a list of keys, looking up only the keys of the page.
+     * @param keys The keys matching the query, in ascending order.
+     * @param page The index of the page; a page past the end has no rows.
+     * @param size The number of keys per page, clamped to 1..maxSize.
+     * @param maxSize The number of keys per page at most.
+     * @param lookup Gets the row of a key, or null if the key has none.
+     * @return The rows of the keys of the page.
+     * @param <T> The row type.
+     */
+    public static <T> TablePage<T> ofKeys(List<Integer> keys, int page, int size, int maxSize, IntFunction<T> lookup) {
+        int pageSize = Math.min(Math.max(size, 1), maxSize);
+        int pageIndex = Math.max(page, 0);
+        Map<Integer, T> rows = new LinkedHashMap<>();
+        for (long i = (long) pageIndex * pageSize; i < Math.min(keys.size(), (long) (pageIndex + 1) * pageSize); i++) {
+            int key = keys.get((int) i);
+            T row = lookup.apply(key);
+            if (row != null)
+                rows.put(key, row);
+        }
+        return new TablePage<>(pageIndex, pageSize, keys.size(), rows);
+    }
+
+    public int getPage() { return page; } // gets the index of this page
+    public int getSize() { return size; } // gets the number of keys per page
+    public long getTotal() { return total; } // gets the number of keys matching the query
+    public long getPages() { return (total + size - 1) / size; } // gets the number of pages
+    public Map<Integer, T> getRows() { return rows; } // gets the rows of this page
+}
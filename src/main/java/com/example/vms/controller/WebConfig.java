@@ -0,0 +1,28 @@
+package com.example.vms.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the request interceptors of the web application.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    @Autowired
+    private LogBufferInterceptor logBufferInterceptor;
+    @Autowired
+    private SimulationInterceptor simulationInterceptor;
+
+    /**
+     * Adds the interceptors that route log messages to the session of each request
+     * and lock the session's simulation while the request works on it.
+     * @param registry The interceptor registry.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(logBufferInterceptor);
+        registry.addInterceptor(simulationInterceptor);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.vms.model;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records which parts of a simulation's state each operation changed: page table entries, frames, disk slots
+ * and the TLB. Every recorded change increases the version by one, so a client that knows the version it last
+ * saw can ask for what changed since then instead of fetching the whole state again.
+ * The changes are kept in a ring buffer of fixed capacity; a client that fell further behind than that
+ * (or asks across a change of the whole state, such as a new configuration) has to fetch everything.
+ * Versions are unique across logs: a new log starts above every version handed out by the logs retired before it,
+ * so a client still holding a version of a dropped simulation never mistakes a new simulation's state for it.
+ * A log only publishes its versions when it is retired, so recording a change touches nothing shared between logs.
+ */
+public class ChangeLog {
+
+    /**
+     * The part of the state a change concerns.
+     */
+    public enum Kind {
+        PAGE, // a page table entry, keyed by VPN
+        FRAME, // a frame of main memory, keyed by frame number
+        DISK, // a page of secondary storage, keyed by VPN
+        TLB, // the TLB (it is small, so it is sent whole)
+        ALL // every part of the state, for example after a reset
+    }
+
+    public static final int DEFAULT_CAPACITY = 4096; // changes kept
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final AtomicLong HIGHEST = new AtomicLong(System.currentTimeMillis() * 1000); // highest version of the retired logs (or start of a log); seeded from the clock so versions also differ after a restart
+    private final long[] changes; // ring buffer; change n is in slot (n - 1) % capacity, kind in the high and key in the low 32 bits
+    private final long start; // version of the empty log
+    private long version; // version of the last change recorded (start if there is none)
+    private boolean retired; // whether the simulation of the log was dropped
+
+    /**
+     * Creates a log with the default capacity.
+     */
+    public ChangeLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty log.
+     * @param capacity The number of changes kept.
+     */
+    public ChangeLog(int capacity) {
+        this.changes = new long[Math.max(capacity, 1)];
+        this.start = HIGHEST.incrementAndGet();
+        this.version = start;
+    }
+
+    /**
+     * Records a change. A change identical to the previous one is not recorded again.
+     * @param kind The part of the state that changed.
+     * @param key The VPN or frame number concerned (ignored for TLB and ALL).
+     */
+    public synchronized void record(Kind kind, int key) {
+        long change = ((long) kind.ordinal() << 32) | (key & 0xFFFFFFFFL);
+        if (version > start && changes[(int) ((version - 1) % changes.length)] == change) {
+            return; // e.g. several loads from the same page in a row
+        }
+        changes[(int) (version % changes.length)] = change;
+        version++;
+        if (retired) {
+            HIGHEST.accumulateAndGet(version, Math::max); // a request still running on a dropped simulation
+        }
+    }
+
+    /**
+     * Publishes the versions of the log, so the logs created afterwards start above them.
+     * Called when the simulation of the log is dropped.
+     */
+    public synchronized void retire() {
+        retired = true;
+        HIGHEST.accumulateAndGet(version, Math::max);
+    }
+
+    /**
+     * Gets what changed after a version.
+     * @param since The version the caller last saw.
+     * @return The changes, or null if the caller has to fetch the whole state (the changes were overwritten,
+     *         the whole state changed, or the version is unknown, for example one of another log).
+     */
+    public synchronized Delta since(long since) {
+        if (since < start || since > version || since < version - changes.length) {
+            return null;
+        }
+        Delta delta = new Delta();
+        for (long n = since + 1; n <= version; n++) {
+            long change = changes[(int) ((n - 1) % changes.length)];
+            int key = (int) change;
+            switch (KINDS[(int) (change >>> 32)]) {
+                case PAGE:
+                    delta.pages.add(key);
+                    break;
+                case FRAME:
+                    delta.frames.add(key);
+                    break;
+                case DISK:
+                    delta.diskPages.add(key);
+                    break;
+                case TLB:
+                    delta.tlb = true;
+                    break;
+                case ALL:
+                    return null;
+            }
+        }
+        return delta;
+    }
+
+    public synchronized long getVersion() { return version; } // gets the version of the last change recorded
+    public int getCapacity() { return changes.length; } // gets the number of changes kept
+
+    /**
+     * The parts of the state that changed after a version, each listed once.
+     */
+    public static class Delta {
+        private final Set<Integer> pages = new LinkedHashSet<>(); // VPNs whose page table entry changed
+        private final Set<Integer> frames = new LinkedHashSet<>(); // frames whose page changed
+        private final Set<Integer> diskPages = new LinkedHashSet<>(); // VPNs whose disk page changed
+        private boolean tlb; // whether the TLB changed
+
+        public Set<Integer> getPages() { return pages; } // gets the VPNs whose page table entry changed
+        public Set<Integer> getFrames() { return frames; } // gets the frames whose page changed
+        public Set<Integer> getDiskPages() { return diskPages; } // gets the VPNs whose disk page changed
+        public boolean isTlb() { return tlb; } // checks whether the TLB changed
+    }
+}
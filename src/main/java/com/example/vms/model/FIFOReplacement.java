@@ -1,17 +1,23 @@
 package com.example.vms.model;
 
 import com.example.vms.utils.LogResults;
+import com.example.vms.utils.LogResults.Category;
+import com.example.vms.utils.LogResults.Level;
 
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.Set;
+import java.util.Arrays;
+import java.util.BitSet;
 
 /**
  * FIFOReplacement is an implementation of the ReplacementAlgorithm interface using the
  * First-In-First-Out (FIFO) page replacement policy.
+ * The queue is a primitive int ring buffer and membership is tracked in a bit set, so every
+ * operation takes constant time regardless of the number of frames and no VPN is boxed.
  */
 public class FIFOReplacement implements ReplacementAlgorithm {
-    private Queue<Integer> pageQueue; // stores VPNs in the order they were added
+    private int[] ring; // stores VPNs in the order they were added
+    private int head; // index of the oldest VPN in the ring
+    private int count; // number of VPNs in the ring
+    private final BitSet queued; // VPNs currently in the queue
     private int maxSize; // maximum number of pages allowed in the FIFO queue
 
     /**
@@ -19,9 +25,12 @@ public class FIFOReplacement implements ReplacementAlgorithm {
      * @param maxSize The maximum number of pages that can be held in the FIFO queue.
      */
     public FIFOReplacement(int maxSize) {
-        this.pageQueue = new LinkedList<>();
+        this.ring = new int[Math.max(maxSize, 1)];
+        this.queued = new BitSet();
+        this.head = 0;
+        this.count = 0;
         this.maxSize = maxSize;
-        LogResults.log("FIFO replacement algorithm initialized with max size: " + maxSize);
+        LogResults.log(Level.INFO, Category.EVICTION, () -> "FIFO replacement algorithm initialized with max size: " + maxSize);
     }
 
     /**
@@ -30,12 +39,17 @@ public class FIFOReplacement implements ReplacementAlgorithm {
      */
     @Override
     public int evictPage() {
-        if (pageQueue.isEmpty()) {
-            LogResults.log("No page to evict");
+        if (count == 0) {
+            LogResults.log(Level.INFO, Category.EVICTION, "No page to evict");
             return -1; // Return -1 to indicate no page is available for eviction
         }
-        int evictedVpn = pageQueue.poll(); // remove and return the first inserted page
-        LogResults.log("Evicted VPN " + evictedVpn + " from FIFO queue");
+        int evictedVpn = ring[head]; // remove and return the first inserted page
+        if (++head == ring.length) {
+            head = 0; // wrap around
+        }
+        count--;
+        queued.clear(evictedVpn);
+        LogResults.log(Level.INFO, Category.EVICTION, () -> "Evicted VPN " + evictedVpn + " from FIFO queue");
         return evictedVpn;
     }
 
@@ -46,13 +60,19 @@ public class FIFOReplacement implements ReplacementAlgorithm {
     @Override
     public void addPage(int vpn) {
         // If the page is already in the queue, do nothing
-        if (!pageQueue.contains(vpn)) {
+        if (!queued.get(vpn)) {
             // If the queue is full, evict the oldest page
-            if (pageQueue.size() == maxSize) {
+            if (count == maxSize) {
                 evictPage();
             }
-            pageQueue.offer(vpn); // add the new page to the end of the queue
-            LogResults.log("Added VPN " + vpn + " to FIFO queue");
+            if (count == ring.length) {
+                grow(); // only happens when more pages are tracked than the configured size
+            }
+            int tail = head + count;
+            ring[tail < ring.length ? tail : tail - ring.length] = vpn; // add the new page to the end of the queue
+            count++;
+            queued.set(vpn);
+            LogResults.log(Level.DEBUG, Category.EVICTION, () -> "Added VPN " + vpn + " to FIFO queue");
         }
     }
 
@@ -64,19 +84,42 @@ public class FIFOReplacement implements ReplacementAlgorithm {
     public void updatePageAccess(int vpn) {
         // FIFO doesn't require tracking page access, so this method does nothing.
     }
-//    /**
-//     * Returns the oldest page (FIFO order) that is currently in the TLB.
-//     * @param tlbPages A set of VPNs representing the pages currently in the TLB.
-//     * @return The VPN of the oldest page in the TLB, or -1 if no valid page is found.
-//     */
-//    public int getTLBFIFOPage(Set<Integer> tlbPages) {
-//        for (int vpn : pageQueue) {
-//            if (tlbPages.contains(vpn)) {
-//                // LogResults.log("Selected VPN " + vpn + " for eviction from FIFO queue among TLB pages.");
-//                return vpn; // Return the first VPN in the FIFO order that is in the TLB
-//            }
-//        }
-//        LogResults.log("No valid TLB page found for FIFO eviction.");
-//        return -1;
-//    }
+
+    /**
+     * Doubles the capacity of the ring, moving the queue to the start of the new array.
+     */
+    private void grow() {
+        int[] larger = new int[ring.length * 2];
+        for (int i = 0; i < count; i++) {
+            larger[i] = ring[(head + i) % ring.length];
+        }
+        ring = larger;
+        head = 0;
+    }
+
+    /**
+     * Checks if a page is currently in the FIFO queue.
+     * @param vpn The VPN of the page.
+     * @return true if the page is queued, false otherwise.
+     */
+    public boolean contains(int vpn) {
+        return vpn >= 0 && queued.get(vpn);
+    }
+
+    /**
+     * Returns the pages in the queue from the oldest to the newest.
+     * @return An array with the queued VPNs.
+     */
+    public int[] getQueue() {
+        int[] queue = new int[count];
+        for (int i = 0; i < count; i++) {
+            queue[i] = ring[(head + i) % ring.length];
+        }
+        return queue;
+    }
+
+    @Override
+    public String toString() {
+        return "FIFO queue: " + Arrays.toString(getQueue());
+    }
 }
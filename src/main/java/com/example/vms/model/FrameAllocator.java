@@ -0,0 +1,152 @@
+package com.example.vms.model;
+
+/**
+ * Keeps track of the free frames of the main memory and decides which free frame a new page goes to.
+ * Three orderings are supported:
+ * LowestFirst: the lowest free frame is used (a bitmap scanned with Long.numberOfTrailingZeros),
+ * Stack: the most recently freed frame is used (a stack of free frame numbers),
+ * Colouring: a free frame with the same colour as the page (vpn % colours == frame % colours) is preferred,
+ * so that pages which are adjacent in virtual memory spread across the cache sets (one free stack per colour).
+ * Allocating and freeing a frame take constant (amortized) time.
+ */
+public class FrameAllocator {
+    private final int nrFrames; // total number of frames
+    private final String ordering; // LowestFirst, Stack or Colouring
+    private final long[] freeBits; // bit i is set if frame i is free
+    private int freeCount; // number of free frames
+    private int searchWord; // lowest bitmap word that may contain a free frame (LowestFirst)
+    private final int colours; // number of page colours (1 for Stack)
+    private final int[][] colourStacks; // free frames of each colour (Stack and Colouring)
+    private final int[] colourTop; // number of free frames on each colour stack
+    private final int[] stackPosition; // position of each free frame on its colour stack
+
+    /**
+     * Creates an allocator that hands out the lowest free frame first, with every frame free.
+     * @param nrFrames The total number of frames.
+     */
+    public FrameAllocator(int nrFrames) {
+        this(nrFrames, "LowestFirst", 1);
+    }
+
+    /**
+     * Creates an allocator with every frame free.
+     * @param nrFrames The total number of frames.
+     * @param ordering The frame ordering (LowestFirst, Stack or Colouring); LowestFirst is used for unknown values.
+     * @param colours The number of page colours, only used by the Colouring ordering.
+     */
+    public FrameAllocator(int nrFrames, String ordering, int colours) {
+        this.nrFrames = Math.max(nrFrames, 0);
+        if ("Stack".equals(ordering)) {
+            colours = 1;
+        } else if (!"Colouring".equals(ordering)) {
+            ordering = "LowestFirst";
+        }
+        this.ordering = ordering;
+        this.colours = Math.max(colours, 1);
+        this.freeBits = new long[(this.nrFrames + 63) / 64];
+        for (int frame = 0; frame < this.nrFrames; frame++) {
+            freeBits[frame >>> 6] |= 1L << frame;
+        }
+        this.freeCount = this.nrFrames;
+        this.searchWord = 0;
+        if (usesStacks()) {
+            this.colourStacks = new int[this.colours][];
+            this.colourTop = new int[this.colours];
+            this.stackPosition = new int[this.nrFrames];
+            for (int colour = 0; colour < this.colours; colour++) {
+                colourStacks[colour] = new int[(this.nrFrames - colour + this.colours - 1) / this.colours];
+            }
+            for (int frame = this.nrFrames - 1; frame >= 0; frame--) { // lowest frame ends up on top
+                push(frame);
+            }
+        } else {
+            this.colourStacks = null;
+            this.colourTop = null;
+            this.stackPosition = null;
+        }
+    }
+
+    /**
+     * Returns the frame that the next page should be loaded into, without reserving it.
+     * @param vpn The virtual page number of the page to be loaded (used by the Colouring ordering).
+     * @return A free frame, or -1 if every frame is in use.
+     */
+    public int peek(int vpn) {
+        if (freeCount == 0) {
+            return -1;
+        }
+        if (!usesStacks()) {
+            while (freeBits[searchWord] == 0) {
+                searchWord++; // words below searchWord have no free frame
+            }
+            return (searchWord << 6) + Long.numberOfTrailingZeros(freeBits[searchWord]);
+        }
+        int preferred = Math.floorMod(vpn, colours);
+        for (int i = 0; i < colours; i++) {
+            int colour = preferred + i < colours ? preferred + i : preferred + i - colours;
+            if (colourTop[colour] > 0) {
+                return colourStacks[colour][colourTop[colour] - 1];
+            }
+        }
+        return -1; // not reached while freeCount > 0
+    }
+
+    /**
+     * Marks a frame as in use.
+     * @param frame The frame number.
+     */
+    public void take(int frame) {
+        if (!isFree(frame)) {
+            return;
+        }
+        freeBits[frame >>> 6] &= ~(1L << frame);
+        freeCount--;
+        if (usesStacks()) {
+            int colour = frame % colours;
+            int position = stackPosition[frame];
+            int last = colourStacks[colour][--colourTop[colour]];
+            colourStacks[colour][position] = last; // move the top frame into the hole
+            stackPosition[last] = position;
+        }
+    }
+
+    /**
+     * Marks a frame as free again.
+     * @param frame The frame number.
+     */
+    public void release(int frame) {
+        if (frame < 0 || frame >= nrFrames || isFree(frame)) {
+            return;
+        }
+        freeBits[frame >>> 6] |= 1L << frame;
+        freeCount++;
+        searchWord = Math.min(searchWord, frame >>> 6);
+        if (usesStacks()) {
+            push(frame);
+        }
+    }
+
+    /**
+     * Checks if a frame is free.
+     * @param frame The frame number.
+     * @return true if the frame exists and is free, false otherwise.
+     */
+    public boolean isFree(int frame) {
+        return frame >= 0 && frame < nrFrames && (freeBits[frame >>> 6] & (1L << frame)) != 0;
+    }
+
+    /**
+     * Pushes a free frame on the stack of its colour.
+     * @param frame The frame number.
+     */
+    private void push(int frame) {
+        int colour = frame % colours;
+        stackPosition[frame] = colourTop[colour];
+        colourStacks[colour][colourTop[colour]++] = frame;
+    }
+
+    private boolean usesStacks() { return !"LowestFirst".equals(ordering); } // Stack and Colouring keep free stacks
+    public int getFreeCount() { return freeCount; } // gets the number of free frames
+    public int getNrFrames() { return nrFrames; } // gets the total number of frames
+    public String getOrdering() { return ordering; } // gets the frame ordering in use
+}
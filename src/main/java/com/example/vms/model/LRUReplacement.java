@@ -1,6 +1,8 @@
 package com.example.vms.model;
 
 import com.example.vms.utils.LogResults;
+import com.example.vms.utils.LogResults.Category;
+import com.example.vms.utils.LogResults.Level;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -25,7 +27,7 @@ public class LRUReplacement implements ReplacementAlgorithm {
         this.pageAccessTime = new LinkedHashMap<>();
         this.pageTable = pageTable;
         this.accessCounter = 0;
-        LogResults.log("LRU replacement algorithm initialized");
+        LogResults.log(Level.INFO, Category.EVICTION, "LRU replacement algorithm initialized");
     }
 
     /**
@@ -35,13 +37,13 @@ public class LRUReplacement implements ReplacementAlgorithm {
     @Override
     public int evictPage() {
         if (pageAccessTime.isEmpty()) {
-            LogResults.log("No pages to evict.");
+            LogResults.log(Level.INFO, Category.EVICTION, "No pages to evict.");
             return -1; // Indicating no pages to evict
         }
         int lruPage = getLRUPage();
         if (lruPage != -1) {
             pageAccessTime.remove(lruPage);
-            LogResults.log("Evicted page with VPN " + lruPage + " as it was the least recently used.");
+            LogResults.log(Level.INFO, Category.EVICTION, () -> "Evicted page with VPN " + lruPage + " as it was the least recently used.");
         }
         return lruPage;
     }
@@ -69,7 +71,7 @@ public class LRUReplacement implements ReplacementAlgorithm {
         if (pageTable != null) {
             pageTable.updateAccessTime(vpn, currentAccessTime);
         }
-        LogResults.log("Updated access for VPN " + vpn + " with access time " + accessCounter);
+        LogResults.log(Level.DEBUG, Category.EVICTION, () -> "Updated access for VPN " + vpn + " with access time " + accessCounter);
     }
 
     /**
@@ -78,7 +80,7 @@ public class LRUReplacement implements ReplacementAlgorithm {
      */
     public int getLRUPage() {
         if (pageAccessTime.isEmpty()) {
-            LogResults.log("No pages to retrieve as LRU.");
+            LogResults.log(Level.INFO, Category.EVICTION, "No pages to retrieve as LRU.");
             return -1;
         }
         int lruPage = -1;
@@ -90,7 +92,9 @@ public class LRUReplacement implements ReplacementAlgorithm {
                 lruPage = entry.getKey();
             }
         }
-        LogResults.log("LRU page retrieved: VPN " + lruPage + " with access time " + oldestAccess);
+        if (LogResults.isEnabled(Level.DEBUG, Category.EVICTION)) {
+            LogResults.log(Level.DEBUG, Category.EVICTION, "LRU page retrieved: VPN " + lruPage + " with access time " + oldestAccess);
+        }
         return lruPage;
     }
     /**
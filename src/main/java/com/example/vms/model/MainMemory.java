@@ -1,8 +1,12 @@
 package com.example.vms.model;
 
 import com.example.vms.utils.LogResults;
+import com.example.vms.utils.LogResults.Category;
+import com.example.vms.utils.LogResults.Level;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -17,6 +21,7 @@ public class MainMemory {
     private int lastFrameNr;           // Tracks the next available frame
     private int pageSize;              // Size of each page
     private Map<Integer, Integer> frameToVirtualPageMap; // Maps frame numbers to virtual page numbers
+    private FrameAllocator frameAllocator; // Tracks the free frames and the order in which they are handed out
 
     /**
      * Constructs a new instance of MainMemory.
@@ -33,7 +38,8 @@ public class MainMemory {
 //            memory.put(i, new Page(pageSize)); // initialize memory
 //        }
         this.lastFrameNr = 0;
-        LogResults.log("Main memory initialized with " + nrFrames + " frames, each of size " + pageSize + " bytes.");
+        this.frameAllocator = new FrameAllocator(nrFrames);
+        LogResults.log(Level.INFO, Category.MEMORY, () -> "Main memory initialized with " + nrFrames + " frames, each of size " + pageSize + " bytes.");
     }
 
     /**
@@ -45,7 +51,7 @@ public class MainMemory {
         //LogResults.log("Attempting to load data from physical address: " + address);
         Page page = memory.get(address.getPageNumber());
         if (page == null) {
-            LogResults.log("Invalid physical address: page not found.");
+            LogResults.log(Level.ERROR, Category.MEMORY, "Invalid physical address: page not found.");
             return -1;
         }
         int data = page.load(address.getOffset());
@@ -61,7 +67,7 @@ public class MainMemory {
     public void store(Address address, int data) {
         //LogResults.log("Attempting to store data at physical address: " + address + " with data: " + data);
         if (address.getOffset() >= pageSize) {
-            LogResults.log("Error: Offset exceeds page size. Address not valid.");
+            LogResults.log(Level.ERROR, Category.MEMORY, "Error: Offset exceeds page size. Address not valid.");
             return;
         }
         Page page = memory.get(address.getPageNumber());
@@ -69,7 +75,7 @@ public class MainMemory {
             page.store(address.getOffset(), data);
             // LogResults.log("Data successfully stored at physical address: " + address.printAddress("Physical"));
         } else {
-            LogResults.log("Invalid physical address: page not found.");
+            LogResults.log(Level.ERROR, Category.MEMORY, "Invalid physical address: page not found.");
         }
     }
 
@@ -81,13 +87,14 @@ public class MainMemory {
     public void loadPageIntoMemory(Page page, int frameNr, int vpn) {
         //LogResults.log("Loading page into frame number: " + frameNr);
         if (frameNr < 0 || frameNr >= nrFrames) {
-            LogResults.log("Invalid frame number specified for loading page: " + frameNr);
+            LogResults.log(Level.ERROR, Category.MEMORY, () -> "Invalid frame number specified for loading page: " + frameNr);
             return;
         }
         memory.put(frameNr, page.getCopy());
+        frameAllocator.take(frameNr);
         frameToVirtualPageMap.put(frameNr, vpn);
         lastFrameNr = Math.max(lastFrameNr, frameNr + 1); // Update last used frame if necessary
-        LogResults.log("Page with VPN " + vpn + " successfully loaded into frame " + frameNr);
+        LogResults.log(Level.INFO, Category.MEMORY, () -> "Page with VPN " + vpn + " successfully loaded into frame " + frameNr);
     }
 
     /**
@@ -95,15 +102,37 @@ public class MainMemory {
      * @return The frame number of the next available frame, or -1 if no frames are available.
      */
     public int getNextAvailableFrame() {
-        //LogResults.log("Searching for the next available frame in memory.");
-        for (int i = 0; i < nrFrames; i++) {
-            if (!memory.containsKey(i)) {
-                LogResults.log("Next available frame found: " + i);
-                return i;
-            }
+        return getNextAvailableFrame(0);
+    }
+
+    /**
+     * Retrieves the next available frame in memory for a given page, according to the frame allocator's ordering.
+     * The frame is only reserved once a page is loaded into it.
+     * @param vpn The virtual page number of the page that will be loaded.
+     * @return The frame number of the next available frame, or -1 if no frames are available.
+     */
+    public int getNextAvailableFrame(int vpn) {
+        int frame = frameAllocator.peek(vpn);
+        if (frame != -1) {
+            LogResults.log(Level.DEBUG, Category.MEMORY, () -> "Next available frame found: " + frame);
+        } else {
+            LogResults.log(Level.INFO, Category.MEMORY, "No available frames found.");
         }
-        LogResults.log("No available frames found.");
-        return -1; // Should not reach here if memory is not full
+        return frame;
+    }
+
+    /**
+     * Changes the order in which free frames are handed out. Frames that are already in use stay in use.
+     * @param ordering The frame ordering (LowestFirst, Stack or Colouring).
+     * @param colours The number of page colours, only used by the Colouring ordering.
+     */
+    public void setFrameAllocation(String ordering, int colours) {
+        FrameAllocator allocator = new FrameAllocator(nrFrames, ordering, colours);
+        for (int frameNr : memory.keySet()) {
+            allocator.take(frameNr);
+        }
+        this.frameAllocator = allocator;
+        LogResults.log(Level.INFO, Category.MEMORY, () -> "Main memory frame allocation set to " + allocator.getOrdering());
     }
 
     /**
@@ -112,24 +141,48 @@ public class MainMemory {
      */
     public void removePage(int frameNumber) {
         // LogResults.log("Removing page from frame number: " + frameNumber);
-        memory.remove(frameNumber);
-        LogResults.log("Page removed from frame number " + frameNumber);
+        if (memory.remove(frameNumber) != null) {
+            frameAllocator.release(frameNumber);
+        }
+        LogResults.log(Level.INFO, Category.MEMORY, () -> "Page removed from frame number " + frameNumber);
     }
 
+    /**
+     * Returns the VPNs of the pages held in memory, in no particular order.
+     * @return One VPN per resident frame.
+     */
+    public List<Integer> getResidentVPNs() {
+        List<Integer> vpns = new ArrayList<>(memory.size());
+        for (int frameNr : memory.keySet()) {
+            vpns.add(frameToVirtualPageMap.getOrDefault(frameNr, -1));
+        }
+        return vpns;
+    }
+
+    public int getNrFrames() { return nrFrames; } // gets the total number of frames
+
     /**
      * Checks if memory is full.
      * @return true if memory is full, false otherwise.
      */
     public boolean isFull() {
-        boolean full = memory.size() >= nrFrames;
+        boolean full = frameAllocator.getFreeCount() == 0;
         if (full) {
-            LogResults.log("Memory is full.");
+            LogResults.log(Level.DEBUG, Category.MEMORY, "Memory is full.");
         } else {
-            LogResults.log("Memory is not full. Current size: " + memory.size() + " / " + nrFrames);
+            LogResults.log(Level.DEBUG, Category.MEMORY, () -> "Memory is not full. Current size: " + memory.size() + " / " + nrFrames);
         }
         return full;
     }
 
+    /**
+     * Returns the number of frames that currently hold a page.
+     * @return The number of resident pages.
+     */
+    public int getResidentFrames() {
+        return nrFrames - frameAllocator.getFreeCount();
+    }
+
     /**
      * Retrieves the page at a specific frame number.
      * @param frameNr The frame number where the page is stored.
@@ -152,6 +205,9 @@ public class MainMemory {
      * Logs the current memory status, including each frame and its contents.
      */
     public void printContents() {
+        if (!LogResults.isEnabled(Level.INFO, Category.MEMORY)) {
+            return; // nobody reads the dump
+        }
         StringBuilder logBuilder = new StringBuilder();
         logBuilder.append("Main memory contents (size: ").append(memory.size()).append("):\n");
 
@@ -162,7 +218,7 @@ public class MainMemory {
             logBuilder.append(entry.getValue().printContents()).append("\n");
         }
         logBuilder.append("----------------------");
-        LogResults.log(logBuilder.toString());
+        LogResults.log(Level.INFO, Category.MEMORY, logBuilder.toString());
     }
 
 //    /**
@@ -1,6 +1,9 @@
 package com.example.vms.model;
 
+import com.example.vms.trace.TraceSink;
 import com.example.vms.utils.LogResults;
+import com.example.vms.utils.LogResults.Category;
+import com.example.vms.utils.LogResults.Level;
 
 import java.util.*;
 
@@ -9,15 +12,22 @@ import java.util.*;
  * page table, main memory, secondary storage, and the page replacement algorithm. It handles page
  * allocation, page faults, memory loads, stores, and evictions based on the replacement algorithm.
  */
-public class MemoryManager {
+public class MemoryManager implements TraceSink {
     private TLB tlb;
     private PageTable pageTable;
     private MainMemory mainMemory;
     private SecondaryStorage secondaryStorage;
     private ReplacementAlgorithm replacementAlgorithm;
     private int pageSize, virtualAddressWidth, virtualMemorySize;
-    private int operationCount; // Counter for memory operations
-    private static final int RESET_INTERVAL = 8; // Reset every 8 operations
+    private int operationCount; // Counter for memory operations since the last reference bit reset
+    private static final int RESET_INTERVAL = 8; // Reset every 8 operations by default
+    private int resetInterval = RESET_INTERVAL; // Operations between reference bit resets (0 = no operation budget)
+    private long resetIntervalNanos; // Time between reference bit resets (0 = no time budget)
+    private long lastResetTime = System.nanoTime(); // Time of the last reference bit reset
+    private final Results results = new Results(); // Statistics of this simulation
+    private SimulationListener listener; // Receives the simulation events (null if nobody listens)
+    private long operationIndex = -1; // Index of the operation being executed
+    private ChangeLog changeLog; // Records what each operation changed (null if nobody tracks changes)
 
     /**
      * Constructs the MemoryManager with the provided memory configurations.
@@ -29,8 +39,23 @@ public class MemoryManager {
      * @param replacementAlgorithm The page replacement algorithm to use.
      */
     public MemoryManager(int virtualAddressWidth, int tlbSize, int pageSize, int physicalMemorySize, int diskSize, ReplacementAlgorithm replacementAlgorithm) {
+        this(virtualAddressWidth, tlbSize, pageSize, physicalMemorySize, diskSize, replacementAlgorithm, null);
+    }
+
+    /**
+     * Constructs the MemoryManager with the provided memory configurations and a separate TLB replacement policy.
+     * @param virtualAddressWidth The width of the virtual address space.
+     * @param tlbSize The size of the TLB.
+     * @param pageSize The size of each page.
+     * @param physicalMemorySize The size of the physical memory.
+     * @param diskSize The size of the secondary storage.
+     * @param replacementAlgorithm The page replacement algorithm to use.
+     * @param tlbReplacementAlgorithm The TLB replacement policy (LRU, FIFO, Random, PLRU), or null to match the page replacement algorithm.
+     */
+    public MemoryManager(int virtualAddressWidth, int tlbSize, int pageSize, int physicalMemorySize, int diskSize,
+                         ReplacementAlgorithm replacementAlgorithm, String tlbReplacementAlgorithm) {
         if (pageSize <= 0 || virtualAddressWidth <= 0 || physicalMemorySize <= 0 || tlbSize < 0) {
-            LogResults.log("\nMemory configuration parameters must be positive.\n");
+            LogResults.log(Level.ERROR, Category.GENERAL, "\nMemory configuration parameters must be positive.\n");
             return;
         }
 
@@ -48,7 +73,9 @@ public class MemoryManager {
 //            ((OptimalReplacement) replacementAlgorithm).setFutureAccesses(futureAccesses);
 //        }
         this.replacementAlgorithm = replacementAlgorithm;
-        this.tlb = new TLB(tlbSize, replacementAlgorithm);
+        if (tlbReplacementAlgorithm == null || tlbReplacementAlgorithm.isEmpty())
+            tlbReplacementAlgorithm = TLBReplacementPolicy.defaultFor(replacementAlgorithm);
+        this.tlb = new TLB(tlbSize, TLBReplacementPolicy.forName(tlbReplacementAlgorithm, tlbSize));
         this.mainMemory = new MainMemory(physicalMemorySize / pageSize, pageSize);
         this.secondaryStorage = new SecondaryStorage(diskSize / pageSize, pageSize);
         this.operationCount = 0;
@@ -63,7 +90,7 @@ public class MemoryManager {
         this.mainMemory = new MainMemory(0, 0);
         this.secondaryStorage = new SecondaryStorage(0, 0);
         this.replacementAlgorithm = new FIFOReplacement(0);
-        this.tlb = new TLB(0, replacementAlgorithm);
+        this.tlb = new TLB(0, new TLBFIFOPolicy(0));
         //LogResults.log("MemoryManager initialized with default configuration.");
     }
 
@@ -72,33 +99,40 @@ public class MemoryManager {
      * to a physical frame in memory and stores it in secondary storage if needed.
      * @param vpn The virtual page number to be allocated.
      */
+    @Override
     public void allocatePage(int vpn) {
+        operationIndex++;
         if (vpn < 0 || vpn >= pageTable.getEntries().size()) { // validate VPN range
-            LogResults.log("Invalid VPN: " + vpn);
+            LogResults.log(Level.ERROR, Category.GENERAL, () -> "Invalid VPN: " + vpn);
             return;
         }
         if (pageTable.isValid(vpn)) { // check if the VPN is already allocated
-            LogResults.log("VPN " + vpn + " is already allocated.");
+            LogResults.log(Level.ERROR, Category.GENERAL, () -> "VPN " + vpn + " is already allocated.");
             return;
         }
-        int freeFrame = mainMemory.getNextAvailableFrame(); // check for a free frame in main memory
+        int freeFrame = mainMemory.getNextAvailableFrame(vpn); // check for a free frame in main memory
         if (freeFrame != -1) { // free frame found
-            LogResults.log("Allocating VPN " + vpn + " to free frame " + freeFrame);
+            LogResults.log(Level.INFO, Category.GENERAL, () -> "Allocating VPN " + vpn + " to free frame " + freeFrame);
             Page newPage = new Page(pageSize);
             mainMemory.loadPageIntoMemory(newPage, freeFrame, vpn); // load a new page into the free frame
             replacementAlgorithm.addPage(vpn);
             pageTable.addEntry(vpn, freeFrame);
+            changed(ChangeLog.Kind.PAGE, vpn);
+            changed(ChangeLog.Kind.FRAME, freeFrame);
+            report(SimulationEvent.PAGE_ALLOCATED, vpn, freeFrame, false);
             //pageTable.setDiskPage(vpn, false); // mark as no longer on disk
             //secondaryStorage.store(vpn, newPage); // backup to secondary storage
-            LogResults.log("Mapped VPN " + vpn + " to frame " + freeFrame + " in main memory.");
+            LogResults.log(Level.INFO, Category.GENERAL, () -> "Mapped VPN " + vpn + " to frame " + freeFrame + " in main memory.");
             //LogResults.log("Backup of VPN " + vpn + " stored in secondary storage.");
         } else {
-            LogResults.log("No free frames in main memory for VPN " + vpn + ". Storing directly to secondary storage.");
+            LogResults.log(Level.INFO, Category.GENERAL, () -> "No free frames in main memory for VPN " + vpn + ". Storing directly to secondary storage.");
             Page diskPage = new Page(pageSize);
             secondaryStorage.store(vpn, diskPage);
             // Update page table for disk-only mapping
             PageTableEntry diskEntry = new PageTableEntry(-1, false, false, false, true, -1, Integer.MAX_VALUE);
             pageTable.addEntryOnDisk(vpn, diskEntry);
+            changed(ChangeLog.Kind.PAGE, vpn);
+            changed(ChangeLog.Kind.DISK, vpn);
         }
     }
 
@@ -149,26 +183,28 @@ public class MemoryManager {
      * handling page faults if necessary.
      * @param virtualAddress The virtual address to be accessed.
      */
+    @Override
     public void load(int virtualAddress) {
+        operationIndex++;
         if (virtualAddress < 0 || virtualAddress >= virtualMemorySize) {
-            LogResults.log("Invalid virtual address " + virtualAddress);
+            LogResults.log(Level.ERROR, Category.GENERAL, () -> "Invalid virtual address " + virtualAddress);
             //throw new IllegalArgumentException("Invalid virtual address " + virtualAddress);
             return;
         }
         int vpn = virtualAddress / pageSize;
         int offset = virtualAddress % pageSize;
-        Address virtualAddr = new Address(vpn, offset);
-        LogResults.log("\nAccess request for virtual address: " + virtualAddress + " (" + virtualAddr.printAddress("Virtual") +  ")");
+        LogResults.log(Level.DEBUG, Category.GENERAL, () -> "\nAccess request for virtual address: " + virtualAddress + " (" + new Address(vpn, offset).printAddress("Virtual") + ")"); // the address is only built when it is logged
         int ppn = tlb.lookup(vpn); // TLB lookup
-        Results.tlbAccesses++;
         if (ppn != -1) {
-            LogResults.log("TLB hit! Physical page number: " + ppn);
-            Results.tlbHit++;
+            LogResults.log(Level.DEBUG, Category.TLB, () -> "TLB hit! Physical page number: " + ppn);
+            results.recordTlbHit();
+            report(SimulationEvent.TLB_HIT, vpn, ppn, false);
             loadFromMemory(new Address(ppn, offset));
             return;
         }
-        LogResults.log("TLB miss for virtual page nr: " + vpn);
-        Results.tlbMiss++;
+        LogResults.log(Level.DEBUG, Category.TLB, () -> "TLB miss for virtual page nr: " + vpn);
+        results.recordTlbMiss();
+        report(SimulationEvent.TLB_MISS, vpn, -1, false);
         handlePageTableLookup(vpn, offset);
     }
 
@@ -180,17 +216,18 @@ public class MemoryManager {
      */
     private void handlePageTableLookup(int vpn, int offset) {
         PageTableEntry entry = pageTable.getEntry(vpn);
-        Results.pageTableAccesses++;
         if (entry != null) {
-            LogResults.log("Page table hit! Physical page number: " + entry.getFrameNumber() + " for virtual page number: " + vpn + '\n');
-            Results.pageTableHit++;
+            LogResults.log(Level.DEBUG, Category.PAGETABLE, () -> "Page table hit! Physical page number: " + entry.getFrameNumber() + " for virtual page number: " + vpn + '\n');
+            results.recordPageTableHit();
+            report(SimulationEvent.PAGE_TABLE_HIT, vpn, entry.getFrameNumber(), false);
             tlb.addEntry(vpn, entry);
             //replacementAlgorithm.addPage(vpn);
             loadFromMemory(new Address(entry.getFrameNumber(), offset));
             return;
         }
-        LogResults.log("Page table miss for virtual page number: " + vpn);
-        Results.pageTableMiss++;
+        LogResults.log(Level.DEBUG, Category.PAGETABLE, () -> "Page table miss for virtual page number: " + vpn);
+        results.recordPageTableMiss();
+        report(SimulationEvent.PAGE_TABLE_MISS, vpn, -1, false);
         if(handlePageFault(vpn) == -1)
             return;
         else loadFromMemory(new Address(pageTable.getPhysicalPageNumber(vpn), offset));
@@ -202,25 +239,27 @@ public class MemoryManager {
      * @param virtualAddress The virtual address where data will be stored.
      * @param data The data to be stored.
      */
+    @Override
     public void store(int virtualAddress, int data) {
+        operationIndex++;
         if (virtualAddress < 0 || virtualAddress >= virtualMemorySize) {
-            LogResults.log("Virtual address out of bounds: " + virtualAddress);
+            LogResults.log(Level.ERROR, Category.GENERAL, () -> "Virtual address out of bounds: " + virtualAddress);
             return;
         }
         int vpn = virtualAddress / pageSize;
         int offset = virtualAddress % pageSize;
-        Address virtualAddr = new Address(vpn, offset);
-        LogResults.log("\nStore request for virtual address: " + virtualAddress + " (" + virtualAddr.printAddress("Virtual") + ")");
+        LogResults.log(Level.DEBUG, Category.GENERAL, () -> "\nStore request for virtual address: " + virtualAddress + " (" + new Address(vpn, offset).printAddress("Virtual") + ")");
         int ppn = tlb.lookup(vpn); // TLB lookup
-        Results.tlbAccesses++;
         if (ppn != -1) {
-            LogResults.log("TLB hit! Physical page number: " + ppn);
-            Results.tlbHit++;
+            LogResults.log(Level.DEBUG, Category.TLB, () -> "TLB hit! Physical page number: " + ppn);
+            results.recordTlbHit();
+            report(SimulationEvent.TLB_HIT, vpn, ppn, false);
             storeToMemory(new Address(ppn, offset), data);
             return;
         }
-        LogResults.log("TLB miss for virtual page number: " + vpn);
-        Results.tlbMiss++;
+        LogResults.log(Level.DEBUG, Category.TLB, () -> "TLB miss for virtual page number: " + vpn);
+        results.recordTlbMiss();
+        report(SimulationEvent.TLB_MISS, vpn, -1, false);
         handlePageTableLookupForStore(vpn, offset, data);
     }
 
@@ -232,18 +271,19 @@ public class MemoryManager {
      * @param data The data to be stored.
      */
     private void handlePageTableLookupForStore(int vpn, int offset, int data) {
-        Results.pageTableAccesses++;
         PageTableEntry entry = pageTable.getEntry(vpn);
         if (entry != null) {
-            LogResults.log("Page table hit! Physical page number: " + entry.getFrameNumber() + " for virtual page number: " + vpn);
-            Results.pageTableHit++;
+            LogResults.log(Level.DEBUG, Category.PAGETABLE, () -> "Page table hit! Physical page number: " + entry.getFrameNumber() + " for virtual page number: " + vpn);
+            results.recordPageTableHit();
+            report(SimulationEvent.PAGE_TABLE_HIT, vpn, entry.getFrameNumber(), false);
             tlb.addEntry(vpn, entry);
             //replacementAlgorithm.updatePageAccess(vpn); // Update LRU on page table hit
             storeToMemory(new Address(entry.getFrameNumber(), offset), data);
             return;
         }
-        LogResults.log("Page table miss for virtual page number: " + vpn);
-        Results.pageTableMiss++;
+        LogResults.log(Level.DEBUG, Category.PAGETABLE, () -> "Page table miss for virtual page number: " + vpn);
+        results.recordPageTableMiss();
+        report(SimulationEvent.PAGE_TABLE_MISS, vpn, -1, false);
         if (handlePageFault(vpn) == -1)
             return;
         else storeToMemory(new Address(pageTable.getPhysicalPageNumber(vpn), offset), data);
@@ -257,25 +297,27 @@ public class MemoryManager {
      */
     private int handlePageFault(int vpn) {
         // LogResults.log("Page fault for virtual page number: " + vpn);
+        long start = listener != null ? System.nanoTime() : 0L; // timed only when someone listens
 
         // Step 1: Load the page from secondary storage
         Page page = secondaryStorage.load(vpn);
         if (page == null) {
-            LogResults.log("Page fault: page not found in secondary storage.");
+            LogResults.log(Level.ERROR, Category.DISK, "Page fault: page not found in secondary storage.");
             return -1;
         }
-        Results.diskRead++;
+        results.recordDiskRead();
+        report(SimulationEvent.DISK_READ, vpn, -1, false);
 
         // Step 2: Determine the frame where the page should be loaded
         int frameToUse;
         if (mainMemory.isFull()) {
             frameToUse = handleEviction(vpn);
             if (frameToUse == -1) {
-                LogResults.log("Error during eviction: no frame could be freed.");
+                LogResults.log(Level.ERROR, Category.EVICTION, "Error during eviction: no frame could be freed.");
                 return -1;
             }
         } else {
-            frameToUse = mainMemory.getNextAvailableFrame();
+            frameToUse = mainMemory.getNextAvailableFrame(vpn);
         }
 
         // Step 3: Load page into the chosen frame
@@ -287,7 +329,10 @@ public class MemoryManager {
         PageTableEntry newEntry = pageTable.getEntry(vpn);
         tlb.addEntry(vpn, newEntry);
          replacementAlgorithm.addPage(vpn);
+        changed(ChangeLog.Kind.FRAME, frameToUse);
         // LogResults.log("Loaded VPN " + vpn + " into frame " + frameToUse);
+        report(SimulationEvent.PAGE_FAULT, vpn, frameToUse, false);
+        reportTime(SimulationEvent.PAGE_FAULT, start);
         return frameToUse;
     }
 
@@ -298,22 +343,26 @@ public class MemoryManager {
      * @return The frame number that was freed, or -1 if an error occurred.
      */
     private int handleEviction(int newVpn) {
+        long start = listener != null ? System.nanoTime() : 0L; // timed only when someone listens
         int victimVpn = replacementAlgorithm.evictPage();
         PageTableEntry victimEntry = pageTable.getEntry(victimVpn);
         if (victimEntry == null) {
-            LogResults.log("Victim page not found in page table");
+            LogResults.log(Level.ERROR, Category.EVICTION, "Victim page not found in page table");
             return -1;
         }
 
         int victimFrame = victimEntry.getFrameNumber();
-        LogResults.log("Evicting VPN " + victimVpn + " from frame " + victimFrame);
+        LogResults.log(Level.INFO, Category.EVICTION, () -> "Evicting VPN " + victimVpn + " from frame " + victimFrame);
 
-        if (victimEntry.isDirty()) { // Write back if dirty
-            LogResults.log("Evicted page is dirty. Writing back to disk.");
+        boolean dirty = victimEntry.isDirty();
+        if (dirty) { // Write back if dirty
+            LogResults.log(Level.INFO, Category.EVICTION, "Evicted page is dirty. Writing back to disk.");
             Page victimPage = mainMemory.getPage(victimFrame);
             secondaryStorage.store(victimVpn, victimPage);
             pageTable.setDiskPage(victimVpn, true);
-            Results.diskWrite++;
+            results.recordDiskWrite();
+            report(SimulationEvent.DISK_WRITE, victimVpn, victimFrame, true);
+            changed(ChangeLog.Kind.DISK, victimVpn);
         }
 
         mainMemory.removePage(victimFrame); // Clean up old entry
@@ -323,7 +372,11 @@ public class MemoryManager {
         pageTable.setPPN(victimVpn, -1);
         if(tlb.containsEntry(victimVpn) != false)
             tlb.removeEntry(victimVpn);
-        Results.pageEviction++;
+        results.recordPageEviction();
+        report(SimulationEvent.EVICTION, victimVpn, victimFrame, dirty);
+        changed(ChangeLog.Kind.PAGE, victimVpn);
+        changed(ChangeLog.Kind.FRAME, victimFrame);
+        reportTime(SimulationEvent.EVICTION, start);
         return victimFrame;
     }
 
@@ -338,9 +391,11 @@ public class MemoryManager {
             pageTable.getEntry(vpn).setRefBit(true);  // Mark the referenced bit, since the page has been accessed
             replacementAlgorithm.updatePageAccess(vpn);
         }
+        changed(ChangeLog.Kind.PAGE, vpn);
+        changed(ChangeLog.Kind.TLB, 0);
         incrementOperationCount(); // Increment operation count after a load
         int address = physicalAddress.getPageNumber() * pageSize + physicalAddress.getOffset();
-        LogResults.log("Loaded data: " + data + " from physical address: " + address +  " (" + physicalAddress.printAddress("Physical") + ")" + '\n');
+        LogResults.log(Level.DEBUG, Category.GENERAL, () -> "Loaded data: " + data + " from physical address: " + address +  " (" + physicalAddress.printAddress("Physical") + ")" + '\n');
     }
 
     /**
@@ -360,34 +415,121 @@ public class MemoryManager {
             tlb.getEntry(vpn).setRefBit(true);
             tlb.getEntry(vpn).setDirtyBit(true);
         }
+        changed(ChangeLog.Kind.PAGE, vpn);
+        changed(ChangeLog.Kind.FRAME, physicalAddress.getPageNumber());
+        changed(ChangeLog.Kind.TLB, 0);
         incrementOperationCount(); // Increment operation count after a store
         int address = physicalAddress.getPageNumber() * pageSize + physicalAddress.getOffset();
-        LogResults.log("Stored data: " + data + " to physical address: " + address + " (" + physicalAddress.printAddress("Physical") + ")" + '\n');
+        LogResults.log(Level.DEBUG, Category.GENERAL, () -> "Stored data: " + data + " to physical address: " + address + " (" + physicalAddress.printAddress("Physical") + ")" + '\n');
     }
 
     /**
      * Tracks the number of memory operations performed and resets
-     * NRU replacement algorithm referenced bits after reaching a predefined interval.
+     * NRU replacement algorithm referenced bits once the operation or time budget is used up.
      * This periodic reset ensures proper behavior for NRU replacement.
      */
     private void incrementOperationCount() {
         operationCount++;
-        if (operationCount >= RESET_INTERVAL) {
+        if (resetInterval > 0 && operationCount >= resetInterval) {
             resetNRUBits(); // Reset referenced bits periodically
-            operationCount = 0; // Reset the counter
+        } else if (resetIntervalNanos > 0 && System.nanoTime() - lastResetTime >= resetIntervalNanos) {
+            resetNRUBits();
         }
     }
 
+    /**
+     * Configures how often the referenced bits are reset. A reset happens as soon as either budget is used up.
+     * @param operations The number of memory operations between resets (0 to disable the operation budget).
+     * @param millis The time in milliseconds between resets (0 to disable the time budget).
+     */
+    public void setReferenceResetInterval(int operations, long millis) {
+        this.resetInterval = Math.max(operations, 0);
+        this.resetIntervalNanos = Math.max(millis, 0) * 1_000_000L;
+        this.operationCount = 0;
+        this.lastResetTime = System.nanoTime();
+    }
+
+    /**
+     * Configures the order in which free frames are handed out to new pages.
+     * @param ordering The frame ordering (LowestFirst, Stack or Colouring).
+     * @param colours The number of page colours, only used by the Colouring ordering.
+     */
+    public void setFrameAllocation(String ordering, int colours) {
+        if (mainMemory != null)
+            mainMemory.setFrameAllocation(ordering, colours);
+    }
+
     /**
      * Resets the referenced bits in the NRU replacement algorithm, if applicable.
      */
     public void resetNRUBits() {
+        operationCount = 0; // Reset the counters
+        if (resetIntervalNanos > 0)
+            lastResetTime = System.nanoTime();
         if (replacementAlgorithm instanceof NRUReplacement) {
             ((NRUReplacement) replacementAlgorithm).resetReferencedBits();
-            LogResults.log("Reset referenced bits for NRU algorithm.");
+            if (changeLog != null) {
+                for (int vpn : mainMemory.getResidentVPNs()) {
+                    changed(ChangeLog.Kind.PAGE, vpn); // only resident pages can have the referenced bit set
+                }
+            }
+            LogResults.log(Level.INFO, Category.EVICTION, "Reset referenced bits for NRU algorithm.");
         }
     }
 
+    /**
+     * Passes an event of the current operation to the listener, if there is one.
+     * @param event The kind of event.
+     * @param vpn The virtual page number concerned.
+     * @param frame The frame concerned, or -1.
+     * @param dirty Whether an evicted page was dirty.
+     */
+    private void report(SimulationEvent event, int vpn, int frame, boolean dirty) {
+        if (listener != null) {
+            listener.onEvent(event, operationIndex, vpn, frame, dirty);
+        }
+    }
+
+    /**
+     * Records a change of the simulation state in the change log, if there is one.
+     * @param kind The part of the state that changed.
+     * @param key The VPN or frame number concerned.
+     */
+    private void changed(ChangeLog.Kind kind, int key) {
+        if (changeLog != null) {
+            changeLog.record(kind, key);
+        }
+    }
+
+    /**
+     * Passes the time spent handling a page fault or an eviction to the listener, if there is one.
+     * @param event PAGE_FAULT or EVICTION.
+     * @param start The System.nanoTime() value taken when the handling started.
+     */
+    private void reportTime(SimulationEvent event, long start) {
+        if (listener != null) {
+            listener.onTiming(event, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Sets the listener that receives the events of this simulation (TLB and page table lookups,
+     * page faults, evictions, disk transfers and pages allocated into a free frame).
+     * @param listener The listener, or null to stop reporting events.
+     */
+    public void setListener(SimulationListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the change log that records which page table entries, frames, disk pages and TLB entries
+     * each operation changes. Batch runs leave it unset, so they do not pay for the tracking.
+     * @param changeLog The change log, or null to stop tracking changes.
+     */
+    public void setChangeLog(ChangeLog changeLog) {
+        this.changeLog = changeLog;
+    }
+
     /**
      * Prints the contents of the main memory, secondary storage, TLB, and page table.
      */
@@ -400,9 +542,13 @@ public class MemoryManager {
 
     public MainMemory getMainMemory(){ return mainMemory; } // gets the current instance of the main memory
     public TLB getTlb() { return tlb; } // gets the current instance of the TLB
+    public Results getResults() { return results; } // gets the statistics of this simulation
     public PageTable getPageTable() { return pageTable; } // gets the current instance of the  page table
     public SecondaryStorage getSecondaryStorage() { return secondaryStorage; } // gets the current instance of the disk
-    //public Object getReplacementAlgorithm() { return this.replacementAlgorithm;}
+    public SimulationListener getListener() { return listener; } // gets the listener of the simulation events
+    public ChangeLog getChangeLog() { return changeLog; } // gets the log of state changes (null if none)
+    public long getOperationCount() { return operationIndex + 1; } // gets the number of operations executed so far
+    public ReplacementAlgorithm getReplacementAlgorithm() { return replacementAlgorithm; } // gets the page replacement algorithm
 
     //    /**
 //     * Sets the future memory access references for the Optimal Replacement algorithm.
@@ -1,9 +1,10 @@
 package com.example.vms.model;
 
+import com.example.vms.utils.IndexedIntSet;
 import com.example.vms.utils.LogResults;
+import com.example.vms.utils.LogResults.Category;
+import com.example.vms.utils.LogResults.Level;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
 import java.util.Set;
 
@@ -12,11 +13,16 @@ import java.util.Set;
  * based on the R (referenced) and M (modified) bits of the page entries in the page table.
  * The page is categorized into one of four classes (0-3) depending on the status of these bits,
  * and the algorithm tries to evict a page from the lowest class.
+ * The four classes are kept as buckets that are updated whenever a page is accessed, so choosing
+ * a victim takes constant time and does not allocate. Reference bits are reset by advancing the
+ * page table's reference epoch; the referenced buckets are folded into the unreferenced ones lazily,
+ * the next time the algorithm is used.
  */
 public class NRUReplacement implements ReplacementAlgorithm {
     private final PageTable pageTable;  // The page table that holds all the page entries.
     private final Random random;        // Random object to select a random page if necessary.
-    private final List<Integer> activePages; // List of active pages to be managed by NRU.
+    private final IndexedIntSet[] classPages; // Active pages managed by NRU, bucketed by their class (0-3).
+    private long bucketEpoch; // Reference epoch the buckets were last synchronized with.
 
     /**
      * Constructs an NRUReplacement algorithm with a reference to the page table.
@@ -26,52 +32,42 @@ public class NRUReplacement implements ReplacementAlgorithm {
     public NRUReplacement(PageTable pageTable) {
         this.pageTable = pageTable;
         this.random = new Random();
-        this.activePages = new ArrayList<>();
-        LogResults.log("NRU Replacement algorithm initialized with page table.");
+        int expectedPages = pageTable != null ? pageTable.getSize() : 0;
+        this.bucketEpoch = pageTable != null ? pageTable.getReferenceEpoch() : 0;
+        this.classPages = new IndexedIntSet[4];
+        for (int classNum = 0; classNum < 4; classNum++) {
+            classPages[classNum] = new IndexedIntSet(expectedPages);
+        }
+        LogResults.log(Level.INFO, Category.EVICTION, "NRU Replacement algorithm initialized with page table.");
     }
 
     /**
      * Selects a page to evict based on the NRU algorithm.
      * Pages are classified into 4 categories (0-3) based on the R and M bits.
-     * The eviction is performed from the lowest class first.
-     * If no pages can be found in any class, a random page is selected.
+     * The eviction is performed from the lowest class first, choosing a random page within the class.
      *
      * @return The VPN (Virtual Page Number) of the evicted page or -1 if no page was evicted.
      */
     @Override
     public int evictPage() {
-        if (activePages.isEmpty()) {
-            LogResults.log("No pages to evict.");
-            return -1; // Return -1 to indicate no page to evict
-        }
-        // Try to find pages in each class (0-3) based on R and M bits
+        syncEpoch();
         for (int classNum = 0; classNum < 4; classNum++) {
-            List<Integer> classPages = new ArrayList<>();
-            for (int vpn : activePages) {
-                PageTableEntry entry = pageTable.getEntry(vpn);
-                if (entry != null) {
-                    int pageClass = getPageClass(entry);
-                    if (pageClass == classNum) {
-                        classPages.add(vpn);
-                    }
-                }
-            }
-            if (!classPages.isEmpty()) {
+            IndexedIntSet bucket = classPages[classNum];
+            if (!bucket.isEmpty()) {
                 // Randomly select a victim from the class
-                int victimIndex = random.nextInt(classPages.size());
-                int victimVpn = classPages.get(victimIndex);
-                activePages.remove(Integer.valueOf(victimVpn)); // Remove the evicted page from active list
-                LogResults.log("Evicted page with VPN " + victimVpn + " from class " + classNum);
+                int victimVpn = bucket.randomElement(random);
+                bucket.remove(victimVpn); // Remove the evicted page from the active pages
+                if (LogResults.isEnabled(Level.INFO, Category.EVICTION)) {
+                    LogResults.log(Level.INFO, Category.EVICTION, "Evicted page with VPN " + victimVpn + " from class " + classNum);
+                }
                 return victimVpn; // Return the VPN of the evicted page
             }
-            LogResults.log("No pages found in class " + classNum + ".");
+            if (LogResults.isEnabled(Level.DEBUG, Category.EVICTION)) {
+                LogResults.log(Level.DEBUG, Category.EVICTION, "No pages found in class " + classNum + ".");
+            }
         }
-        // If no pages found in any class, pick a random page
-        int randomIndex = random.nextInt(activePages.size());
-        int victimVpn = activePages.get(randomIndex);
-        activePages.remove(randomIndex); // Remove the evicted page from active list
-        LogResults.log("No page found in any class. Evicted random page with VPN " + victimVpn);
-        return victimVpn; // Return the VPN of the evicted page
+        LogResults.log(Level.INFO, Category.EVICTION, "No pages to evict.");
+        return -1; // Return -1 to indicate no page to evict
     }
 
     /**
@@ -90,23 +86,58 @@ public class NRUReplacement implements ReplacementAlgorithm {
     }
 
     /**
-     * Adds a new page to the active list of pages, and updates its access status.
-     * If the page is not already in the active list, it will be added.
+     * Returns the bucket that currently holds a page.
+     *
+     * @param vpn The Virtual Page Number (VPN) of the page.
+     * @return The class (0-3) of the page, or -1 if the page is not active.
+     */
+    private int getTrackedClass(int vpn) {
+        for (int classNum = 0; classNum < 4; classNum++) {
+            if (classPages[classNum].contains(vpn)) {
+                return classNum;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Moves an active page to the bucket that matches its current R and M bits.
+     *
+     * @param vpn The Virtual Page Number (VPN) of the page.
+     * @param entry The page table entry of the page.
+     */
+    private void reclassify(int vpn, PageTableEntry entry) {
+        int currentClass = getTrackedClass(vpn);
+        if (currentClass == -1) {
+            return; // not managed by NRU
+        }
+        int newClass = getPageClass(entry);
+        if (newClass != currentClass) {
+            classPages[currentClass].remove(vpn);
+            classPages[newClass].add(vpn);
+        }
+    }
+
+    /**
+     * Adds a new page to the active pages, and places it in the bucket matching its bits.
+     * If the page is already active, it will not be added again.
      *
      * @param vpn The Virtual Page Number (VPN) of the page to be added.
      */
     @Override
     public void addPage(int vpn) {
-        if (!activePages.contains(vpn)) {
-            activePages.add(vpn);
-            LogResults.log("Added VPN " + vpn + " to active pages.");
+        syncEpoch();
+        if (getTrackedClass(vpn) == -1) {
+            PageTableEntry entry = pageTable.getEntry(vpn);
+            classPages[entry != null ? getPageClass(entry) : 0].add(vpn);
+            LogResults.log(Level.DEBUG, Category.EVICTION, () -> "Added VPN " + vpn + " to active pages.");
         }
-        // updatePageAccess(vpn);
     }
 
     /**
      * Updates the page access status by setting the referenced bit to true.
-     * This is done when a page is accessed in the NRU algorithm.
+     * This is done when a page is accessed in the NRU algorithm. The page is then moved to the
+     * bucket matching its bits, which also picks up a modified bit set by a store.
      *
      * @param vpn The Virtual Page Number (VPN) of the page that was accessed.
      */
@@ -114,47 +145,68 @@ public class NRUReplacement implements ReplacementAlgorithm {
     public void updatePageAccess(int vpn) {
         PageTableEntry entry = pageTable.getEntry(vpn);
         if (entry != null) {
+            syncEpoch();
             entry.setRefBit(true);
-            // LogResults.log("Updated referenced bit for VPN " + vpn);
+            reclassify(vpn, entry);
         }
     }
 
     /**
      * Periodically reset referenced bits to maintain proper NRU behavior.
+     * This only starts a new reference epoch, so it takes constant time.
      */
     public void resetReferencedBits() {
-        for (int vpn : activePages) {
-            PageTableEntry entry = pageTable.getEntry(vpn);
-            if (entry != null) {
-                entry.setRefBit(false); // Reset the referenced bit
+        pageTable.advanceReferenceEpoch();
+        LogResults.log(Level.INFO, Category.EVICTION, "Reset referenced bits for all active pages.");
+    }
+
+    /**
+     * Folds the referenced classes (2 and 3) into the unreferenced ones (0 and 1) if the reference epoch
+     * has changed since the buckets were last used. Only pages referenced during the previous epoch are
+     * visited, so the cost is paid for by the accesses that put them there.
+     */
+    private void syncEpoch() {
+        long currentEpoch = pageTable.getReferenceEpoch();
+        if (currentEpoch == bucketEpoch) {
+            return;
+        }
+        for (int classNum = 2; classNum < 4; classNum++) {
+            IndexedIntSet bucket = classPages[classNum];
+            for (int i = 0; i < bucket.size(); i++) {
+                classPages[classNum - 2].add(bucket.get(i));
             }
+            bucket.clear();
         }
-        LogResults.log("Reset referenced bits for all active pages.");
+        bucketEpoch = currentEpoch;
     }
+
     /**
      * Finds the least desirable page to evict among a set of valid TLB pages.
+     * The pages are visited once, keeping a random page of the lowest class seen so far (reservoir sampling).
      * @param tlbPages A set of VPNs representing the pages currently in the TLB.
      * @return The VPN of the page to evict, or -1 if no valid page is found.
      */
     public int getTLBNRUPage(Set<Integer> tlbPages) {
-        for (int classNum = 0; classNum < 4; classNum++) {
-            List<Integer> classPages = new ArrayList<>();
-            for (int vpn : activePages) {
-                if (tlbPages.contains(vpn)) { // Only consider pages in the TLB
-                    PageTableEntry entry = pageTable.getEntry(vpn);
-                    if (entry != null && getPageClass(entry) == classNum) {
-                        classPages.add(vpn);
-                    }
-                }
+        syncEpoch();
+        int victimVpn = -1;
+        int victimClass = 4;
+        int candidates = 0; // number of pages seen in the victim class
+        for (int vpn : tlbPages) {
+            int classNum = getTrackedClass(vpn);
+            if (classNum == -1 || classNum > victimClass) {
+                continue; // only consider active pages
+            }
+            if (classNum < victimClass) {
+                victimClass = classNum;
+                candidates = 0;
             }
-            if (!classPages.isEmpty()) {
-                int victimIndex = random.nextInt(classPages.size());
-                int victimVpn = classPages.get(victimIndex);
-                LogResults.log("Selected VPN " + victimVpn + " for eviction from class " + classNum + " among TLB pages.");
-                return victimVpn;
+            if (random.nextInt(++candidates) == 0) {
+                victimVpn = vpn;
             }
         }
-        // LogResults.log("No suitable TLB page found for eviction.");
-        return -1;
+        if (victimVpn != -1 && LogResults.isEnabled(Level.INFO, Category.EVICTION)) {
+            LogResults.log(Level.INFO, Category.EVICTION, "Selected VPN " + victimVpn + " for eviction from class " + victimClass + " among TLB pages.");
+        }
+        return victimVpn;
     }
 }
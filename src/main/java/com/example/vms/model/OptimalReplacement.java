@@ -1,6 +1,8 @@
 package com.example.vms.model;
 
 import com.example.vms.utils.LogResults;
+import com.example.vms.utils.LogResults.Category;
+import com.example.vms.utils.LogResults.Level;
 
 import java.util.*;
 
@@ -32,7 +34,7 @@ public class OptimalReplacement implements ReplacementAlgorithm {
      */
     public void setFutureAccesses(List<Integer> futureAccesses) {
         this.futureAccesses = new ArrayList<>(futureAccesses);
-        LogResults.log("Future accesses updated.");
+        LogResults.log(Level.DEBUG, Category.EVICTION, "Future accesses updated.");
     }
 
     /**
@@ -44,7 +46,7 @@ public class OptimalReplacement implements ReplacementAlgorithm {
     @Override
     public int evictPage() {
         if (activePages.isEmpty()) {
-            LogResults.log("No pages to evict.");
+            LogResults.log(Level.INFO, Category.EVICTION, "No pages to evict.");
             return -1;  // Return -1 to indicate no page to evict
         }
 
@@ -63,12 +65,14 @@ public class OptimalReplacement implements ReplacementAlgorithm {
 
         if (victimVpn != -1) {
             activePages.remove(victimVpn); // Remove evicted page
-            LogResults.log("Evicted VPN " + victimVpn + ". Next use: " +
-                    (furthestUse == Integer.MAX_VALUE ? "Never" : "Step " + furthestUse));
+            if (LogResults.isEnabled(Level.INFO, Category.EVICTION)) {
+                LogResults.log(Level.INFO, Category.EVICTION, "Evicted VPN " + victimVpn + ". Next use: " +
+                        (furthestUse == Integer.MAX_VALUE ? "Never" : "Step " + furthestUse));
+            }
             return victimVpn;
         }
 
-        LogResults.log("Failed to select a page for eviction.");
+        LogResults.log(Level.ERROR, Category.EVICTION, "Failed to select a page for eviction.");
         return -1;
     }
 
@@ -97,7 +101,7 @@ public class OptimalReplacement implements ReplacementAlgorithm {
     @Override
     public void addPage(int vpn) {
         activePages.put(vpn, currentStep);
-        LogResults.log("Added VPN " + vpn + " to active pages at step " + currentStep);
+        LogResults.log(Level.DEBUG, Category.EVICTION, () -> "Added VPN " + vpn + " to active pages at step " + currentStep);
     }
 
     /**
@@ -108,10 +112,10 @@ public class OptimalReplacement implements ReplacementAlgorithm {
     @Override
     public void updatePageAccess(int vpn) {
         if (!activePages.containsKey(vpn)) {
-            LogResults.log("VPN " + vpn + " not found in active pages. Adding it.");
+            LogResults.log(Level.DEBUG, Category.EVICTION, () -> "VPN " + vpn + " not found in active pages. Adding it.");
         }
         activePages.put(vpn, ++currentStep);  // Update the access time for the page
-        LogResults.log("Updated access time for VPN " + vpn + " to step " + currentStep);
+        LogResults.log(Level.DEBUG, Category.EVICTION, () -> "Updated access time for VPN " + vpn + " to step " + currentStep);
     }
 
     /**
@@ -132,8 +136,8 @@ public class OptimalReplacement implements ReplacementAlgorithm {
             }
         }
 
-        if (victimVpn != -1) {
-            LogResults.log("Selected VPN " + victimVpn + " for TLB eviction based on Optimal Replacement (furthest use at step " + furthestUse + ").");
+        if (victimVpn != -1 && LogResults.isEnabled(Level.INFO, Category.EVICTION)) {
+            LogResults.log(Level.INFO, Category.EVICTION, "Selected VPN " + victimVpn + " for TLB eviction based on Optimal Replacement (furthest use at step " + furthestUse + ").");
         }
         return victimVpn;
     }
@@ -1,6 +1,9 @@
 package com.example.vms.model;
 
 import com.example.vms.utils.LogResults;
+import com.example.vms.utils.LogResults.Category;
+import com.example.vms.utils.LogResults.Level;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.util.*;
 
@@ -46,7 +49,7 @@ public class Page {
      */
     public void checkOffsetBounds(int offset) {
         if (offset < 0 || offset >= pageSize) {
-            LogResults.log("Offset out of bounds.");
+            LogResults.log(Level.ERROR, Category.MEMORY, "Offset out of bounds.");
             return;
             //throw new IllegalArgumentException("Offset out of bounds.");
         }
@@ -82,6 +85,7 @@ public class Page {
      *
      * @return a new Page object with identical contents to the current one
      */
+    @JsonIgnore // a copy has a copy too: serialising it would recurse until Jackson's nesting limit
     public Page getCopy() {
         return new Page(pageSize, pageContents);
     }
@@ -1,6 +1,8 @@
 package com.example.vms.model;
 
 import com.example.vms.utils.LogResults;
+import com.example.vms.utils.LogResults.Category;
+import com.example.vms.utils.LogResults.Level;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -14,6 +16,7 @@ import java.util.Map;
 public class PageTable {
     private Map<Integer, PageTableEntry> pageTable; // Maps VPNs to PPNs (Virtual Page Numbers to Physical Page Numbers)
     private int size; // Number of entries in the page table
+    private final ReferenceEpoch referenceEpoch = new ReferenceEpoch(); // Epoch used by the reference bits of the entries
 
     /**
      * Initializes a page table with the given size, setting up entries with default values.
@@ -23,10 +26,10 @@ public class PageTable {
         this.size = size;
         pageTable = new HashMap<>();
         for (int i = 0; i < size; i++) {
-            PageTableEntry entry = new PageTableEntry();
+            PageTableEntry entry = new PageTableEntry(referenceEpoch);
             pageTable.put(i, entry); // initialize entries with default values
         }
-        LogResults.log("Page table initialized with size: " + size);
+        LogResults.log(Level.INFO, Category.PAGETABLE, () -> "Page table initialized with size: " + size);
     }
 
     /**
@@ -154,7 +157,10 @@ public class PageTable {
      * @param ppn The physical page number (PPN).
      */
     public void addEntry(int vpn, int ppn) {
-        PageTableEntry entry = pageTable.getOrDefault(vpn, new PageTableEntry());
+        PageTableEntry entry = pageTable.get(vpn);
+        if (entry == null) {
+            entry = new PageTableEntry(referenceEpoch);
+        }
         entry.setFrameNumber(ppn);
         entry.setValidBit(true);
         entry.setRefBit(false);
@@ -165,6 +171,7 @@ public class PageTable {
     }
 
     public void addEntryOnDisk(int vpn, PageTableEntry entry) {
+        entry.bindEpoch(referenceEpoch);
         pageTable.put(vpn, entry);
     }
 
@@ -194,17 +201,41 @@ public class PageTable {
         PageTableEntry entry = pageTable.get(vpn);
         if (entry != null) {
             entry.setAccessTime(accessTime);
-            LogResults.log("Updated access time for VPN " + vpn + " to " + accessTime);
+            LogResults.log(Level.DEBUG, Category.PAGETABLE, () -> "Updated access time for VPN " + vpn + " to " + accessTime);
         }
     }
 
-    public void updateFutureAccesses(OptimalReplacement optimalReplacement) {
+    /**
+     * Sets the next access of every entry to the next use computed by the Optimal Replacement algorithm.
+     * @param optimalReplacement The algorithm that knows the future accesses.
+     * @return true if the next access of at least one entry changed.
+     */
+    public boolean updateFutureAccesses(OptimalReplacement optimalReplacement) {
+        boolean changed = false;
         for (Map.Entry<Integer, PageTableEntry> entry : pageTable.entrySet()) {
             int vpn = entry.getKey(); // Virtual Page Number
             PageTableEntry pageEntry = entry.getValue();
             int nextAccess = optimalReplacement.getNextUse(vpn); // calculate the next access using the Optimal Replacement algorithm
-            pageEntry.setNextAccess(nextAccess); // update the next access for the page table entry
+            if (pageEntry.getNextAccess() != nextAccess) {
+                pageEntry.setNextAccess(nextAccess); // update the next access for the page table entry
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Returns a copy of one entry of the page table, valid or not.
+     * @param vpn The virtual page number.
+     * @return A copy of the entry, or null if the page table has no entry for the VPN.
+     */
+    public PageTableEntry copyEntry(int vpn) {
+        PageTableEntry entry = pageTable.get(vpn);
+        if (entry == null) {
+            return null;
         }
+        return new PageTableEntry(entry.getFrameNumber(), entry.isValid(), entry.isDirty(), entry.isReferenced(),
+                entry.isDiskPage(), entry.getAccessTime(), entry.getNextAccess());
     }
 
     /**
@@ -233,12 +264,38 @@ public class PageTable {
      * Prints the current contents of the page table to the log.
      */
     public void printContents() {
+        if (!LogResults.isEnabled(Level.INFO, Category.PAGETABLE)) {
+            return; // nobody reads the dump
+        }
         StringBuilder logBuilder = new StringBuilder("Page table contents:\n----------------------\n");
         for (Map.Entry<Integer, PageTableEntry> e : pageTable.entrySet()) {
             logBuilder.append(e.getKey()).append(": ").append(e.getValue()).append("\n");
         }
         logBuilder.append("----------------------");
-        LogResults.log(logBuilder.toString());
+        LogResults.log(Level.INFO, Category.PAGETABLE, logBuilder.toString());
+    }
+
+    /**
+     * Clears the reference bit of every entry by starting a new epoch. This takes constant time.
+     */
+    public void advanceReferenceEpoch() {
+        referenceEpoch.advance();
+    }
+
+    /**
+     * Returns the current reference epoch.
+     * @return The epoch that referenced entries are stamped with.
+     */
+    public long getReferenceEpoch() {
+        return referenceEpoch.current();
+    }
+
+    /**
+     * Returns the number of entries in the page table.
+     * @return The size of the page table.
+     */
+    public int getSize() {
+        return size;
     }
 
     public void setPPN(int vpn, int ppn) {
@@ -9,7 +9,8 @@ public class PageTableEntry {
     private int frameNumber; // Physical page number
     private boolean validBit; // Indicates if the page is in the main memory
     private boolean dirtyBit; // Reflects the page's state (if the page from the disk was modified)
-    private boolean refBit; // Set whenever a page is referenced, either for reading or for writing
+    private long refEpoch; // Epoch of the last reference; the page is referenced while it equals the current epoch
+    private ReferenceEpoch epoch; // The epoch the reference stamp is compared against
     private boolean diskPage; // Indicates if the page is stored on disk
     private long accessTime; // Tracks the last access time for LRU
     private int nextAccess = Integer.MAX_VALUE; // Default to MAX_VALUE (not accessed again)
@@ -22,12 +23,22 @@ public class PageTableEntry {
         this.frameNumber = -1;
         this.validBit = false;
         this.dirtyBit = false;
-        this.refBit = false;
+        this.epoch = ReferenceEpoch.DETACHED;
+        this.refEpoch = -1;
         this.diskPage = false;
         this.accessTime = -1;
         this.nextAccess = Integer.MAX_VALUE;
     }
 
+    /**
+     * Constructor that initializes an invalid page entry whose reference bit follows the given epoch.
+     * @param epoch the epoch of the page table that owns the entry
+     */
+    public PageTableEntry(ReferenceEpoch epoch) {
+        this();
+        this.epoch = epoch;
+    }
+
     /**
      * Parameterized constructor to initialize a page table entry with specific values.
      * @param frameNumber the physical frame number in main memory
@@ -38,7 +49,8 @@ public class PageTableEntry {
      */
     public PageTableEntry(int frameNumber, boolean validBit, boolean dirtyBit, boolean refBit, boolean diskPage, long accessTime, int nextAccess) {
         this.frameNumber = frameNumber;
-        this.refBit = refBit;
+        this.epoch = ReferenceEpoch.DETACHED;
+        setRefBit(refBit);
         this.validBit = validBit;
         this.dirtyBit = dirtyBit;
         this.diskPage = diskPage;
@@ -85,7 +97,7 @@ public class PageTableEntry {
      * @return true if the page has been referenced, otherwise false
      */
     public boolean isReferenced() {
-        return refBit;
+        return refEpoch == epoch.current();
     }
 
     /**
@@ -109,7 +121,17 @@ public class PageTableEntry {
      * @param refBit true if the page has been referenced, otherwise false
      */
     public void setRefBit(boolean refBit) {
-        this.refBit = refBit;
+        this.refEpoch = refBit ? epoch.current() : -1;
+    }
+
+    /**
+     * Makes the reference bit follow the given epoch, keeping its current value.
+     * @param epoch the epoch of the page table that now owns the entry
+     */
+    void bindEpoch(ReferenceEpoch epoch) {
+        boolean referenced = isReferenced();
+        this.epoch = epoch;
+        setRefBit(referenced);
     }
 
     /**
@@ -174,6 +196,6 @@ public class PageTableEntry {
      */
     @Override
     public String toString() {
-        return "Valid: " + validBit + " Dirty: " + dirtyBit + " Referenced: " + refBit + " Frame: " + frameNumber + " In storage: " + diskPage;
+        return "Valid: " + validBit + " Dirty: " + dirtyBit + " Referenced: " + isReferenced() + " Frame: " + frameNumber + " In storage: " + diskPage;
     }
 }
@@ -0,0 +1,31 @@
+package com.example.vms.model;
+
+/**
+ * Global epoch used to store reference bits as stamps instead of booleans.
+ * A page table entry counts as referenced only while its stamp equals the current epoch,
+ * so clearing the reference bit of every page is a single increment of the epoch.
+ */
+public class ReferenceEpoch {
+    /** Epoch shared by entries that are not attached to a page table (e.g. TLB copies); it is never advanced. */
+    static final ReferenceEpoch DETACHED = new ReferenceEpoch();
+
+    private long current; // the current epoch, starting at 0
+
+    /**
+     * Returns the current epoch.
+     * @return The current epoch.
+     */
+    public long current() {
+        return current;
+    }
+
+    /**
+     * Starts a new epoch, which clears the reference bit of every entry using this epoch.
+     */
+    public void advance() {
+        if (this == DETACHED) {
+            throw new IllegalStateException("The detached epoch cannot be advanced");
+        }
+        current++;
+    }
+}
@@ -2,78 +2,98 @@ package com.example.vms.model;
 
 import com.example.vms.utils.LogResults;
 
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Results class is responsible for tracking various statistics related to TLB and page table operations.
  * This includes hits, misses, disk accesses, and eviction events.
+ * Every MemoryManager owns its own Results, so independent simulations can run side by side.
+ * The counters are LongAdders: they do not overflow after 2^31 operations, and the web UI or a metrics
+ * exporter can read them (through {@link #snapshot()}) while the simulation keeps counting.
+ * The number of TLB and page table accesses is the sum of their hits and misses.
  */
 public class Results {
-    public static int tlbHit = 0, tlbMiss = 0, pageTableHit = 0, pageTableMiss = 0;
-    public static int tlbAccesses = 0, pageTableAccesses = 0;
-    public static int diskRead = 0, diskWrite = 0, pageEviction = 0;
+    private final LongAdder tlbHit = new LongAdder(), tlbMiss = new LongAdder();
+    private final LongAdder pageTableHit = new LongAdder(), pageTableMiss = new LongAdder();
+    private final LongAdder diskRead = new LongAdder(), diskWrite = new LongAdder(), pageEviction = new LongAdder();
+
+    public void recordTlbHit() { tlbHit.increment(); } // counts a TLB lookup that found the page
+    public void recordTlbMiss() { tlbMiss.increment(); } // counts a TLB lookup that did not find the page
+    public void recordPageTableHit() { pageTableHit.increment(); } // counts a page table lookup that found the page
+    public void recordPageTableMiss() { pageTableMiss.increment(); } // counts a page table lookup that did not find the page
+    public void recordDiskRead() { diskRead.increment(); } // counts a page read from secondary storage
+    public void recordDiskWrite() { diskWrite.increment(); } // counts a page written back to secondary storage
+    public void recordPageEviction() { pageEviction.increment(); } // counts a page evicted from main memory
+
+    /**
+     * Takes a copy of the current counters. The copy does not change as the simulation continues.
+     * @return The snapshot.
+     */
+    public ResultsSnapshot snapshot() {
+        return new ResultsSnapshot(tlbHit.sum(), tlbMiss.sum(), pageTableHit.sum(), pageTableMiss.sum(),
+                diskRead.sum(), diskWrite.sum(), pageEviction.sum());
+    }
 
     /**
      * Calculates the TLB hit rate as a percentage.
      * @return The TLB hit rate as a percentage. If there are no TLB accesses, returns 0.0.
      */
-    public static double getTLBHitRate() {
-        if (tlbAccesses == 0) return 0.0; // Prevent division by zero
-        return (double) tlbHit / tlbAccesses * 100;
+    public double getTLBHitRate() {
+        return snapshot().getTLBHitRate();
     }
 
     /**
      * Calculates the TLB miss rate as a percentage.
      * @return The TLB miss rate as a percentage. If there are no TLB accesses, returns 0.0.
      */
-    public static double getTLBMissRate() {
-        if (tlbAccesses == 0) return 0.0; // Prevent division by zero
-        return (double) tlbMiss / tlbAccesses * 100;
+    public double getTLBMissRate() {
+        return snapshot().getTLBMissRate();
     }
 
     /**
      * Calculates the page table hit rate as a percentage.
      * @return The page table hit rate as a percentage. If there are no page table accesses, returns 0.0.
      */
-    public static double getPageTableHitRate() {
-        if (pageTableAccesses == 0) return 0.0; // Prevent division by zero
-        return (double) pageTableHit / pageTableAccesses * 100;
+    public double getPageTableHitRate() {
+        return snapshot().getPageTableHitRate();
     }
 
     /**
      * Calculates the page table miss rate as a percentage.
      * @return The page table miss rate as a percentage. If there are no page table accesses, returns 0.0.
      */
-    public static double getPageTableMissRate() {
-        if (pageTableAccesses == 0) return 0.0; // Prevent division by zero
-        return (double) pageTableMiss / pageTableAccesses * 100;
+    public double getPageTableMissRate() {
+        return snapshot().getPageTableMissRate();
     }
 
     /**
      * Resets all statistics to zero. This can be used to reset the counters for new simulation runs.
      */
-    public static void reset() {
-        tlbHit = 0;
-        tlbMiss = 0;
-        pageTableHit = 0;
-        pageTableMiss = 0;
-        diskRead = 0;
-        diskWrite = 0;
-        pageEviction = 0;
-        tlbAccesses = 0;
-        pageTableAccesses = 0;
+    public void reset() {
+        tlbHit.reset();
+        tlbMiss.reset();
+        pageTableHit.reset();
+        pageTableMiss.reset();
+        diskRead.reset();
+        diskWrite.reset();
+        pageEviction.reset();
     }
 
     /**
      * Logs the current statistics
      */
-    public static void logStats() {
-        LogResults.log("\nTLB Hits: " + Results.tlbHit + " TlB Misses: " + Results.tlbMiss + " TLB Accesses: " + Results.tlbAccesses);
-        LogResults.log("Page table hits: " + Results.pageTableHit + " Page table misses: " + Results.pageTableMiss + " Page table accesses: " + Results.pageTableAccesses);
-        LogResults.log("TLB Hit Rate: " + getTLBHitRate() + "%");
-        LogResults.log("TLB Miss Rate: " + getTLBMissRate() + "%");
-        LogResults.log("Page Table Hit Rate: " + getPageTableHitRate() + "%");
-        LogResults.log("Page Table Miss Rate: " + getPageTableMissRate() + "%");
-        LogResults.log("Disk Reads: " + diskRead);
-        LogResults.log("Disk Writes: " + diskWrite);
-        LogResults.log("Page Evictions: " + pageEviction + '\n');
+    public void logStats() {
+        String[] lines = formatStats().split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            LogResults.log((i == 0 ? "\n" : "") + lines[i] + (i == lines.length - 1 ? "\n" : ""));
+        }
+    }
+
+    /**
+     * Formats the current statistics as a multi-line report.
+     * @return The statistics report.
+     */
+    public String formatStats() {
+        return snapshot().formatStats();
     }
 }
@@ -0,0 +1,85 @@
+package com.example.vms.model;
+
+/**
+ * An immutable copy of the statistics of a simulation at one point in time (see {@link Results#snapshot()}).
+ */
+public class ResultsSnapshot {
+    private final long tlbHit, tlbMiss, pageTableHit, pageTableMiss; // lookup outcomes
+    private final long diskRead, diskWrite, pageEviction; // disk traffic and evictions
+
+    /**
+     * Creates a snapshot.
+     */
+    public ResultsSnapshot(long tlbHit, long tlbMiss, long pageTableHit, long pageTableMiss,
+                           long diskRead, long diskWrite, long pageEviction) {
+        this.tlbHit = tlbHit;
+        this.tlbMiss = tlbMiss;
+        this.pageTableHit = pageTableHit;
+        this.pageTableMiss = pageTableMiss;
+        this.diskRead = diskRead;
+        this.diskWrite = diskWrite;
+        this.pageEviction = pageEviction;
+    }
+
+    /**
+     * Calculates the TLB hit rate as a percentage.
+     * @return The TLB hit rate as a percentage. If there are no TLB accesses, returns 0.0.
+     */
+    public double getTLBHitRate() {
+        if (getTlbAccesses() == 0) return 0.0; // Prevent division by zero
+        return (double) tlbHit / getTlbAccesses() * 100;
+    }
+
+    /**
+     * Calculates the TLB miss rate as a percentage.
+     * @return The TLB miss rate as a percentage. If there are no TLB accesses, returns 0.0.
+     */
+    public double getTLBMissRate() {
+        if (getTlbAccesses() == 0) return 0.0; // Prevent division by zero
+        return (double) tlbMiss / getTlbAccesses() * 100;
+    }
+
+    /**
+     * Calculates the page table hit rate as a percentage.
+     * @return The page table hit rate as a percentage. If there are no page table accesses, returns 0.0.
+     */
+    public double getPageTableHitRate() {
+        if (getPageTableAccesses() == 0) return 0.0; // Prevent division by zero
+        return (double) pageTableHit / getPageTableAccesses() * 100;
+    }
+
+    /**
+     * Calculates the page table miss rate as a percentage.
+     * @return The page table miss rate as a percentage. If there are no page table accesses, returns 0.0.
+     */
+    public double getPageTableMissRate() {
+        if (getPageTableAccesses() == 0) return 0.0; // Prevent division by zero
+        return (double) pageTableMiss / getPageTableAccesses() * 100;
+    }
+
+    /**
+     * Formats the statistics as a multi-line report.
+     * @return The statistics report.
+     */
+    public String formatStats() {
+        return "TLB Hits: " + tlbHit + " TlB Misses: " + tlbMiss + " TLB Accesses: " + getTlbAccesses() + '\n' +
+                "Page table hits: " + pageTableHit + " Page table misses: " + pageTableMiss + " Page table accesses: " + getPageTableAccesses() + '\n' +
+                "TLB Hit Rate: " + getTLBHitRate() + "%" + '\n' +
+                "TLB Miss Rate: " + getTLBMissRate() + "%" + '\n' +
+                "Page Table Hit Rate: " + getPageTableHitRate() + "%" + '\n' +
+                "Page Table Miss Rate: " + getPageTableMissRate() + "%" + '\n' +
+                "Disk Reads: " + diskRead + '\n' +
+                "Disk Writes: " + diskWrite + '\n' +
+                "Page Evictions: " + pageEviction;
+    }
+
+    public long getTlbHits() { return tlbHit; } // gets the number of TLB hits
+    public long getTlbMisses() { return tlbMiss; } // gets the number of TLB misses
+    public long getTlbAccesses() { return tlbHit + tlbMiss; } // gets the number of TLB lookups
+    public long getPageTableHits() { return pageTableHit; } // gets the number of page table hits
+    public long getPageTableMisses() { return pageTableMiss; } // gets the number of page table misses (page faults)
+    public long getPageTableAccesses() { return pageTableHit + pageTableMiss; } // gets the number of page table lookups
+    public long getDiskReads() { return diskRead; } // gets the number of pages read from disk
+    public long getDiskWrites() { return diskWrite; } // gets the number of pages written to disk
+    public long getPageEvictions() { return pageEviction; } // gets the number of evicted pages
+}
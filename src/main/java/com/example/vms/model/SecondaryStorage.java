@@ -1,6 +1,8 @@
 package com.example.vms.model;
 
 import com.example.vms.utils.LogResults;
+import com.example.vms.utils.LogResults.Category;
+import com.example.vms.utils.LogResults.Level;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -26,7 +28,7 @@ public class SecondaryStorage {
         for (int i = 0; i < maxPages; i++) {
             disk.put(i, new Page(pageSize));
         }
-        LogResults.log("Secondary storage initialized with max pages: " + maxPages + " and page size: " + pageSize);
+        LogResults.log(Level.INFO, Category.DISK, () -> "Secondary storage initialized with max pages: " + maxPages + " and page size: " + pageSize);
     }
 
     /**
@@ -47,11 +49,11 @@ public class SecondaryStorage {
     public Page load(int vpn) {
         // Check if the page exists in secondary storage
         if (!disk.containsKey(vpn)) {
-            LogResults.log("Error: Invalid VPN " + vpn + ". Page not found in secondary storage.");
+            LogResults.log(Level.ERROR, Category.DISK, () -> "Error: Invalid VPN " + vpn + ". Page not found in secondary storage.");
             return null; // If page doesn't exist, return null
         }
         // If the page exists, load it
-        LogResults.log("Page with VPN " + vpn + " loaded successfully from secondary storage.");
+        LogResults.log(Level.INFO, Category.DISK, () -> "Page with VPN " + vpn + " loaded successfully from secondary storage.");
         return disk.get(vpn); // Return the page associated with the VPN
     }
 
@@ -60,6 +62,9 @@ public class SecondaryStorage {
      * This includes details about each page and its contents.
      */
     public void printContents() {
+        if (!LogResults.isEnabled(Level.INFO, Category.DISK)) {
+            return; // nobody reads the dump
+        }
         //LogResults.log("Printing contents of secondary storage...");
         StringBuilder logBuilder = new StringBuilder();
         logBuilder.append("Disk contents:\n----------------------\n");
@@ -71,9 +76,20 @@ public class SecondaryStorage {
         }
 
         logBuilder.append("----------------------");
-        LogResults.log(logBuilder.toString()); // Log the final content of secondary storage
+        LogResults.log(Level.INFO, Category.DISK, logBuilder.toString()); // Log the final content of secondary storage
+    }
+
+    /**
+     * Gets the page stored for a VPN without logging a disk read.
+     * @param vpn The virtual page number.
+     * @return The page, or null if none is stored.
+     */
+    public Page getPage(int vpn) {
+        return disk.get(vpn);
     }
 
+    public int getPageCount() { return disk.size(); } // gets the number of pages stored
+
     public Map<Integer, Page> getDisk() {
         return new HashMap<>(disk);
     }
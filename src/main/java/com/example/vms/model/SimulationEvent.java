@@ -0,0 +1,17 @@
+package com.example.vms.model;
+
+/**
+ * The events a memory manager reports to its {@link SimulationListener}.
+ * The ordinal of each constant is its code in the event journal, so new events must be added at the end.
+ */
+public enum SimulationEvent {
+    TLB_HIT, // vpn, frame found in the TLB
+    TLB_MISS, // vpn
+    PAGE_TABLE_HIT, // vpn, frame found in the page table
+    PAGE_TABLE_MISS, // vpn
+    PAGE_FAULT, // vpn, frame the page was loaded into
+    EVICTION, // victim vpn, freed frame, dirty if the victim was written back
+    DISK_READ, // vpn read from secondary storage
+    DISK_WRITE, // vpn written back to secondary storage
+    PAGE_ALLOCATED // vpn, free frame a new page was placed in by allocatePage
+}
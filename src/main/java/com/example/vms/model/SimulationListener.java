@@ -0,0 +1,26 @@
+package com.example.vms.model;
+
+/**
+ * Receives the events of a memory manager as they happen, for example to record them in an event journal.
+ */
+public interface SimulationListener {
+
+    /**
+     * Called for every event of the simulation.
+     * @param event The kind of event.
+     * @param operation The index of the operation (allocate, load or store) that caused the event, starting at 0.
+     * @param vpn The virtual page number concerned.
+     * @param frame The frame concerned, or -1 if the event has no frame.
+     * @param dirty true if an evicted page was dirty, false otherwise.
+     */
+    void onEvent(SimulationEvent event, long operation, int vpn, int frame, boolean dirty);
+
+    /**
+     * Called after a page fault (PAGE_FAULT) or an eviction (EVICTION) has been handled, with the wall time it took.
+     * The page fault time includes the eviction it caused. Listeners that do not measure time can ignore it.
+     * @param event PAGE_FAULT or EVICTION.
+     * @param nanos The time spent handling it, in nanoseconds.
+     */
+    default void onTiming(SimulationEvent event, long nanos) {
+    }
+}
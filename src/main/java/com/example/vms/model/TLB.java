@@ -1,100 +1,76 @@
 package com.example.vms.model;
 
 import com.example.vms.utils.LogResults;
+import com.example.vms.utils.LogResults.Category;
+import com.example.vms.utils.LogResults.Level;
 
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Represents a Translation Lookaside Buffer (TLB) that stores mappings of VPNs to page table entries.
- * It uses an eviction algorithm to manage the size of the TLB when it is full.
+ * It uses its own replacement policy, independent of the page replacement algorithm, to manage the size
+ * of the TLB when it is full, so the cost of an insertion depends on the TLB size and not on the memory size.
  */
 public class TLB {
     private LinkedHashMap<Integer, PageTableEntry> entries; // Maps VPNs to page table entries
+    private Map<Integer, Integer> slots; // Maps VPNs to the TLB slot that holds them
+    private int[] slotVpn; // The VPN held by each slot, or -1 if the slot is free
+    private int[] freeSlots; // Stack of free slots
+    private int freeCount; // Number of free slots on the stack
     private int maxSize; // Maximum number of entries in the TLB
-    private ReplacementAlgorithm evictionAlgorithm; // The eviction algorithm to use
+    private TLBReplacementPolicy replacementPolicy; // The replacement policy used to pick a victim slot
 
     /**
-     * Initializes the TLB with a specified size and eviction algorithm.
+     * Initializes the TLB with a specified size and replacement policy.
      * @param size The maximum number of entries in the TLB.
-     * @param evictionAlgorithm The algorithm used to decide which entry to evict when the TLB is full.
+     * @param replacementPolicy The policy used to decide which entry to evict when the TLB is full.
      */
-    public TLB(int size, ReplacementAlgorithm evictionAlgorithm) {
+    public TLB(int size, TLBReplacementPolicy replacementPolicy) {
         this.entries = new LinkedHashMap<>();
+        this.slots = new HashMap<>();
         this.maxSize = size;
-        this.evictionAlgorithm = evictionAlgorithm;
-        LogResults.log("TLB initialized with size: " + size + " and eviction algorithm: " + evictionAlgorithm.getClass().getSimpleName());
+        this.slotVpn = new int[size];
+        this.freeSlots = new int[size];
+        for (int i = 0; i < size; i++) {
+            slotVpn[i] = -1;
+            freeSlots[i] = size - 1 - i; // lowest slot on top of the stack
+        }
+        this.freeCount = size;
+        this.replacementPolicy = replacementPolicy;
+        LogResults.log(Level.INFO, Category.TLB, () -> "TLB initialized with size: " + size + " and eviction algorithm: " + replacementPolicy.getClass().getSimpleName());
     }
 
     /**
-     * Adds a new entry to the TLB. Evicts an entry if necessary based on the eviction algorithm.
+     * Adds a new entry to the TLB. Evicts an entry if necessary based on the replacement policy.
      * @param vpn The virtual page number (VPN).
      * @param entry The page table entry to add.
      */
     public void addEntry(int vpn, PageTableEntry entry) {
-        // Evict an entry if the TLB is full
-        if (isFull()) {
-            // Get the set of VPNs currently in the TLB
-            Set<Integer> currentTLBEntries = entries.keySet();
-            if(evictionAlgorithm instanceof LRUReplacement) {
-                // Ask LRUReplacement for the least recently used page in the TLB
-                int lruVpn = ((LRUReplacement) evictionAlgorithm).getTLBLRUPage(currentTLBEntries);
-                if (lruVpn != -1 && entries.containsKey(lruVpn)) {
-                    entries.remove(lruVpn); // Remove the entry from the TLB
-                    LogResults.log("Evicted VPN " + lruVpn + " from TLB based on TLB-specific LRU algorithm");
-                } else {
-                    LogResults.log("No valid entry found for eviction in TLB. Evicting the oldest TLB entry.");
-                    entries.remove(getFirstEntryVPN());
-                }
-            }
-            else if (evictionAlgorithm instanceof NRUReplacement) {
-                // Ask NRUReplacement for the least desirable page in the TLB
-                int nruVpn = ((NRUReplacement) evictionAlgorithm).getTLBNRUPage(currentTLBEntries);
-                if (nruVpn != -1 && entries.containsKey(nruVpn)) {
-                    entries.remove(nruVpn); // Remove the entry from the TLB
-                    LogResults.log("Evicted VPN " + nruVpn + " from TLB based on NRU algorithm.");
-                } else {
-                    LogResults.log("No valid entry found for eviction in TLB. Evicting the oldest TLB entry.");
-                    entries.remove(getFirstEntryVPN());                }
-            }
-            else if (evictionAlgorithm instanceof FIFOReplacement) {
-                // For FIFO, evict the first entry directly without using the eviction algorithm
-                int fifoVpn = getFirstEntryVPN();
-                if (fifoVpn != -1) {
-                    entries.remove(fifoVpn); // Remove the entry from the TLB
-                    LogResults.log("Evicted VPN " + fifoVpn + " from TLB based on FIFO algorithm.");
-                } else {
-                    LogResults.log("No valid entry found for FIFO eviction in TLB.");
-                }
-            }
-            else if(evictionAlgorithm instanceof OptimalReplacement) {
-                int optimalVpn = ((OptimalReplacement) evictionAlgorithm).getTLBOptimalPage(currentTLBEntries);
-                if (optimalVpn != -1 && entries.containsKey(optimalVpn)) {
-                    entries.remove(optimalVpn); // Remove the entry from the TLB
-                    // LogResults.log("Evicted VPN " + optimalVpn + " from TLB based on Optimal Replacement.");
-                } else {
-                    LogResults.log("No valid entry found for eviction in TLB. Evicting the oldest TLB entry.");
-                    entries.remove(getFirstEntryVPN());                }
+        if (maxSize <= 0) {
+            return; // a TLB without slots never caches anything
+        }
+        Integer existingSlot = slots.get(vpn);
+        int slot;
+        if (existingSlot != null) {
+            slot = existingSlot; // refresh the cached copy in place
+            replacementPolicy.onAccess(slot);
+        } else {
+            // Evict an entry if the TLB is full
+            if (isFull()) {
+                int victimVpn = slotVpn[replacementPolicy.selectVictim()]; // every slot is in use, so the victim holds a VPN
+                removeEntry(victimVpn);
+                LogResults.log(Level.INFO, Category.TLB, () -> "Evicted VPN " + victimVpn + " from TLB based on " + replacementPolicy.getClass().getSimpleName());
             }
+            slot = freeSlots[--freeCount];
+            slots.put(vpn, slot);
+            slotVpn[slot] = vpn;
+            replacementPolicy.onInsert(slot);
         }
         // Add the new entry
         entries.put(vpn, new PageTableEntry(entry.getFrameNumber(), entry.isValid(), entry.isDirty(), entry.isReferenced(), entry.isDiskPage(), entry.getAccessTime(), entry.getNextAccess()));
-        // evictionAlgorithm.updatePageAccess(vpn); // Add the page to the eviction algorithm
-        LogResults.log("Added VPN " + vpn + " to TLB");
-    }
-
-    /**
-     * Retrieves and removes the first VPN in the LinkedHashMap (FIFO order).
-     * @return The VPN of the first entry, or null if the TLB is empty.
-     */
-    private int getFirstEntryVPN() {
-        if (entries.isEmpty()) {
-            LogResults.log("TLB is empty, no entry to evict.");
-            return -1;
-        }
-        // LinkedHashMap maintains insertion order, so the first key is the oldest
-        return entries.keySet().iterator().next();
+        LogResults.log(Level.DEBUG, Category.TLB, () -> "Added VPN " + vpn + " to TLB");
     }
 
     /**
@@ -105,7 +81,7 @@ public class TLB {
     public int lookup(int vpn) {
         PageTableEntry entry = entries.get(vpn);
         if (entry != null && entry.isValid()) {
-            //evictionAlgorithm.updatePageAccess(vpn); // Update LRU for the accessed VPN
+            replacementPolicy.onAccess(slots.get(vpn)); // Update the replacement policy for the accessed slot
             entry.setRefBit(true); // Set the reference bit
             //LogResults.log("TLB hit for VPN " + vpn + ": Frame " + entry.getFrameNumber());
             return entry.getFrameNumber(); // TLB hit
@@ -120,7 +96,13 @@ public class TLB {
      */
     public void removeEntry(int vpn) {
         entries.remove(vpn);
-        LogResults.log("Removed VPN " + vpn + " from TLB");
+        Integer slot = slots.remove(vpn);
+        if (slot != null) {
+            replacementPolicy.onRemove(slot);
+            slotVpn[slot] = -1;
+            freeSlots[freeCount++] = slot;
+        }
+        LogResults.log(Level.INFO, Category.TLB, () -> "Removed VPN " + vpn + " from TLB");
     }
 
     /**
@@ -128,7 +110,7 @@ public class TLB {
      * @return True if the TLB is full, false otherwise.
      */
     public boolean isFull() {
-        boolean full = entries.size() == maxSize;
+        boolean full = freeCount == 0;
         //LogResults.log("TLB full: " + full);
         return full;
     }
@@ -137,11 +119,14 @@ public class TLB {
      * Prints the current contents of the TLB to the log.
      */
     public void printContents() {
-        LogResults.log("TLB contents:\n----------------------");
+        if (!LogResults.isEnabled(Level.INFO, Category.TLB)) {
+            return; // nobody reads the dump
+        }
+        LogResults.log(Level.INFO, Category.TLB, "TLB contents:\n----------------------");
         for (Map.Entry<Integer, PageTableEntry> e : entries.entrySet()) {
-            LogResults.log(e.getKey() + ": " + e.getValue());
+            LogResults.log(Level.INFO, Category.TLB, e.getKey() + ": " + e.getValue());
         }
-        LogResults.log("----------------------");
+        LogResults.log(Level.INFO, Category.TLB, "----------------------");
     }
 
     /**
@@ -0,0 +1,25 @@
+package com.example.vms.model;
+
+/**
+ * First-In-First-Out (FIFO) replacement policy for the TLB.
+ * It keeps the slots in insertion order and, unlike LRU, does not reorder them on a hit.
+ */
+public class TLBFIFOPolicy extends TLBLRUPolicy {
+
+    /**
+     * Constructs the FIFO policy for a TLB with the given number of slots.
+     * @param size The number of slots in the TLB.
+     */
+    public TLBFIFOPolicy(int size) {
+        super(size);
+    }
+
+    /**
+     * FIFO does not track hits, so this method does nothing.
+     * @param slot The slot that was hit.
+     */
+    @Override
+    public void onAccess(int slot) {
+        // FIFO order only depends on insertion, so a hit changes nothing.
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.vms.model;
+
+import java.util.Arrays;
+
+/**
+ * Least Recently Used (LRU) replacement policy for the TLB.
+ * The slots are kept in a doubly linked list (stored in arrays) ordered from the least recently used
+ * slot (head) to the most recently used slot (tail), so every operation runs in constant time.
+ */
+public class TLBLRUPolicy implements TLBReplacementPolicy {
+    private final int[] prev; // previous slot in the list, or -1
+    private final int[] next; // next slot in the list, or -1
+    private final boolean[] linked; // whether the slot is currently in the list
+    private int head = -1; // least recently used slot
+    private int tail = -1; // most recently used slot
+
+    /**
+     * Constructs the LRU policy for a TLB with the given number of slots.
+     * @param size The number of slots in the TLB.
+     */
+    public TLBLRUPolicy(int size) {
+        this.prev = new int[size];
+        this.next = new int[size];
+        this.linked = new boolean[size];
+        Arrays.fill(prev, -1);
+        Arrays.fill(next, -1);
+    }
+
+    /**
+     * Appends the newly filled slot as the most recently used one.
+     * @param slot The slot that received a new entry.
+     */
+    @Override
+    public void onInsert(int slot) {
+        moveToTail(slot);
+    }
+
+    /**
+     * Marks the slot as the most recently used one.
+     * @param slot The slot that was hit.
+     */
+    @Override
+    public void onAccess(int slot) {
+        moveToTail(slot);
+    }
+
+    /**
+     * Removes the slot from the recency list.
+     * @param slot The slot that was invalidated.
+     */
+    @Override
+    public void onRemove(int slot) {
+        unlink(slot);
+    }
+
+    /**
+     * Returns the least recently used slot.
+     * @return The slot at the head of the list, or -1 if the list is empty.
+     */
+    @Override
+    public int selectVictim() {
+        return head;
+    }
+
+    /**
+     * Moves a slot to the tail (most recently used end) of the list.
+     * @param slot The slot to move.
+     */
+    protected void moveToTail(int slot) {
+        if (linked[slot] && slot == tail) {
+            return;
+        }
+        unlink(slot);
+        prev[slot] = tail;
+        next[slot] = -1;
+        if (tail != -1) {
+            next[tail] = slot;
+        } else {
+            head = slot;
+        }
+        tail = slot;
+        linked[slot] = true;
+    }
+
+    /**
+     * Unlinks a slot from the list if it is present.
+     * @param slot The slot to unlink.
+     */
+    private void unlink(int slot) {
+        if (!linked[slot]) {
+            return;
+        }
+        if (prev[slot] != -1) {
+            next[prev[slot]] = next[slot];
+        } else {
+            head = next[slot];
+        }
+        if (next[slot] != -1) {
+            prev[next[slot]] = prev[slot];
+        } else {
+            tail = prev[slot];
+        }
+        prev[slot] = -1;
+        next[slot] = -1;
+        linked[slot] = false;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.vms.model;
+
+/**
+ * Tree-based pseudo-LRU (PLRU) replacement policy for the TLB, as used by hardware TLBs.
+ * A binary tree of bits sits over the slots; each bit points towards the half that was used less recently.
+ * A hit flips the bits on the path to the slot so that they point away from it, and the victim is found by
+ * following the bits from the root. Both operations take O(log size) time and one bit per slot.
+ */
+public class TLBPseudoLRUPolicy implements TLBReplacementPolicy {
+    private final int size; // number of slots in the TLB
+    private final int leaves; // number of tree leaves (size rounded up to a power of two)
+    private final int depth; // log2(leaves)
+    private final boolean[] pointsRight; // tree bits, indexed from 1 (root) to leaves - 1
+
+    /**
+     * Constructs the pseudo-LRU policy for a TLB with the given number of slots.
+     * @param size The number of slots in the TLB.
+     */
+    public TLBPseudoLRUPolicy(int size) {
+        this.size = size;
+        this.leaves = size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        this.depth = Integer.numberOfTrailingZeros(leaves);
+        this.pointsRight = new boolean[leaves];
+    }
+
+    /**
+     * Treats a newly filled slot as just used.
+     * @param slot The slot that received a new entry.
+     */
+    @Override
+    public void onInsert(int slot) {
+        onAccess(slot);
+    }
+
+    /**
+     * Makes every bit on the path from the root to the slot point away from it.
+     * @param slot The slot that was hit.
+     */
+    @Override
+    public void onAccess(int slot) {
+        int node = leaves + slot;
+        while (node > 1) {
+            int parent = node >> 1;
+            pointsRight[parent] = (node & 1) == 0; // slot is in the left half, so point right
+            node = parent;
+        }
+    }
+
+    @Override
+    public void onRemove(int slot) {
+        // Freed slots are refilled before a victim is requested, so the tree needs no update.
+    }
+
+    /**
+     * Follows the tree bits from the root to a leaf. Subtrees that only cover slots past the TLB size
+     * (when the size is not a power of two) are never chosen.
+     * @return The victim slot, or -1 if the TLB has no slots.
+     */
+    @Override
+    public int selectVictim() {
+        if (size == 0) {
+            return -1;
+        }
+        int node = 1;
+        int level = 0;
+        while (node < leaves) {
+            int child = 2 * node + (pointsRight[node] ? 1 : 0);
+            if (firstSlot(child, level + 1) >= size) {
+                child = 2 * node; // the right subtree holds no real slot
+            }
+            node = child;
+            level++;
+        }
+        return node - leaves;
+    }
+
+    /**
+     * Returns the first slot covered by a tree node.
+     * @param node The node index.
+     * @param level The level of the node (0 for the root).
+     * @return The index of the leftmost slot under the node.
+     */
+    private int firstSlot(int node, int level) {
+        return (node << (depth - level)) - leaves;
+    }
+}
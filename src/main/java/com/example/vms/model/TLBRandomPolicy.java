@@ -0,0 +1,44 @@
+package com.example.vms.model;
+
+import java.util.Random;
+
+/**
+ * Random replacement policy for the TLB. It keeps no state and evicts a uniformly chosen slot.
+ */
+public class TLBRandomPolicy implements TLBReplacementPolicy {
+    private final int size; // number of slots in the TLB
+    private final Random random; // Random object used to pick the victim slot
+
+    /**
+     * Constructs the random policy for a TLB with the given number of slots.
+     * @param size The number of slots in the TLB.
+     */
+    public TLBRandomPolicy(int size) {
+        this.size = size;
+        this.random = new Random();
+    }
+
+    @Override
+    public void onInsert(int slot) {
+        // No state to update.
+    }
+
+    @Override
+    public void onAccess(int slot) {
+        // No state to update.
+    }
+
+    @Override
+    public void onRemove(int slot) {
+        // No state to update.
+    }
+
+    /**
+     * Picks a random slot. Every slot is in use when a victim is requested.
+     * @return A random slot, or -1 if the TLB has no slots.
+     */
+    @Override
+    public int selectVictim() {
+        return size > 0 ? random.nextInt(size) : -1;
+    }
+}
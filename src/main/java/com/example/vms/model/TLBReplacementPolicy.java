@@ -0,0 +1,52 @@
+package com.example.vms.model;
+
+/**
+ * Interface representing the replacement policies used by the TLB.
+ * Unlike {@link ReplacementAlgorithm}, which tracks every resident page, a TLB policy only tracks
+ * the TLB slots (0 .. size - 1), so its bookkeeping cost depends on the TLB size and not on the memory size.
+ */
+public interface TLBReplacementPolicy {
+    void onInsert(int slot); // A new entry was placed in the given slot
+    void onAccess(int slot); // The entry in the given slot was hit
+    void onRemove(int slot); // The entry in the given slot was invalidated
+    int selectVictim(); // Decide which slot to evict (only called when every slot is in use, so it must return an occupied slot in 0 .. size - 1)
+
+    /**
+     * Creates a TLB replacement policy from its name.
+     * @param name The name of the policy (LRU, FIFO, Random, PLRU).
+     * @param size The number of slots in the TLB.
+     * @return The policy; FIFO is used for unknown names.
+     */
+    static TLBReplacementPolicy forName(String name, int size) {
+        if (name == null) {
+            return new TLBFIFOPolicy(size);
+        }
+        switch (name) {
+            case "LRU":
+                return new TLBLRUPolicy(size);
+            case "Random":
+                return new TLBRandomPolicy(size);
+            case "PLRU":
+                return new TLBPseudoLRUPolicy(size);
+            case "FIFO":
+            default:
+                return new TLBFIFOPolicy(size);
+        }
+    }
+
+    /**
+     * Returns the TLB policy that best matches a page replacement algorithm. This is used when no
+     * TLB policy is configured, so that the TLB keeps behaving like the page replacement algorithm.
+     * @param pageAlgorithm The page replacement algorithm.
+     * @return The name of the matching TLB policy.
+     */
+    static String defaultFor(ReplacementAlgorithm pageAlgorithm) {
+        if (pageAlgorithm instanceof FIFOReplacement) {
+            return "FIFO";
+        }
+        if (pageAlgorithm instanceof NRUReplacement) {
+            return "PLRU"; // the tree approximation is the closest cheap relative of NRU
+        }
+        return "LRU"; // LRU and Optimal (which needs no future knowledge in the TLB)
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.vms.trace;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads another trace source on a background thread, so that reading and parsing the trace
+ * overlap with the simulation. The reader packs operations into fixed-size chunks of ints and hands them
+ * to the replaying thread through a bounded queue; the chunks are recycled through a second queue,
+ * so memory use stays constant and a slow simulator makes the reader wait instead of buffering the trace.
+ */
+public class AsyncTraceSource implements TraceSource {
+    private static final int CHUNK_OPERATIONS = 4096; // operations per chunk
+    private static final int DEFAULT_CHUNKS = 16; // chunks in flight
+
+    private final TraceSource source; // source read on the background thread
+    private final int chunks; // number of chunks shared by the two threads
+
+    /**
+     * A batch of operations, stored as (opcode, operand, data) triples.
+     */
+    private static final class Chunk {
+        final int[] operations = new int[CHUNK_OPERATIONS * 3]; // packed operations
+        int size; // number of operations in the chunk, -1 marks the end of the trace
+    }
+
+    /**
+     * Creates an asynchronous wrapper with the default queue capacity.
+     * @param source The source to read on a background thread.
+     */
+    public AsyncTraceSource(TraceSource source) {
+        this(source, DEFAULT_CHUNKS);
+    }
+
+    /**
+     * Creates an asynchronous wrapper.
+     * @param source The source to read on a background thread.
+     * @param chunks The number of chunks in flight (the capacity of the queue).
+     */
+    public AsyncTraceSource(TraceSource source, int chunks) {
+        this.source = source;
+        this.chunks = Math.max(chunks, 2);
+    }
+
+    /**
+     * Replays the wrapped source into the sink. The sink is only called from the calling thread.
+     * @param sink The sink that receives the operations.
+     * @return The number of operations replayed.
+     * @throws IOException if the wrapped source fails or the replay is interrupted.
+     */
+    @Override
+    public long replay(TraceSink sink) throws IOException {
+        BlockingQueue<Chunk> filled = new ArrayBlockingQueue<>(chunks);
+        BlockingQueue<Chunk> free = new ArrayBlockingQueue<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            free.add(new Chunk());
+        }
+        Throwable[] failure = new Throwable[1]; // published to the replaying thread by the end marker
+        Thread reader = new Thread(() -> read(filled, free, failure), "trace-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        long count = 0;
+        try {
+            while (true) {
+                Chunk chunk = filled.take();
+                if (chunk.size < 0) {
+                    break;
+                }
+                int[] operations = chunk.operations;
+                for (int i = 0, end = chunk.size * 3; i < end; i += 3) {
+                    switch (operations[i]) {
+                        case BinaryTraceFormat.ALLOCATE:
+                            sink.allocatePage(operations[i + 1]);
+                            break;
+                        case BinaryTraceFormat.LOAD:
+                            sink.load(operations[i + 1]);
+                            break;
+                        default:
+                            sink.store(operations[i + 1], operations[i + 2]);
+                    }
+                }
+                count += chunk.size;
+                free.put(chunk);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Trace replay interrupted");
+        } finally {
+            reader.interrupt(); // stops the reader if the sink failed
+        }
+        if (failure[0] instanceof IOException) {
+            throw (IOException) failure[0];
+        }
+        if (failure[0] != null) {
+            throw new IOException("Reading the trace failed", failure[0]);
+        }
+        return count;
+    }
+
+    /**
+     * Body of the background thread: replays the wrapped source into chunks and queues them,
+     * followed by an end marker.
+     * @param filled The queue of chunks ready to be replayed.
+     * @param free The queue of chunks that can be refilled.
+     * @param failure Receives the exception thrown by the wrapped source, if any.
+     */
+    private void read(BlockingQueue<Chunk> filled, BlockingQueue<Chunk> free, Throwable[] failure) {
+        ChunkingSink chunking = new ChunkingSink(filled, free);
+        try {
+            source.replay(chunking);
+            chunking.flush();
+        } catch (ChunkingSink.Stopped e) {
+            return; // the replaying thread gave up
+        } catch (Throwable e) {
+            failure[0] = e;
+        }
+        try {
+            Chunk end = free.take();
+            end.size = -1;
+            filled.put(end);
+        } catch (InterruptedException e) {
+            // the replaying thread gave up
+        }
+    }
+
+    /**
+     * Sink used on the background thread: packs operations into chunks.
+     */
+    private static final class ChunkingSink implements TraceSink {
+        private final BlockingQueue<Chunk> filled; // chunks ready to be replayed
+        private final BlockingQueue<Chunk> free; // chunks that can be refilled
+        private Chunk current; // chunk being filled
+
+        /**
+         * Thrown when the background thread is interrupted while waiting for a free chunk.
+         */
+        private static final class Stopped extends RuntimeException {
+            private static final long serialVersionUID = 1L;
+
+            Stopped() {
+                super(null, null, false, false);
+            }
+        }
+
+        ChunkingSink(BlockingQueue<Chunk> filled, BlockingQueue<Chunk> free) {
+            this.filled = filled;
+            this.free = free;
+        }
+
+        @Override
+        public void allocatePage(int vpn) {
+            add(BinaryTraceFormat.ALLOCATE, vpn, 0);
+        }
+
+        @Override
+        public void load(int virtualAddress) {
+            add(BinaryTraceFormat.LOAD, virtualAddress, 0);
+        }
+
+        @Override
+        public void store(int virtualAddress, int data) {
+            add(BinaryTraceFormat.STORE, virtualAddress, data);
+        }
+
+        /**
+         * Appends an operation to the current chunk and queues the chunk when it is full.
+         */
+        private void add(int opcode, int operand, int data) {
+            try {
+                if (current == null) {
+                    current = free.take();
+                    current.size = 0;
+                }
+                int index = current.size * 3;
+                current.operations[index] = opcode;
+                current.operations[index + 1] = operand;
+                current.operations[index + 2] = data;
+                if (++current.size == CHUNK_OPERATIONS) {
+                    filled.put(current);
+                    current = null;
+                }
+            } catch (InterruptedException e) {
+                throw new Stopped();
+            }
+        }
+
+        /**
+         * Queues the partly filled chunk, if any.
+         */
+        void flush() {
+            if (current != null) {
+                try {
+                    filled.put(current);
+                } catch (InterruptedException e) {
+                    throw new Stopped();
+                }
+                current = null;
+            }
+        }
+    }
+}
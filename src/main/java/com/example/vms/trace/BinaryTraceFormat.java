@@ -0,0 +1,21 @@
+package com.example.vms.trace;
+
+/**
+ * Layout of the binary trace format.
+ * A file starts with an 8-byte header (the magic number and the format version) followed by
+ * fixed-width 9-byte records: an opcode byte, the operand (a VPN for Allocate, a virtual address for
+ * Load and Store) and the data stored by a Store (0 otherwise). All values are big-endian.
+ */
+final class BinaryTraceFormat {
+    static final int MAGIC = 0x564D5354; // "VMST"
+    static final int VERSION = 1; // format version
+    static final int HEADER_SIZE = 8; // magic + version
+    static final int RECORD_SIZE = 9; // opcode + operand + data
+
+    static final byte ALLOCATE = 0; // operand is a VPN
+    static final byte LOAD = 1; // operand is a virtual address
+    static final byte STORE = 2; // operand is a virtual address, data is the value stored
+
+    private BinaryTraceFormat() {
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.vms.trace;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams a binary trace file (see {@link BinaryTraceFormat}) into a sink.
+ * The file is memory-mapped one window at a time and records are decoded straight from the mapping,
+ * so no operation objects are created and memory use does not depend on the length of the trace.
+ */
+public class BinaryTraceSource implements TraceSource {
+    private static final long WINDOW_RECORDS = 1 << 22; // records per mapped window (36 MB)
+
+    private final Path path; // trace file
+    private final long recordCount; // number of records in the file
+
+    /**
+     * Opens a binary trace file and checks its header.
+     * @param path The path of the trace file.
+     * @throws IOException if the file cannot be read or is not a valid binary trace.
+     */
+    public BinaryTraceSource(Path path) throws IOException {
+        this.path = path;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < BinaryTraceFormat.HEADER_SIZE) {
+                throw new IOException("Not a binary trace: " + path);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, BinaryTraceFormat.HEADER_SIZE);
+            if (header.getInt() != BinaryTraceFormat.MAGIC) {
+                throw new IOException("Not a binary trace: " + path);
+            }
+            int version = header.getInt();
+            if (version != BinaryTraceFormat.VERSION) {
+                throw new IOException("Unsupported binary trace version " + version + ": " + path);
+            }
+            long body = size - BinaryTraceFormat.HEADER_SIZE;
+            if (body % BinaryTraceFormat.RECORD_SIZE != 0) {
+                throw new IOException("Truncated binary trace: " + path);
+            }
+            this.recordCount = body / BinaryTraceFormat.RECORD_SIZE;
+        }
+    }
+
+    /**
+     * Replays every record of the file into the sink, mapping the file window by window.
+     * @param sink The sink that receives the operations.
+     * @return The number of operations replayed.
+     * @throws IOException if the file cannot be read or contains an unknown opcode.
+     */
+    @Override
+    public long replay(TraceSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long record = 0;
+            while (record < recordCount) {
+                long records = Math.min(WINDOW_RECORDS, recordCount - record);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                        BinaryTraceFormat.HEADER_SIZE + record * BinaryTraceFormat.RECORD_SIZE,
+                        records * BinaryTraceFormat.RECORD_SIZE);
+                for (long i = 0; i < records; i++) {
+                    byte opcode = window.get();
+                    int operand = window.getInt();
+                    int data = window.getInt();
+                    switch (opcode) {
+                        case BinaryTraceFormat.ALLOCATE:
+                            sink.allocatePage(operand);
+                            break;
+                        case BinaryTraceFormat.LOAD:
+                            sink.load(operand);
+                            break;
+                        case BinaryTraceFormat.STORE:
+                            sink.store(operand, data);
+                            break;
+                        default:
+                            throw new IOException("Unknown opcode " + opcode + " in record " + (record + i) + " of " + path);
+                    }
+                }
+                record += records;
+            }
+            return recordCount;
+        }
+    }
+
+    public long getRecordCount() { return recordCount; } // gets the number of records in the file
+}
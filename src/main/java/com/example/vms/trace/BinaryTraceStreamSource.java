@@ -0,0 +1,72 @@
+package com.example.vms.trace;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streams a binary trace (see {@link BinaryTraceFormat}) from an input stream, such as a request body,
+ * into a sink. Unlike {@link BinaryTraceSource} it does not need a file and reads the records in order
+ * as they arrive, so the length of the trace is only known at the end.
+ */
+public class BinaryTraceStreamSource implements TraceSource {
+    private final InputStream input; // binary trace
+
+    /**
+     * Creates a source over a binary trace. The input is read by replay and not closed.
+     * @param input The binary trace, header included.
+     */
+    public BinaryTraceStreamSource(InputStream input) {
+        this.input = input;
+    }
+
+    /**
+     * Checks the header and replays every record into the sink.
+     * @param sink The sink that receives the operations.
+     * @return The number of operations replayed.
+     * @throws IOException if the input cannot be read, is not a binary trace, is truncated or contains an unknown opcode.
+     */
+    @Override
+    public long replay(TraceSink sink) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input, 1 << 16));
+        try {
+            if (in.readInt() != BinaryTraceFormat.MAGIC) {
+                throw new IOException("Not a binary trace");
+            }
+            int version = in.readInt();
+            if (version != BinaryTraceFormat.VERSION) {
+                throw new IOException("Unsupported binary trace version " + version);
+            }
+        } catch (EOFException e) {
+            throw new IOException("Not a binary trace", e);
+        }
+        long record = 0;
+        int opcode;
+        while ((opcode = in.read()) != -1) {
+            int operand, data;
+            try {
+                operand = in.readInt();
+                data = in.readInt();
+            } catch (EOFException e) {
+                throw new IOException("Truncated binary trace at record " + record, e);
+            }
+            switch (opcode) {
+                case BinaryTraceFormat.ALLOCATE:
+                    sink.allocatePage(operand);
+                    break;
+                case BinaryTraceFormat.LOAD:
+                    sink.load(operand);
+                    break;
+                case BinaryTraceFormat.STORE:
+                    sink.store(operand, data);
+                    break;
+                default:
+                    throw new IOException("Unknown opcode " + opcode + " in record " + record);
+            }
+            record++;
+        }
+        return record;
+    }
+}
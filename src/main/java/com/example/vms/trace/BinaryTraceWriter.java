@@ -0,0 +1,96 @@
+package com.example.vms.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes the operations it receives to a binary trace file (see {@link BinaryTraceFormat}).
+ * Records are collected in a direct buffer and written to the file channel when the buffer is full,
+ * so a trace of any length is written with constant memory.
+ */
+public class BinaryTraceWriter implements TraceSink, Closeable {
+    private static final int BUFFER_RECORDS = 8192; // records buffered before each write
+
+    private final FileChannel channel; // output file
+    private final ByteBuffer buffer; // pending records
+    private long recordCount; // number of records written so far
+
+    /**
+     * Creates (or truncates) a binary trace file and writes its header.
+     * @param path The path of the trace file.
+     * @throws IOException if the file cannot be created.
+     */
+    public BinaryTraceWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * BinaryTraceFormat.RECORD_SIZE);
+        this.recordCount = 0;
+        buffer.putInt(BinaryTraceFormat.MAGIC).putInt(BinaryTraceFormat.VERSION);
+    }
+
+    @Override
+    public void allocatePage(int vpn) {
+        write(BinaryTraceFormat.ALLOCATE, vpn, 0);
+    }
+
+    @Override
+    public void load(int virtualAddress) {
+        write(BinaryTraceFormat.LOAD, virtualAddress, 0);
+    }
+
+    @Override
+    public void store(int virtualAddress, int data) {
+        write(BinaryTraceFormat.STORE, virtualAddress, data);
+    }
+
+    /**
+     * Appends one record, flushing the buffer first if it has no room left.
+     * The sink methods cannot throw IOException, so write errors are rethrown unchecked.
+     * @param opcode The operation code.
+     * @param operand The VPN or virtual address.
+     * @param data The stored data.
+     */
+    private void write(byte opcode, int operand, int data) {
+        if (buffer.remaining() < BinaryTraceFormat.RECORD_SIZE) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        buffer.put(opcode).putInt(operand).putInt(data);
+        recordCount++;
+    }
+
+    /**
+     * Writes the buffered records to the file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes the remaining records and closes the file.
+     * @throws IOException if the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    public long getRecordCount() { return recordCount; } // gets the number of records written
+}
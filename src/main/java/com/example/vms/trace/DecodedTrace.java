@@ -0,0 +1,142 @@
+package com.example.vms.trace;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A trace decoded into primitive arrays, so that it can be replayed many times without reading or parsing it again.
+ * The arrays are never changed after decoding, so one DecodedTrace can be replayed by several threads at once.
+ * Accesses are kept as virtual addresses, which lets the trace be replayed with a different page size than it
+ * was recorded with: Allocate operations are remembered by the address of their page and every page is also
+ * allocated on its first access.
+ */
+public class DecodedTrace implements TraceSource {
+    private final byte[] opcodes; // operation codes (see BinaryTraceFormat)
+    private final int[] addresses; // virtual addresses (the first byte of the page for Allocate)
+    private final int[] data; // stored data (0 for Allocate and Load)
+    private final int pageSize; // page size the trace was recorded with
+
+    /**
+     * Creates a decoded trace from filled arrays.
+     */
+    private DecodedTrace(byte[] opcodes, int[] addresses, int[] data, int pageSize) {
+        this.opcodes = opcodes;
+        this.addresses = addresses;
+        this.data = data;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Reads a whole trace into memory.
+     * @param source The trace to decode.
+     * @param pageSize The page size the trace was recorded with (used to turn Allocate VPNs into addresses).
+     * @return The decoded trace.
+     * @throws IOException if the trace cannot be read.
+     */
+    public static DecodedTrace decode(TraceSource source, int pageSize) throws IOException {
+        Decoder decoder = new Decoder(pageSize);
+        source.replay(decoder);
+        return new DecodedTrace(Arrays.copyOf(decoder.opcodes, decoder.size), Arrays.copyOf(decoder.addresses, decoder.size),
+                Arrays.copyOf(decoder.data, decoder.size), pageSize);
+    }
+
+    /**
+     * Replays the trace with the page size it was recorded with.
+     * @param sink The sink that receives the operations.
+     * @return The number of operations replayed.
+     */
+    @Override
+    public long replay(TraceSink sink) {
+        return replay(sink, pageSize);
+    }
+
+    /**
+     * Replays the trace for a simulation with the given page size, allocating pages on first touch.
+     * @param sink The sink that receives the operations.
+     * @param pageSize The page size of the simulation.
+     * @return The number of operations replayed, including the inserted Allocate operations.
+     */
+    public long replay(TraceSink sink, int pageSize) {
+        FirstTouchSink firstTouch = new FirstTouchSink(sink, pageSize);
+        for (int i = 0; i < opcodes.length; i++) {
+            switch (opcodes[i]) {
+                case BinaryTraceFormat.ALLOCATE:
+                    firstTouch.allocatePage(addresses[i] / pageSize);
+                    break;
+                case BinaryTraceFormat.LOAD:
+                    firstTouch.load(addresses[i]);
+                    break;
+                default:
+                    firstTouch.store(addresses[i], data[i]);
+            }
+        }
+        return opcodes.length + firstTouch.getAllocations();
+    }
+
+    /**
+     * Lists the pages accessed by the loads and stores of the trace, in order (the future accesses
+     * needed by the Optimal replacement algorithm).
+     * @param pageSize The page size of the simulation.
+     * @return The accessed VPNs.
+     */
+    public List<Integer> pageAccesses(int pageSize) {
+        List<Integer> accesses = new ArrayList<>();
+        for (int i = 0; i < opcodes.length; i++) {
+            if (opcodes[i] != BinaryTraceFormat.ALLOCATE) {
+                accesses.add(addresses[i] / pageSize);
+            }
+        }
+        return accesses;
+    }
+
+    public int size() { return opcodes.length; } // gets the number of operations in the trace
+    public int getPageSize() { return pageSize; } // gets the page size the trace was recorded with
+
+    /**
+     * Sink that appends operations to growable arrays.
+     */
+    private static final class Decoder implements TraceSink {
+        private final int pageSize; // page size the trace was recorded with
+        private byte[] opcodes = new byte[1024]; // operation codes
+        private int[] addresses = new int[1024]; // virtual addresses
+        private int[] data = new int[1024]; // stored data
+        private int size; // number of operations decoded
+
+        Decoder(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public void allocatePage(int vpn) {
+            add(BinaryTraceFormat.ALLOCATE, vpn * pageSize, 0);
+        }
+
+        @Override
+        public void load(int virtualAddress) {
+            add(BinaryTraceFormat.LOAD, virtualAddress, 0);
+        }
+
+        @Override
+        public void store(int virtualAddress, int data) {
+            add(BinaryTraceFormat.STORE, virtualAddress, data);
+        }
+
+        private void add(byte opcode, int address, int value) {
+            if (size == opcodes.length) {
+                if (size == Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("The trace is too long to be decoded into memory");
+                }
+                int capacity = (int) Math.min((long) size * 2, Integer.MAX_VALUE - 8);
+                opcodes = Arrays.copyOf(opcodes, capacity);
+                addresses = Arrays.copyOf(addresses, capacity);
+                data = Arrays.copyOf(data, capacity);
+            }
+            opcodes[size] = opcode;
+            addresses[size] = address;
+            data[size] = value;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.vms.trace;
+
+import java.nio.file.Path;
+
+/**
+ * Reads traces in the Dinero "din" format. Each line has a label and a hexadecimal address,
+ * e.g. {@code "0 7fff5a10"}: labels 0 (data read) and 2 (instruction fetch) become Load operations,
+ * label 1 (data write) becomes a Store, and labels 3 (escape) and 4 (cache flush) are ignored.
+ * Anything after the address is ignored. The trace does not record the stored values, so 0 is stored.
+ */
+public class DineroTraceSource extends TextTraceSource {
+
+    /**
+     * Creates a Dinero trace source.
+     * @param path The path of the trace file.
+     * @param virtualAddressWidth The width of the simulated virtual address space.
+     * @param pageSize The page size of the simulation.
+     */
+    public DineroTraceSource(Path path, int virtualAddressWidth, int pageSize) {
+        super(path, virtualAddressWidth, pageSize);
+    }
+
+    @Override
+    protected int parseLine(String line, TraceSink sink) {
+        int index = skipBlanks(line, 0);
+        if (index == line.length()) {
+            return 0; // blank line
+        }
+        char label = line.charAt(index);
+        int addressStart = skipBlanks(line, index + 1);
+        if (addressStart == index + 1 || addressStart == line.length()) {
+            return label == '3' || label == '4' ? 0 : -1; // escape and flush records may have no address
+        }
+        int addressEnd = addressStart;
+        while (addressEnd < line.length() && line.charAt(addressEnd) != ' ' && line.charAt(addressEnd) != '\t') {
+            addressEnd++;
+        }
+        long address = parseHex(line, addressStart, addressEnd);
+        switch (label) {
+            case '0':
+            case '2':
+                sink.load(fold(address));
+                return 1;
+            case '1':
+                sink.store(fold(address), 0);
+                return 1;
+            case '3':
+            case '4':
+                return 0;
+            default:
+                return -1;
+        }
+    }
+}
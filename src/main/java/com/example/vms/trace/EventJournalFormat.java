@@ -0,0 +1,19 @@
+package com.example.vms.trace;
+
+/**
+ * Layout of the event journal.
+ * A file starts with an 8-byte header (the magic number and the format version) followed by
+ * fixed-width 20-byte records: the operation index (8 bytes), the VPN (4), the frame (4, -1 if none),
+ * the event code (1, the ordinal of SimulationEvent), a flags byte and two reserved bytes. All values are big-endian.
+ */
+final class EventJournalFormat {
+    static final int MAGIC = 0x564D534A; // "VMSJ"
+    static final int VERSION = 1; // format version
+    static final int HEADER_SIZE = 8; // magic + version
+    static final int RECORD_SIZE = 20; // operation + vpn + frame + event + flags + reserved
+
+    static final byte FLAG_DIRTY = 1; // the evicted page was dirty
+
+    private EventJournalFormat() {
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.vms.trace;
+
+import com.example.vms.model.SimulationEvent;
+import com.example.vms.model.SimulationListener;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams an event journal (see {@link EventJournalFormat}) into a listener, for analysing a simulation
+ * after it has finished. Like {@link BinaryTraceSource}, the file is memory-mapped one window at a time,
+ * so memory use does not depend on the length of the journal.
+ */
+public class EventJournalReader {
+    private static final long WINDOW_RECORDS = 1 << 21; // records per mapped window (40 MB)
+    private static final SimulationEvent[] EVENTS = SimulationEvent.values(); // events by code
+
+    private final Path path; // journal file
+    private final long recordCount; // number of records in the file
+
+    /**
+     * Opens a journal file and checks its header.
+     * @param path The path of the journal file.
+     * @throws IOException if the file cannot be read or is not a valid event journal.
+     */
+    public EventJournalReader(Path path) throws IOException {
+        this.path = path;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < EventJournalFormat.HEADER_SIZE) {
+                throw new IOException("Not an event journal: " + path);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, EventJournalFormat.HEADER_SIZE);
+            if (header.getInt() != EventJournalFormat.MAGIC) {
+                throw new IOException("Not an event journal: " + path);
+            }
+            int version = header.getInt();
+            if (version != EventJournalFormat.VERSION) {
+                throw new IOException("Unsupported event journal version " + version + ": " + path);
+            }
+            long body = size - EventJournalFormat.HEADER_SIZE;
+            if (body % EventJournalFormat.RECORD_SIZE != 0) {
+                throw new IOException("Truncated event journal: " + path);
+            }
+            this.recordCount = body / EventJournalFormat.RECORD_SIZE;
+        }
+    }
+
+    /**
+     * Passes every record of the journal to the listener, in the order they were written.
+     * @param listener The listener that receives the events.
+     * @return The number of events read.
+     * @throws IOException if the file cannot be read or contains an unknown event code.
+     */
+    public long read(SimulationListener listener) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long record = 0;
+            while (record < recordCount) {
+                long records = Math.min(WINDOW_RECORDS, recordCount - record);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                        EventJournalFormat.HEADER_SIZE + record * EventJournalFormat.RECORD_SIZE,
+                        records * EventJournalFormat.RECORD_SIZE);
+                for (long i = 0; i < records; i++) {
+                    long operation = window.getLong();
+                    int vpn = window.getInt();
+                    int frame = window.getInt();
+                    int code = window.get();
+                    byte flags = window.get();
+                    window.getShort(); // reserved
+                    if (code < 0 || code >= EVENTS.length) {
+                        throw new IOException("Unknown event code " + code + " in record " + (record + i) + " of " + path);
+                    }
+                    listener.onEvent(EVENTS[code], operation, vpn, frame, (flags & EventJournalFormat.FLAG_DIRTY) != 0);
+                }
+                record += records;
+            }
+        }
+        return recordCount;
+    }
+
+    public long getRecordCount() { return recordCount; } // gets the number of events in the journal
+}
@@ -0,0 +1,83 @@
+package com.example.vms.trace;
+
+import com.example.vms.model.SimulationEvent;
+import com.example.vms.model.SimulationListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records the events of a simulation in an event journal file (see {@link EventJournalFormat}).
+ * Records are collected in a direct buffer and written to the file channel when the buffer is full,
+ * so journaling costs a few stores per event instead of building and writing a line of text.
+ */
+public class EventJournalWriter implements SimulationListener, Closeable {
+    private static final int BUFFER_RECORDS = 8192; // records buffered before each write
+
+    private final FileChannel channel; // output file
+    private final ByteBuffer buffer; // pending records
+    private long recordCount; // number of records written so far
+
+    /**
+     * Creates (or truncates) a journal file and writes its header.
+     * @param path The path of the journal file.
+     * @throws IOException if the file cannot be created.
+     */
+    public EventJournalWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * EventJournalFormat.RECORD_SIZE);
+        this.recordCount = 0;
+        buffer.putInt(EventJournalFormat.MAGIC).putInt(EventJournalFormat.VERSION);
+    }
+
+    /**
+     * Appends one record, flushing the buffer first if it has no room left.
+     * The listener method cannot throw IOException, so write errors are rethrown unchecked.
+     */
+    @Override
+    public void onEvent(SimulationEvent event, long operation, int vpn, int frame, boolean dirty) {
+        if (buffer.remaining() < EventJournalFormat.RECORD_SIZE) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        buffer.putLong(operation).putInt(vpn).putInt(frame)
+                .put((byte) event.ordinal()).put(dirty ? EventJournalFormat.FLAG_DIRTY : 0).putShort((short) 0);
+        recordCount++;
+    }
+
+    /**
+     * Writes the buffered records to the file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes the remaining records and closes the file.
+     * @throws IOException if the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    public long getRecordCount() { return recordCount; } // gets the number of records written
+}
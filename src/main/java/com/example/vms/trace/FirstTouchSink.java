@@ -0,0 +1,66 @@
+package com.example.vms.trace;
+
+import java.util.BitSet;
+
+/**
+ * Sink decorator that allocates a page the first time it is touched.
+ * Address traces recorded from real programs only contain loads and stores, while the simulator
+ * expects every page to be allocated before it is used, so an Allocate is inserted in front of the
+ * first access to each page.
+ */
+public class FirstTouchSink implements TraceSink {
+    private final TraceSink sink; // sink that receives the operations
+    private final int pageSize; // page size used to find the VPN of an address
+    private final BitSet allocated; // VPNs that have already been allocated
+    private long allocations; // number of Allocate operations inserted
+
+    /**
+     * Creates a first-touch decorator.
+     * @param sink The sink that receives the operations.
+     * @param pageSize The page size of the simulation.
+     */
+    public FirstTouchSink(TraceSink sink, int pageSize) {
+        this.sink = sink;
+        this.pageSize = pageSize;
+        this.allocated = new BitSet();
+        this.allocations = 0;
+    }
+
+    @Override
+    public void allocatePage(int vpn) {
+        if (vpn >= 0) {
+            allocated.set(vpn);
+        }
+        sink.allocatePage(vpn);
+    }
+
+    @Override
+    public void load(int virtualAddress) {
+        touch(virtualAddress);
+        sink.load(virtualAddress);
+    }
+
+    @Override
+    public void store(int virtualAddress, int data) {
+        touch(virtualAddress);
+        sink.store(virtualAddress, data);
+    }
+
+    /**
+     * Allocates the page of an address if it has not been allocated yet.
+     * @param virtualAddress The accessed virtual address.
+     */
+    private void touch(int virtualAddress) {
+        if (virtualAddress < 0) {
+            return; // left for the sink to reject
+        }
+        int vpn = virtualAddress / pageSize;
+        if (!allocated.get(vpn)) {
+            allocated.set(vpn);
+            allocations++;
+            sink.allocatePage(vpn);
+        }
+    }
+
+    public long getAllocations() { return allocations; } // gets the number of Allocate operations inserted
+}
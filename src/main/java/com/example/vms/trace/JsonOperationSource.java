@@ -0,0 +1,52 @@
+package com.example.vms.trace;
+
+import com.example.vms.utils.Operation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streams operations written in the JSON format of the configuration files (see {@link OperationListSource})
+ * into a sink. The input is either a JSON array of operations or a sequence of operation objects, for example
+ * one per line (NDJSON). Operations are parsed one at a time, so the input is never held in memory as a whole.
+ */
+public class JsonOperationSource implements TraceSource {
+    private static final ObjectReader READER = new ObjectMapper().readerFor(Operation.class)
+            .without(JsonParser.Feature.AUTO_CLOSE_SOURCE); // parses one operation, leaving the input open
+
+    private final InputStream input; // JSON text
+    private final int pageSize; // page size used to compute store addresses
+
+    /**
+     * Creates a source over a JSON input. The input is read by replay and not closed.
+     * @param input The JSON text.
+     * @param pageSize The page size of the simulation.
+     */
+    public JsonOperationSource(InputStream input, int pageSize) {
+        this.input = input;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Parses the operations and replays them into the sink. Operations of an unknown type are skipped.
+     * @param sink The sink that receives the operations.
+     * @return The number of operations replayed.
+     * @throws IOException if the input cannot be read or is not valid JSON.
+     */
+    @Override
+    public long replay(TraceSink sink) throws IOException {
+        long count = 0;
+        try (MappingIterator<Operation> operations = READER.readValues(input)) {
+            while (operations.hasNextValue()) {
+                if (OperationListSource.apply(operations.nextValue(), pageSize, sink)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.vms.trace;
+
+import java.nio.file.Path;
+
+/**
+ * Reads traces written by Valgrind with {@code --tool=lackey --trace-mem=yes}.
+ * Each access line has a kind, a hexadecimal address and a size, e.g. {@code " L 04222cac,8"}:
+ * I (instruction fetch) and L (data load) become Load operations, S (data store) becomes a Store and
+ * M (modify) becomes a Load followed by a Store. Valgrind's own messages (lines starting with "==") are ignored.
+ * The trace does not record the stored values, so the access size is stored as data.
+ */
+public class LackeyTraceSource extends TextTraceSource {
+
+    /**
+     * Creates a Lackey trace source.
+     * @param path The path of the trace file.
+     * @param virtualAddressWidth The width of the simulated virtual address space.
+     * @param pageSize The page size of the simulation.
+     */
+    public LackeyTraceSource(Path path, int virtualAddressWidth, int pageSize) {
+        super(path, virtualAddressWidth, pageSize);
+    }
+
+    @Override
+    protected int parseLine(String line, TraceSink sink) {
+        int index = skipBlanks(line, 0);
+        if (index == line.length() || line.startsWith("==", index)) {
+            return 0; // blank line or Valgrind message
+        }
+        char kind = line.charAt(index);
+        int addressStart = skipBlanks(line, index + 1);
+        int comma = line.indexOf(',', addressStart);
+        if (addressStart == index + 1 || comma == -1) {
+            return -1;
+        }
+        long address = parseHex(line, addressStart, comma);
+        int virtualAddress = fold(address);
+        int size = 0;
+        for (int i = comma + 1; i < line.length() && Character.isDigit(line.charAt(i)); i++) {
+            size = size * 10 + (line.charAt(i) - '0');
+        }
+        switch (kind) {
+            case 'I':
+            case 'L':
+                sink.load(virtualAddress);
+                return 1;
+            case 'S':
+                sink.store(virtualAddress, size);
+                return 1;
+            case 'M':
+                sink.load(virtualAddress);
+                sink.store(virtualAddress, size);
+                return 2;
+            default:
+                return -1;
+        }
+    }
+}
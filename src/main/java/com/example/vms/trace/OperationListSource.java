@@ -0,0 +1,66 @@
+package com.example.vms.trace;
+
+import com.example.vms.utils.Operation;
+
+import java.util.List;
+
+/**
+ * Trace source backed by the operations list of a JSON configuration file.
+ * Store operations are given as a VPN and an offset, so they are turned into a virtual address using the page size.
+ */
+public class OperationListSource implements TraceSource {
+    private final List<Operation> operations; // operations loaded from the configuration
+    private final int pageSize; // page size used to compute store addresses
+
+    /**
+     * Creates a source over a list of operations.
+     * @param operations The operations to replay.
+     * @param pageSize The page size of the simulation.
+     */
+    public OperationListSource(List<Operation> operations, int pageSize) {
+        this.operations = operations;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Replays the operations into the sink. Operations of an unknown type are skipped.
+     * @param sink The sink that receives the operations.
+     * @return The number of operations replayed.
+     */
+    @Override
+    public long replay(TraceSink sink) {
+        long count = 0;
+        for (Operation operation : operations) {
+            if (apply(operation, pageSize, sink)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Passes one operation to a sink.
+     * @param operation The operation, as written in a configuration file.
+     * @param pageSize The page size used to compute store addresses.
+     * @param sink The sink that receives the operation.
+     * @return false if the operation has an unknown type and was skipped, true otherwise.
+     */
+    static boolean apply(Operation operation, int pageSize, TraceSink sink) {
+        if (operation.getType() == null) {
+            return false;
+        }
+        switch (operation.getType()) {
+            case "Allocate":
+                sink.allocatePage(operation.getVpn());
+                return true;
+            case "Load":
+                sink.load(operation.getAddress());
+                return true;
+            case "Store":
+                sink.store(operation.getVpn() * pageSize + operation.getOffset(), operation.getData());
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.vms.trace;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Base class for line-based address trace formats.
+ * The file is read line by line, so traces of any length are replayed with constant memory.
+ * Recorded addresses are usually 64-bit, so they are folded into the simulated virtual address space
+ * (address modulo the virtual memory size), which keeps the page and offset structure of the trace.
+ * Pages are allocated on first touch.
+ */
+public abstract class TextTraceSource implements TraceSource {
+    private final Path path; // trace file
+    private final long virtualMemorySize; // size of the simulated virtual address space
+    private final int pageSize; // page size of the simulation
+
+    /**
+     * Creates a text trace source.
+     * @param path The path of the trace file.
+     * @param virtualAddressWidth The width of the simulated virtual address space.
+     * @param pageSize The page size of the simulation.
+     */
+    protected TextTraceSource(Path path, int virtualAddressWidth, int pageSize) {
+        this.path = path;
+        this.virtualMemorySize = 1L << virtualAddressWidth;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Replays every access of the file into the sink, allocating pages on first touch.
+     * @param sink The sink that receives the operations.
+     * @return The number of operations replayed, including the inserted Allocate operations.
+     * @throws IOException if the file cannot be read or contains a malformed line.
+     */
+    @Override
+    public long replay(TraceSink sink) throws IOException {
+        FirstTouchSink firstTouch = new FirstTouchSink(sink, pageSize);
+        long count = 0;
+        long lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.ISO_8859_1)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                int accesses;
+                try {
+                    accesses = parseLine(line, firstTouch);
+                } catch (NumberFormatException e) {
+                    accesses = -1; // the address is not hexadecimal
+                }
+                if (accesses < 0) {
+                    throw new IOException("Malformed line " + lineNumber + " in " + path + ": " + line);
+                }
+                count += accesses;
+            }
+        }
+        return count + firstTouch.getAllocations();
+    }
+
+    /**
+     * Parses one line of the trace and sends its accesses to the sink.
+     * @param line The line, without the line terminator.
+     * @param sink The sink that receives the accesses.
+     * @return The number of accesses sent (0 for lines that are ignored), or -1 if the line is malformed.
+     * @throws NumberFormatException if an address of the line is not hexadecimal (also a malformed line).
+     */
+    protected abstract int parseLine(String line, TraceSink sink);
+
+    /**
+     * Folds a recorded address into the simulated virtual address space.
+     * @param address The recorded address (treated as unsigned).
+     * @return The simulated virtual address.
+     */
+    protected int fold(long address) {
+        return (int) Long.remainderUnsigned(address, virtualMemorySize);
+    }
+
+    /**
+     * Parses a hexadecimal number without creating intermediate strings. An optional 0x prefix is skipped.
+     * @param line The text.
+     * @param start The index of the first character.
+     * @param end The index after the last character.
+     * @return The value; every 64-bit value is valid, including ffffffffffffffff (-1).
+     * @throws NumberFormatException if the text is empty, longer than 16 digits or not hexadecimal.
+     */
+    protected static long parseHex(String line, int start, int end) {
+        if (end - start > 2 && line.charAt(start) == '0' && (line.charAt(start + 1) == 'x' || line.charAt(start + 1) == 'X')) {
+            start += 2;
+        }
+        if (start >= end || end - start > 16) {
+            throw new NumberFormatException("Not a 64-bit hexadecimal number: " + line.substring(start, end));
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(line.charAt(i), 16);
+            if (digit < 0) {
+                throw new NumberFormatException("Not a 64-bit hexadecimal number: " + line.substring(start, end));
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    /**
+     * Skips spaces and tabs.
+     * @param line The text.
+     * @param index The index to start from.
+     * @return The index of the first character that is not a space or tab.
+     */
+    protected static int skipBlanks(String line, int index) {
+        while (index < line.length() && (line.charAt(index) == ' ' || line.charAt(index) == '\t')) {
+            index++;
+        }
+        return index;
+    }
+}
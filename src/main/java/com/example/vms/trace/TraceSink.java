@@ -0,0 +1,11 @@
+package com.example.vms.trace;
+
+/**
+ * Receives the operations of a trace. The methods mirror the operations of the simulator
+ * (Allocate, Load and Store), so a {@link com.example.vms.model.MemoryManager} can consume a trace directly.
+ */
+public interface TraceSink {
+    void allocatePage(int vpn); // Allocate the virtual page
+    void load(int virtualAddress); // Load from the virtual address
+    void store(int virtualAddress, int data); // Store the data at the virtual address
+}
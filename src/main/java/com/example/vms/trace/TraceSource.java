@@ -0,0 +1,17 @@
+package com.example.vms.trace;
+
+import java.io.IOException;
+
+/**
+ * A stream of simulator operations. A source pushes its operations, in order, into a {@link TraceSink},
+ * which lets traces be replayed without building a list of operation objects first.
+ */
+public interface TraceSource {
+    /**
+     * Replays every operation of the trace into the sink.
+     * @param sink The sink that receives the operations.
+     * @return The number of operations replayed.
+     * @throws IOException if the trace cannot be read.
+     */
+    long replay(TraceSink sink) throws IOException;
+}
@@ -0,0 +1,54 @@
+package com.example.vms.trace;
+
+import com.example.vms.utils.ConfigLoader;
+import com.example.vms.utils.SimulationConfig;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Opens trace files by their format. The format is taken from the file extension unless it is given explicitly.
+ * Address traces recorded from real programs (Valgrind lackey and Dinero din) are parsed on a background thread.
+ */
+public class TraceSources {
+
+    /**
+     * Opens a trace file.
+     * @param path The path of the trace file.
+     * @param format The trace format (json, bin, lackey or din), or null to use the file extension.
+     * @param config The simulation configuration the trace is replayed against.
+     * @return The trace source.
+     * @throws IOException if the file cannot be read or the format is unknown.
+     */
+    public static TraceSource open(String path, String format, SimulationConfig config) throws IOException {
+        String type = format != null ? format : extension(path);
+        switch (type) {
+            case "json":
+                SimulationConfig traceConfig = ConfigLoader.loadConfigFromFile(path);
+                if (traceConfig.getOperations() == null) {
+                    throw new IOException("No operations found in " + path);
+                }
+                return new OperationListSource(traceConfig.getOperations(), config.getPageSize());
+            case "bin":
+                return new BinaryTraceSource(Path.of(path));
+            case "lackey":
+                return new AsyncTraceSource(new LackeyTraceSource(Path.of(path),
+                        config.getVirtualAddressWidth(), config.getPageSize()));
+            case "din":
+                return new AsyncTraceSource(new DineroTraceSource(Path.of(path),
+                        config.getVirtualAddressWidth(), config.getPageSize()));
+            default:
+                throw new IOException("Unknown trace format: " + type);
+        }
+    }
+
+    /**
+     * Returns the lower-case extension of a file name.
+     * @param path The file name.
+     * @return The extension without the dot, or an empty string if there is none.
+     */
+    static String extension(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot == -1 ? "" : path.substring(dot + 1).toLowerCase();
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.vms.trace;
+
+import com.example.vms.utils.ZipfSampler;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic access streams. Operations are produced one at a time while they are replayed,
+ * so a workload of any length needs constant memory, and the same seed always gives the same stream.
+ * Supported patterns:
+ * Uniform: every page of the working set is equally likely,
+ * Zipf: page k of the working set is chosen with probability proportional to 1 / (k+1)^alpha,
+ * Sequential: the working set is scanned word by word, wrapping around at its end,
+ * Loop: the working set is visited one access per page, over and over,
+ * Strided: addresses advance by a fixed stride, wrapping around at the end of the working set,
+ * Phased: uniform accesses to a working set that moves to a new random place every phase.
+ * The working set is given in pages and is limited to the virtual address space. Pages are allocated
+ * on their first access, and each access is a Store with the configured probability (a Load otherwise).
+ */
+public class WorkloadGenerator implements TraceSource {
+    private static final int WORD_SIZE = 4; // bytes per access of the Sequential pattern
+
+    private final String pattern; // Uniform, Zipf, Sequential, Loop, Strided or Phased
+    private final int pageSize; // page size of the simulation
+    private final int virtualPages; // number of pages in the virtual address space
+    private final long operations; // number of accesses to generate
+    private final long seed; // seed of the random number generator
+    private int workingSetPages; // number of pages accessed (per phase for Phased)
+    private double alpha = 1.0; // skew of the Zipf pattern
+    private int stride; // stride in bytes of the Strided pattern
+    private long phaseLength = 10000; // accesses per phase of the Phased pattern
+    private double storeRatio = 0.25; // probability that an access is a Store
+
+    /**
+     * Creates a generator for a virtual address space.
+     * @param pattern The access pattern (Uniform, Zipf, Sequential, Loop, Strided or Phased, case-insensitive).
+     * @param virtualAddressWidth The width of the virtual address space.
+     * @param pageSize The page size.
+     * @param operations The number of accesses to generate.
+     * @param seed The random seed.
+     */
+    public WorkloadGenerator(String pattern, int virtualAddressWidth, int pageSize, long operations, long seed) {
+        this.pattern = normalize(pattern);
+        if (pageSize <= 0 || virtualAddressWidth <= 0 || virtualAddressWidth > 30 || (1 << virtualAddressWidth) < pageSize) {
+            throw new IllegalArgumentException("Invalid address space: width " + virtualAddressWidth + ", page size " + pageSize);
+        }
+        this.pageSize = pageSize;
+        this.virtualPages = (1 << virtualAddressWidth) / pageSize;
+        this.operations = operations;
+        this.seed = seed;
+        this.workingSetPages = this.pattern.equals("Phased") ? Math.max(virtualPages / 8, 1) : virtualPages;
+        this.stride = pageSize + WORD_SIZE;
+    }
+
+    /**
+     * Generates the workload into the sink.
+     * @param sink The sink that receives the operations.
+     * @return The number of operations, including the Allocate operations inserted on first touch.
+     */
+    @Override
+    public long replay(TraceSink sink) {
+        FirstTouchSink firstTouch = new FirstTouchSink(sink, pageSize);
+        SplittableRandom random = new SplittableRandom(seed);
+        ZipfSampler zipf = pattern.equals("Zipf") ? new ZipfSampler(workingSetPages, alpha) : null;
+        long span = (long) workingSetPages * pageSize; // bytes covered by the working set
+        long position = 0; // current byte of the scanning patterns
+        int phaseBase = 0; // first page of the current phase
+        for (long i = 0; i < operations; i++) {
+            int address;
+            switch (pattern) {
+                case "Zipf":
+                    address = pageAddress(zipf.sample(random) - 1, random);
+                    break;
+                case "Sequential":
+                    address = (int) position;
+                    position = (position + WORD_SIZE) % span;
+                    break;
+                case "Loop":
+                    address = (int) position;
+                    position = (position + pageSize) % span;
+                    break;
+                case "Strided":
+                    address = (int) position;
+                    position = (position + stride) % span;
+                    break;
+                case "Phased":
+                    if (i % phaseLength == 0) {
+                        phaseBase = random.nextInt(virtualPages);
+                    }
+                    address = pageAddress((phaseBase + random.nextInt(workingSetPages)) % virtualPages, random);
+                    break;
+                case "Uniform":
+                default:
+                    address = pageAddress(random.nextInt(workingSetPages), random);
+            }
+            if (random.nextDouble() < storeRatio) {
+                firstTouch.store(address, random.nextInt());
+            } else {
+                firstTouch.load(address);
+            }
+        }
+        return operations + firstTouch.getAllocations();
+    }
+
+    /**
+     * Returns a random address inside a page.
+     * @param vpn The virtual page number.
+     * @param random The random number generator.
+     * @return The virtual address.
+     */
+    private int pageAddress(int vpn, SplittableRandom random) {
+        return vpn * pageSize + random.nextInt(pageSize);
+    }
+
+    /**
+     * Maps a pattern name to its canonical spelling.
+     * @param pattern The pattern name.
+     * @return The canonical name.
+     */
+    private static String normalize(String pattern) {
+        switch (pattern == null ? "" : pattern.toLowerCase()) {
+            case "uniform": return "Uniform";
+            case "zipf": return "Zipf";
+            case "sequential": case "seq": return "Sequential";
+            case "loop": return "Loop";
+            case "strided": return "Strided";
+            case "phased": return "Phased";
+            default: throw new IllegalArgumentException("Unknown workload pattern: " + pattern);
+        }
+    }
+
+    /**
+     * Sets the number of pages accessed (per phase for the Phased pattern), limited to the virtual address space.
+     * @param workingSetPages The working set size in pages.
+     */
+    public void setWorkingSetPages(int workingSetPages) {
+        this.workingSetPages = Math.max(1, Math.min(workingSetPages, virtualPages));
+    }
+
+    /**
+     * Sets the skew of the Zipf pattern.
+     * @param alpha The Zipf exponent (must be positive).
+     */
+    public void setAlpha(double alpha) {
+        if (!(alpha > 0)) {
+            throw new IllegalArgumentException("The Zipf exponent must be positive: " + alpha);
+        }
+        this.alpha = alpha;
+    }
+
+    /**
+     * Sets the stride of the Strided pattern.
+     * @param stride The stride in bytes (must be positive).
+     */
+    public void setStride(int stride) {
+        if (stride <= 0) {
+            throw new IllegalArgumentException("The stride must be positive: " + stride);
+        }
+        this.stride = stride;
+    }
+
+    /**
+     * Sets the length of a phase of the Phased pattern.
+     * @param phaseLength The number of accesses per phase (must be positive).
+     */
+    public void setPhaseLength(long phaseLength) {
+        if (phaseLength <= 0) {
+            throw new IllegalArgumentException("The phase length must be positive: " + phaseLength);
+        }
+        this.phaseLength = phaseLength;
+    }
+
+    /**
+     * Sets the probability that an access is a Store.
+     * @param storeRatio The store probability between 0 and 1.
+     */
+    public void setStoreRatio(double storeRatio) {
+        this.storeRatio = Math.max(0, Math.min(storeRatio, 1));
+    }
+
+    public String getPattern() { return pattern; } // gets the canonical pattern name
+    public int getWorkingSetPages() { return workingSetPages; } // gets the working set size in pages
+}
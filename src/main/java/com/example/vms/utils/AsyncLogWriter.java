@@ -0,0 +1,206 @@
+package com.example.vms.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes log lines from any number of threads to a single writer without making the callers wait for the disk.
+ * Messages go into a bounded ring buffer (many producers, one consumer); a background thread takes them out
+ * in batches, writes a whole batch through the writer and flushes once per batch instead of once per line.
+ * Producers claim a slot with a compare-and-set on the tail counter and publish it through the slot's
+ * sequence number, so no lock is taken on the logging path.
+ * When the buffer is full the overflow policy decides whether a message is dropped (and counted) or
+ * whether the producer waits until the writer thread has made room.
+ */
+public class AsyncLogWriter implements AutoCloseable {
+
+    /**
+     * What happens to a message that arrives while the ring buffer is full.
+     */
+    public enum OverflowPolicy {
+        DROP, // discard the message and count it
+        BLOCK // wait until the writer thread frees a slot
+    }
+
+    public static final int DEFAULT_CAPACITY = 1 << 16; // messages that can wait for the writer thread
+    private static final int MAX_BATCH = 4096; // messages written between two flushes
+    private static final long IDLE_PARK_NANOS = 1_000_000L; // how long the writer sleeps when the buffer is empty
+
+    private final Writer out; // destination of the log lines
+    private final String[] messages; // ring buffer slots
+    private final AtomicLongArray sequences; // slot i holds position p when sequences[i] == p + 1, is free for p when == p
+    private final int mask; // capacity - 1 (the capacity is a power of two)
+    private final AtomicLong tail = new AtomicLong(); // next position a producer will claim
+    private long head; // next position the writer thread reads (writer thread only)
+    private volatile long written; // positions below this are written and flushed
+    private volatile OverflowPolicy policy; // behaviour when the buffer is full
+    private volatile boolean closed; // set once close() has been called
+    private volatile boolean idle; // true while the writer thread is parked on an empty buffer
+    private final LongAdder dropped = new LongAdder(); // messages discarded by the DROP policy
+    private final Thread worker; // background thread that drains the buffer
+
+    /**
+     * Creates a writer with the default capacity and starts its background thread.
+     * @param out The destination of the log lines.
+     * @param policy The overflow policy.
+     */
+    public AsyncLogWriter(Writer out, OverflowPolicy policy) {
+        this(out, DEFAULT_CAPACITY, policy);
+    }
+
+    /**
+     * Creates a writer and starts its background thread.
+     * @param out The destination of the log lines.
+     * @param capacity The number of messages that can be queued, rounded up to a power of two.
+     * @param policy The overflow policy.
+     */
+    public AsyncLogWriter(Writer out, int capacity, OverflowPolicy policy) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.out = out;
+        this.messages = new String[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.policy = policy != null ? policy : OverflowPolicy.BLOCK;
+        this.worker = new Thread(this::drainLoop, "log-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Queues a message for writing. The line break is added by the writer thread.
+     * @param message The message.
+     * @return true if the message was queued, false if it was dropped (buffer full or writer closed).
+     */
+    public boolean write(String message) {
+        while (!closed) {
+            long position = tail.get();
+            int slot = (int) position & mask;
+            long sequence = sequences.get(slot);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    messages[slot] = message;
+                    sequences.set(slot, position + 1); // publish the message to the writer thread
+                    if (idle) {
+                        LockSupport.unpark(worker);
+                    }
+                    return true;
+                }
+            } else if (sequence < position) { // the slot still holds a message from the previous lap
+                if (policy == OverflowPolicy.DROP) {
+                    dropped.increment();
+                    return false;
+                }
+                LockSupport.unpark(worker);
+                LockSupport.parkNanos(10_000L); // give the writer thread time to free slots
+            }
+            // otherwise another producer claimed the position first; try the next one
+        }
+        return false;
+    }
+
+    /**
+     * Waits until every message queued before this call has been written and flushed.
+     */
+    public void flush() {
+        long target = tail.get();
+        while (written < target && worker.isAlive()) {
+            LockSupport.unpark(worker);
+            LockSupport.parkNanos(50_000L);
+        }
+    }
+
+    /**
+     * Writes the remaining messages, stops the background thread and closes the destination.
+     * Messages written after this call are dropped.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!worker.isAlive()) {
+            drainBatch(); // messages published while the writer thread was stopping
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Body of the background thread: writes batches until the writer is closed and the buffer is empty.
+     */
+    private void drainLoop() {
+        while (true) {
+            int count = drainBatch();
+            if (count > 0) {
+                continue;
+            }
+            if (closed && drainBatch() == 0) { // a producer may have published just before close()
+                return;
+            }
+            idle = true;
+            if (sequences.get((int) head & mask) != head + 1) { // re-check after announcing that we park
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            idle = false;
+        }
+    }
+
+    /**
+     * Writes up to MAX_BATCH queued messages and flushes the destination once.
+     * @return The number of messages written.
+     */
+    private int drainBatch() {
+        int count = 0;
+        try {
+            while (count < MAX_BATCH) {
+                int slot = (int) head & mask;
+                if (sequences.get(slot) != head + 1) {
+                    break; // nothing published at this position yet
+                }
+                String message = messages[slot];
+                messages[slot] = null;
+                sequences.set(slot, head + messages.length); // free the slot for the next lap
+                head++;
+                count++;
+                out.write(message);
+                out.write('\n');
+            }
+            if (count > 0) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        written = head;
+        return count;
+    }
+
+    /**
+     * Changes what happens to messages that arrive while the buffer is full.
+     * @param policy The new overflow policy.
+     */
+    public void setOverflowPolicy(OverflowPolicy policy) {
+        this.policy = policy != null ? policy : OverflowPolicy.BLOCK;
+    }
+
+    public OverflowPolicy getOverflowPolicy() { return policy; } // gets the overflow policy in use
+    public long getDroppedCount() { return dropped.sum(); } // gets the number of messages dropped so far
+    public int getCapacity() { return messages.length; } // gets the number of slots of the ring buffer
+}
@@ -0,0 +1,107 @@
+package com.example.vms.utils;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A set of non-negative ints that supports constant-time add, remove, membership and random pick.
+ * Elements are stored densely in an array and each element remembers its position, so removing an
+ * element swaps the last element into its place. No objects are allocated once the arrays have grown.
+ */
+public class IndexedIntSet {
+    private int[] elements; // dense array of the elements
+    private int[] positions; // position of each value in the elements array, or -1 if absent
+    private int size; // number of elements in the set
+
+    /**
+     * Constructs an empty set.
+     * @param expectedSize The expected number of elements (used to size the arrays).
+     */
+    public IndexedIntSet(int expectedSize) {
+        int capacity = Math.max(expectedSize, 8);
+        this.elements = new int[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, -1);
+        this.size = 0;
+    }
+
+    /**
+     * Adds a value to the set.
+     * @param value The value to add (must be non-negative).
+     * @return true if the value was added, false if it was already present.
+     */
+    public boolean add(int value) {
+        if (contains(value)) {
+            return false;
+        }
+        if (value >= positions.length) {
+            int oldLength = positions.length;
+            positions = Arrays.copyOf(positions, Math.max(value + 1, oldLength * 2));
+            Arrays.fill(positions, oldLength, positions.length, -1);
+        }
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        elements[size] = value;
+        positions[value] = size;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes a value from the set.
+     * @param value The value to remove.
+     * @return true if the value was removed, false if it was not present.
+     */
+    public boolean remove(int value) {
+        if (!contains(value)) {
+            return false;
+        }
+        int index = positions[value];
+        int last = elements[--size];
+        elements[index] = last;
+        positions[last] = index;
+        positions[value] = -1;
+        return true;
+    }
+
+    /**
+     * Checks if a value is in the set.
+     * @param value The value to check.
+     * @return true if the value is present, false otherwise.
+     */
+    public boolean contains(int value) {
+        return value >= 0 && value < positions.length && positions[value] != -1;
+    }
+
+    /**
+     * Returns the element stored at the given index (0 .. size - 1). The order changes when elements are removed.
+     * @param index The index of the element.
+     * @return The element at the index.
+     */
+    public int get(int index) {
+        return elements[index];
+    }
+
+    /**
+     * Returns a uniformly chosen element of the set.
+     * @param random The random number generator to use.
+     * @return A random element, or -1 if the set is empty.
+     */
+    public int randomElement(Random random) {
+        return size == 0 ? -1 : elements[random.nextInt(size)];
+    }
+
+    /**
+     * Removes every element from the set.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[elements[i]] = -1;
+        }
+        size = 0;
+    }
+
+    public int size() { return size; } // gets the number of elements
+    public boolean isEmpty() { return size == 0; } // checks if the set has no elements
+}
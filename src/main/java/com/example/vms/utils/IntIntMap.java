@@ -0,0 +1,138 @@
+package com.example.vms.utils;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from non-negative int keys to int values that stores its entries in two primitive arrays
+ * (open addressing with linear probing), so lookups neither box nor allocate.
+ * Removal shifts the following entries back instead of leaving tombstones, which keeps probe sequences short.
+ */
+public class IntIntMap {
+    private static final int EMPTY = -1; // marks a free slot
+    private int[] keys; // keys, or EMPTY
+    private int[] values; // values of the keys
+    private int size; // number of entries
+    private int mask; // capacity - 1 (the capacity is a power of two)
+
+    /**
+     * Creates an empty map.
+     * @param expectedSize The expected number of entries (used to size the arrays).
+     */
+    public IntIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Returns the value of a key.
+     * @param key The key (non-negative).
+     * @param missing The value returned if the key is absent.
+     * @return The value, or missing.
+     */
+    public int get(int key, int missing) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            if (keys[slot] == EMPTY) {
+                return missing;
+            }
+        }
+    }
+
+    /**
+     * Sets the value of a key.
+     * @param key The key (non-negative).
+     * @param value The value.
+     */
+    public void put(int key, int value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Negative key: " + key);
+        }
+        int slot = slot(key);
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == EMPTY) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+                put(key, value);
+                return;
+            }
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Removes a key.
+     * @param key The key.
+     * @param missing The value returned if the key is absent.
+     * @return The value the key had, or missing.
+     */
+    public int remove(int key, int missing) {
+        int slot = slot(key);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                return missing;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int value = values[slot];
+        size--;
+        // shift back the entries of the probe sequence that follows the freed slot
+        int free = slot;
+        for (int next = (free + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+        }
+        keys[free] = EMPTY;
+        return value;
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    public int size() { return size; } // gets the number of entries
+
+    /**
+     * Doubles the capacity and re-inserts every entry.
+     */
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+    }
+
+    private int slot(int key) {
+        int hash = key * 0x9E3779B9; // Fibonacci hashing spreads consecutive keys
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
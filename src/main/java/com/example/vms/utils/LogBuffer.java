@@ -0,0 +1,100 @@
+package com.example.vms.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The most recent log messages of one simulation session, kept in a ring buffer of fixed capacity.
+ * Every message gets a sequence number (1, 2, 3, ...), so that a client can ask only for the messages
+ * it has not seen yet. When the buffer is full the oldest message is overwritten, so the memory used
+ * stays the same however long the simulation runs.
+ */
+public class LogBuffer {
+    public static final int DEFAULT_CAPACITY = 1000; // messages kept per session
+
+    private final String[] messages; // ring buffer; message n is in slot (n - 1) % capacity
+    private long lastSequence; // sequence number of the newest message (0 if none was added)
+    private long clearedUpTo; // messages up to this sequence number were cleared
+
+    /**
+     * Creates an empty buffer.
+     * @param capacity The number of messages kept.
+     */
+    public LogBuffer(int capacity) {
+        this.messages = new String[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Adds a message, overwriting the oldest one if the buffer is full.
+     * @param message The message.
+     * @return The sequence number of the message.
+     */
+    public synchronized long add(String message) {
+        messages[(int) (lastSequence % messages.length)] = message;
+        return ++lastSequence;
+    }
+
+    /**
+     * Gets the messages that are still kept, oldest first.
+     * @return A copy of the messages.
+     */
+    public synchronized List<String> getMessages() {
+        return since(0).getMessages();
+    }
+
+    /**
+     * Gets the kept messages that came after a sequence number.
+     * @param sequence The sequence number of the last message the caller has seen (0 for all).
+     * @return The newer messages, with their position in the sequence and how many of them were overwritten.
+     */
+    public synchronized Slice since(long sequence) {
+        long first = Math.max(Math.max(sequence, clearedUpTo), lastSequence - messages.length) + 1;
+        long missed = Math.max(0, lastSequence - messages.length - Math.max(sequence, clearedUpTo));
+        List<String> slice = new ArrayList<>((int) Math.max(0, lastSequence - first + 1));
+        for (long n = first; n <= lastSequence; n++) {
+            slice.add(messages[(int) ((n - 1) % messages.length)]);
+        }
+        return new Slice(first, lastSequence, missed, slice);
+    }
+
+    /**
+     * Removes every message. Sequence numbers keep counting, so clients polling with since() are not confused.
+     */
+    public synchronized void clear() {
+        clearedUpTo = lastSequence;
+        Arrays.fill(messages, null);
+    }
+
+    public synchronized long getLastSequence() { return lastSequence; } // gets the sequence number of the newest message
+    public int getCapacity() { return messages.length; } // gets the number of messages kept
+
+    /**
+     * A run of consecutive messages returned by since().
+     */
+    public static class Slice {
+        private final long firstSequence; // sequence number of the first message of the slice
+        private final long lastSequence; // sequence number of the newest message; pass it to the next since() call
+        private final long missed; // newer messages that were overwritten before they could be returned
+        private final List<String> messages; // the messages, oldest first
+
+        /**
+         * Creates a slice.
+         * @param firstSequence The sequence number of the first message.
+         * @param lastSequence The sequence number of the newest message.
+         * @param missed The number of messages that were overwritten.
+         * @param messages The messages.
+         */
+        public Slice(long firstSequence, long lastSequence, long missed, List<String> messages) {
+            this.firstSequence = firstSequence;
+            this.lastSequence = lastSequence;
+            this.missed = missed;
+            this.messages = messages;
+        }
+
+        public long getFirstSequence() { return firstSequence; } // gets the sequence number of the first message
+        public long getLastSequence() { return lastSequence; } // gets the sequence number of the newest message
+        public long getMissed() { return missed; } // gets the number of overwritten messages
+        public List<String> getMessages() { return messages; } // gets the messages
+    }
+}
@@ -1,53 +1,256 @@
 package com.example.vms.utils;
 
-import com.example.vms.controller.MemoryController;
-
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.function.Supplier;
 
 /**
  * A utility class for logging messages to a file and maintaining the log within the simulation.
- * This class writes messages to a log file ("log.txt") and also adds them to the `logMessages` list in the `MemoryController` class.
+ * This class writes messages to a log file ("log.txt") and also adds them to the LogBuffer bound to the current thread,
+ * which the web controller binds to the session of the request being handled.
+ * The file is written by a background thread (see AsyncLogWriter), so a simulation never waits for the disk;
+ * the buffer is still updated immediately, because the web pages read it right after each operation.
+ * Every message has a level and a category. Messages above the current level or in a switched-off category are
+ * discarded, and the simulator passes its messages as a Supplier (or checks isEnabled first), so that a message
+ * nobody will read is never built.
  */
 public class LogResults {
+
+    /**
+     * How important a message is. A message is recorded if its level is at or below the current level.
+     */
+    public enum Level {
+        ERROR, // invalid requests and inconsistent states
+        INFO, // events: allocations, evictions, disk transfers, configuration
+        DEBUG // per-access details: TLB and page table lookups, loaded and stored data
+    }
+
+    /**
+     * The part of the simulator a message comes from, so that single parts can be followed or silenced.
+     */
+    public enum Category {
+        GENERAL, // access requests, allocations, statistics and web controller messages
+        MEMORY, // main memory frames
+        TLB, // TLB lookups and replacements
+        PAGETABLE, // page table lookups and updates
+        EVICTION, // page replacement decisions
+        DISK // secondary storage transfers
+    }
+
     public static final File fileInit = new File("log.txt"); //define  a file to store logs
-    public static FileWriter file = null; // FileWriter to write logs to the file
+    public static AsyncLogWriter file = null; // background writer that appends the logs to the file in batches
+    private static volatile boolean enabled = true; // Whether messages are recorded at all (batch runs turn this off)
+    private static volatile int level = Level.DEBUG.ordinal(); // Highest level that is recorded
+    private static volatile int categories = (1 << Category.values().length) - 1; // Bit set of the recorded categories
+    private static final ThreadLocal<LogBuffer> buffer = new ThreadLocal<>(); // Messages of the session handled by the current thread
+    private static final ThreadLocal<Boolean> suppressed = ThreadLocal.withInitial(() -> false); // Threads whose messages are dropped (parallel sweep workers)
 
-    // Static block to initialize the FileWriter and create the log file, because I want the initialization to happen only one time + thread safety
+    // Static block to initialize the log writer and create the log file, because I want the initialization to happen only one time + thread safety
     static {
         try {
-            file = new FileWriter("log.txt");
+            file = new AsyncLogWriter(new BufferedWriter(new FileWriter("log.txt"), 1 << 16),
+                    AsyncLogWriter.OverflowPolicy.BLOCK);
+            Runtime.getRuntime().addShutdownHook(new Thread(LogResults::close)); // write what is still queued on exit
         } catch (IOException e){
             e.printStackTrace();
         }
     }
 
     /**
-     * Logs a message to the log file and the MemoryController's logMessages list.
-     * This method ensures thread-safety by synchronizing access to the log file and the logMessages list.
+     * Checks if a message of the given level and category would be recorded by the current thread.
+     * Callers that build a message in several steps check this first.
+     * @param level the level of the message
+     * @param category the category of the message
+     * @return true if the message would be recorded, false if it would be discarded
+     */
+    public static boolean isEnabled(Level level, Category category) {
+        return enabled && level.ordinal() <= LogResults.level && (categories & (1 << category.ordinal())) != 0
+                && !suppressed.get();
+    }
+
+    /**
+     * Logs a message that is built only if it will be recorded.
+     * @param level the level of the message
+     * @param category the category of the message
+     * @param message supplies the message to be logged
+     */
+    public static void log(Level level, Category category, Supplier<String> message) {
+        if (isEnabled(level, category)) {
+            record(message.get());
+        }
+    }
+
+    /**
+     * Logs a fixed message with a level and a category.
+     * @param level the level of the message
+     * @param category the category of the message
      * @param message the message to be logged
      */
-    public static synchronized void log(String message) {
-        try {
-            file.write(message + '\n'); // write the message to the log file
+    public static void log(Level level, Category category, String message) {
+        if (isEnabled(level, category)) {
+            record(message);
+        }
+    }
+
+    /**
+     * Logs a general message at INFO level (used by the web controller and the statistics).
+     * @param message the message to be logged
+     */
+    public static void log(String message) {
+        log(Level.INFO, Category.GENERAL, message);
+    }
+
+    /**
+     * Writes a message to the log file and to the buffer of the current thread, if one is bound.
+     * The message is queued for the background writer without taking a lock.
+     * @param message the message to be logged
+     */
+    private static void record(String message) {
+        if (file != null) {
+            file.write(message); // queue the message for the log file
+        }
+        LogBuffer target = buffer.get();
+        if (target != null) {
+            target.add(message);
+        }
+    }
+
+    /**
+     * Sends the messages logged by the current thread to a buffer, until unbindBuffer() is called.
+     * @param target the buffer, or null to keep the messages only in the log file
+     */
+    public static void bindBuffer(LogBuffer target) {
+        if (target == null) {
+            buffer.remove();
+        } else {
+            buffer.set(target);
+        }
+    }
+
+    /**
+     * Stops sending the messages of the current thread to a buffer.
+     */
+    public static void unbindBuffer() {
+        buffer.remove();
+    }
+
+    /**
+     * Gets the buffer bound to the current thread.
+     * @return the buffer, or null if none is bound
+     */
+    public static LogBuffer getBoundBuffer() {
+        return buffer.get();
+    }
+
+    /**
+     * Waits until every message logged so far has been written to the log file.
+     */
+    public static void flush() {
+        if (file != null) {
             file.flush();
-            MemoryController.logMessages.add(message);
-        } catch (IOException e) {
-            e.printStackTrace();
         }
     }
 
     /**
-     * Closes the FileWriter and releases any resources associated with it.
+     * Chooses what happens to messages logged while the writer is too far behind:
+     * DROP discards them (see getDroppedCount), BLOCK makes the logging thread wait.
+     * @param policy the overflow policy
+     */
+    public static void setOverflowPolicy(AsyncLogWriter.OverflowPolicy policy) {
+        if (file != null) {
+            file.setOverflowPolicy(policy);
+        }
+    }
+
+    /**
+     * Gets the number of messages that were not written to the log file because the writer was too far behind.
+     * @return the number of dropped messages
+     */
+    public static long getDroppedCount() {
+        return file != null ? file.getDroppedCount() : 0;
+    }
+
+    /**
+     * Turns logging on or off. Headless replays turn it off so that millions of operations
+     * do not fill the log file and the in-memory message list.
+     * @param enabled true to record messages, false to drop them
+     */
+    public static void setEnabled(boolean enabled) {
+        LogResults.enabled = enabled;
+    }
+
+    /**
+     * Sets the highest level that is recorded (DEBUG records everything, ERROR only errors).
+     * @param level the new level
+     */
+    public static void setLevel(Level level) {
+        LogResults.level = level.ordinal();
+    }
+
+    /**
+     * Gets the highest level that is recorded.
+     * @return the current level
+     */
+    public static Level getLevel() {
+        return Level.values()[level];
+    }
+
+    /**
+     * Turns the messages of one category on or off.
+     * @param category the category
+     * @param on true to record its messages, false to discard them
+     */
+    public static synchronized void setCategoryEnabled(Category category, boolean on) {
+        int bit = 1 << category.ordinal();
+        categories = on ? categories | bit : categories & ~bit;
+    }
+
+    /**
+     * Records only the given categories.
+     * @param recorded the categories to record; every other category is turned off
+     */
+    public static synchronized void setCategories(Category... recorded) {
+        int bits = 0;
+        for (Category category : recorded) {
+            bits |= 1 << category.ordinal();
+        }
+        categories = bits;
+    }
+
+    /**
+     * Checks if the messages of a category are recorded (regardless of the level).
+     * @param category the category
+     * @return true if the category is turned on, false otherwise
+     */
+    public static boolean isCategoryEnabled(Category category) {
+        return (categories & (1 << category.ordinal())) != 0;
+    }
+
+    /**
+     * Turns logging off or back on for the current thread only. Parallel simulations use this so that
+     * they neither interleave their messages nor serialise on the log file.
+     * @param suppress true to drop the messages of the current thread, false to record them again
+     */
+    public static void setSuppressedForCurrentThread(boolean suppress) {
+        suppressed.set(suppress);
+    }
+
+    /**
+     * Checks if logging is turned on.
+     * @return true if messages are recorded, false otherwise
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Writes the queued messages, stops the background writer and closes the log file.
      * This method should be called when logging is complete to ensure resources are properly cleaned up.
      */
     public static synchronized void close() {
-        try {
-            if(file != null)
-                file.close(); // close the FileWriter
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        if(file != null)
+            file.close(); // drain the queue and close the file
     }
 }
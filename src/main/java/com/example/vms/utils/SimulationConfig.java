@@ -5,7 +5,7 @@ import java.util.List;
 /**
  * Represents the configuration for the virtual memory simulation.
  * This class holds the system configuration details like virtual address width,
- * page size, TLB size, physical and secondary memory size, and the replacement algorithm.
+ * page size, TLB size, physical and secondary memory size, and the page and TLB replacement algorithms.
  * It also contains a list of operations and future accesses that are part of the simulation process.
  */
 public class SimulationConfig {
@@ -15,6 +15,11 @@ public class SimulationConfig {
     private Integer physicalMemorySize;
     private Integer secondaryMemorySize;
     private String replacementAlgorithm;
+    private String tlbReplacementAlgorithm; // TLB policy (LRU, FIFO, Random, PLRU); matches the page algorithm when absent
+    private Integer referenceResetInterval; // operations between NRU reference bit resets (default 8, 0 = disabled)
+    private Long referenceResetMillis; // milliseconds between NRU reference bit resets (default 0 = disabled)
+    private String frameAllocation; // order of free frames (LowestFirst, Stack, Colouring); LowestFirst when absent
+    private Integer pageColours; // number of page colours used by the Colouring frame allocation
     private List<Operation> operations; // List of predefined operations like "Load", "Store", "Allocate".
     private List<Integer> futureAccesses; // List of future memory accesses
 
@@ -31,8 +36,41 @@ public class SimulationConfig {
     public void setSecondaryMemorySize(int secondaryMemorySize) { this.secondaryMemorySize = secondaryMemorySize; }
     public String getReplacementAlgorithm() { return replacementAlgorithm; }
     public void setReplacementAlgorithm(String replacementAlgorithm) { this.replacementAlgorithm = replacementAlgorithm; }
+    public String getTlbReplacementAlgorithm() { return tlbReplacementAlgorithm; }
+    public void setTlbReplacementAlgorithm(String tlbReplacementAlgorithm) { this.tlbReplacementAlgorithm = tlbReplacementAlgorithm; }
+    public Integer getReferenceResetInterval() { return referenceResetInterval; }
+    public void setReferenceResetInterval(Integer referenceResetInterval) { this.referenceResetInterval = referenceResetInterval; }
+    public Long getReferenceResetMillis() { return referenceResetMillis; }
+    public void setReferenceResetMillis(Long referenceResetMillis) { this.referenceResetMillis = referenceResetMillis; }
+    public String getFrameAllocation() { return frameAllocation; }
+    public void setFrameAllocation(String frameAllocation) { this.frameAllocation = frameAllocation; }
+    public Integer getPageColours() { return pageColours; }
+    public void setPageColours(Integer pageColours) { this.pageColours = pageColours; }
     public List<Operation> getOperations() { return operations; }
     public void setOperations(List<Operation> operations) { this.operations = operations; }
     public void setFutureAccesses(List<Integer> futureAccesses) { this.futureAccesses = futureAccesses; }
     public List<Integer> getFutureAccesses() { return futureAccesses; }
+
+    /**
+     * Creates a copy of this configuration that can be changed independently.
+     * The operations and future accesses lists are shared, since they are only read.
+     * @return The copy.
+     */
+    public SimulationConfig copy() {
+        SimulationConfig copy = new SimulationConfig();
+        copy.virtualAddressWidth = virtualAddressWidth;
+        copy.pageSize = pageSize;
+        copy.tlbSize = tlbSize;
+        copy.physicalMemorySize = physicalMemorySize;
+        copy.secondaryMemorySize = secondaryMemorySize;
+        copy.replacementAlgorithm = replacementAlgorithm;
+        copy.tlbReplacementAlgorithm = tlbReplacementAlgorithm;
+        copy.referenceResetInterval = referenceResetInterval;
+        copy.referenceResetMillis = referenceResetMillis;
+        copy.frameAllocation = frameAllocation;
+        copy.pageColours = pageColours;
+        copy.operations = operations;
+        copy.futureAccesses = futureAccesses;
+        return copy;
+    }
 }
@@ -0,0 +1,74 @@
+package com.example.vms.utils;
+
+import com.example.vms.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds memory managers and replacement algorithms from configuration values, so that the web controller
+ * and the batch tools set up simulations in the same way.
+ */
+public class SimulationFactory {
+
+    /**
+     * Creates the page replacement algorithm with the given name.
+     * @param replacementAlgorithm The algorithm name (FIFO, LRU, NRU, Optimal); FIFO is used for unknown names.
+     * @param pageSize The page size.
+     * @param physicalMemorySize The physical memory size.
+     * @param futureAccesses The future page accesses used by the Optimal algorithm (may be null).
+     * @return The replacement algorithm.
+     */
+    public static ReplacementAlgorithm createReplacementAlgorithm(String replacementAlgorithm, int pageSize,
+                                                                  int physicalMemorySize, List<Integer> futureAccesses) {
+        switch (replacementAlgorithm == null ? "FIFO" : replacementAlgorithm) {
+            case "LRU":
+                return new LRUReplacement(null); // the memory manager binds it to its page table
+            case "NRU":
+                return new NRUReplacement(null);
+            case "Optimal":
+                OptimalReplacement optimal = new OptimalReplacement();
+                optimal.setFutureAccesses(futureAccesses != null ? futureAccesses : new ArrayList<>());
+                return optimal;
+            case "FIFO":
+            default:
+                int maxSize = 0;
+                if (pageSize != 0)
+                    maxSize = physicalMemorySize / pageSize;
+                return new FIFOReplacement(maxSize);
+        }
+    }
+
+    /**
+     * Creates a memory manager for a configuration, including the optional TLB policy,
+     * frame allocation and reference bit reset settings.
+     * @param config The simulation configuration.
+     * @return The configured memory manager.
+     */
+    public static MemoryManager createMemoryManager(SimulationConfig config) {
+        ReplacementAlgorithm algorithm = createReplacementAlgorithm(config.getReplacementAlgorithm(),
+                config.getPageSize(), config.getPhysicalMemorySize(), config.getFutureAccesses());
+        MemoryManager memoryManager = new MemoryManager(config.getVirtualAddressWidth(), config.getTlbSize(),
+                config.getPageSize(), config.getPhysicalMemorySize(), config.getSecondaryMemorySize(),
+                algorithm, config.getTlbReplacementAlgorithm());
+        applyOptions(memoryManager, config);
+        return memoryManager;
+    }
+
+    /**
+     * Applies the optional frame allocation and reference bit reset settings of a configuration.
+     * @param memoryManager The memory manager to configure.
+     * @param config The simulation configuration.
+     */
+    public static void applyOptions(MemoryManager memoryManager, SimulationConfig config) {
+        if (config.getFrameAllocation() != null) {
+            memoryManager.setFrameAllocation(config.getFrameAllocation(),
+                    config.getPageColours() != null ? config.getPageColours() : 1);
+        }
+        if (config.getReferenceResetInterval() != null || config.getReferenceResetMillis() != null) {
+            memoryManager.setReferenceResetInterval(
+                    config.getReferenceResetInterval() != null ? config.getReferenceResetInterval() : 0,
+                    config.getReferenceResetMillis() != null ? config.getReferenceResetMillis() : 0);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.vms.utils;
+
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks 1..n from a Zipf distribution, P(k) proportional to 1 / k^exponent.
+ * Uses rejection-inversion sampling (Hörmann and Derflinger), which needs constant time and memory per sample
+ * independent of n, so no table of probabilities is built for large page ranges.
+ */
+public class ZipfSampler {
+    private final int n; // number of ranks
+    private final double exponent; // skew of the distribution
+    private final double hIntegralX1; // H(1.5) - 1
+    private final double hIntegralN; // H(n + 0.5)
+    private final double s; // squeeze constant used to accept most samples without evaluating H
+
+    /**
+     * Creates a sampler.
+     * @param n The number of ranks (at least 1).
+     * @param exponent The exponent of the distribution (must be positive).
+     */
+    public ZipfSampler(int n, double exponent) {
+        if (n < 1 || !(exponent > 0)) {
+            throw new IllegalArgumentException("Zipf needs n >= 1 and a positive exponent, got n=" + n + ", exponent=" + exponent);
+        }
+        this.n = n;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1;
+        this.hIntegralN = hIntegral(n + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    /**
+     * Draws a rank.
+     * @param random The random number generator.
+     * @return A rank between 1 and n; rank 1 is the most likely.
+     */
+    public int sample(SplittableRandom random) {
+        while (true) {
+            double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInverse(u);
+            int k = (int) (x + 0.5);
+            if (k < 1) {
+                k = 1;
+            } else if (k > n) {
+                k = n;
+            }
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    /**
+     * H(x), an integral of h with H(1) = 0 (numerically stable around exponent 1).
+     */
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return expm1OverX((1 - exponent) * logX) * logX;
+    }
+
+    /**
+     * h(x) = 1 / x^exponent.
+     */
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    /**
+     * The inverse of H.
+     */
+    private double hIntegralInverse(double x) {
+        double t = x * (1 - exponent);
+        if (t < -1) {
+            t = -1; // rounding errors only
+        }
+        return Math.exp(log1pOverX(t) * x);
+    }
+
+    /**
+     * log(1 + x) / x, with its Taylor series near 0.
+     */
+    private static double log1pOverX(double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.log1p(x) / x;
+        }
+        return 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+
+    /**
+     * (exp(x) - 1) / x, with its Taylor series near 0.
+     */
+    private static double expm1OverX(double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.expm1(x) / x;
+        }
+        return 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.vms.analysis;
+
+import com.example.vms.model.LRUReplacement;
+import com.example.vms.model.MemoryManager;
+import com.example.vms.model.Page;
+import com.example.vms.trace.OperationListSource;
+import com.example.vms.trace.TraceSink;
+import com.example.vms.trace.WorkloadGenerator;
+import com.example.vms.utils.ConfigLoader;
+import com.example.vms.utils.LogResults;
+import com.example.vms.utils.SimulationConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardsAnalyzerTest {
+
+    @BeforeEach
+    void silenceLog() {
+        LogResults.setSuppressedForCurrentThread(true);
+    }
+
+    @AfterEach
+    void restoreLog() {
+        LogResults.setSuppressedForCurrentThread(false);
+    }
+
+    /**
+     * Collects the in-range loads and stores of a trace, dropping Allocate operations.
+     */
+    private static class AccessList implements TraceSink {
+        final List<int[]> accesses = new ArrayList<>(); // {address, isStore}
+        private final int virtualMemorySize;
+
+        AccessList(int virtualMemorySize) { this.virtualMemorySize = virtualMemorySize; }
+
+        @Override
+        public void allocatePage(int vpn) { }
+        @Override
+        public void load(int virtualAddress) {
+            if (virtualAddress >= 0 && virtualAddress < virtualMemorySize) accesses.add(new int[]{virtualAddress, 0});
+        }
+        @Override
+        public void store(int virtualAddress, int data) {
+            if (virtualAddress >= 0 && virtualAddress < virtualMemorySize) accesses.add(new int[]{virtualAddress, 1});
+        }
+
+        void replay(TraceSink sink) {
+            for (int[] access : accesses) {
+                if (access[1] == 0) sink.load(access[0]); else sink.store(access[0], 1);
+            }
+        }
+    }
+
+    @Test
+    void testCurvesMatchLruSimulationOnBundledConfigs() throws IOException {
+        for (int i = 1; i <= 7; i++) {
+            SimulationConfig config = ConfigLoader.loadConfigFromFile("src/main/resources/configurations/config" + i + ".json");
+            int pageSize = config.getPageSize();
+            int virtualMemorySize = 1 << config.getVirtualAddressWidth();
+            int virtualPages = virtualMemorySize / pageSize;
+            AccessList trace = new AccessList(virtualMemorySize);
+            new OperationListSource(config.getOperations(), pageSize).replay(trace);
+
+            StackDistanceAnalyzer exact = new StackDistanceAnalyzer(pageSize);
+            ShardsAnalyzer sampled = new ShardsAnalyzer(pageSize);
+            trace.replay(exact);
+            trace.replay(sampled);
+            MissRatioCurve exactCurve = exact.getMissRatioCurve();
+            MissRatioCurve sampledCurve = sampled.getMissRatioCurve();
+
+            for (int frames = 1; frames <= virtualPages; frames++) {
+                // every page starts on disk, so the first reference to a page is a page fault as well
+                MemoryManager memoryManager = new MemoryManager(config.getVirtualAddressWidth(), config.getTlbSize(),
+                        pageSize, frames * pageSize, virtualMemorySize, new LRUReplacement(null));
+                for (int vpn = 0; vpn < virtualPages; vpn++) {
+                    memoryManager.getSecondaryStorage().store(vpn, new Page(pageSize));
+                }
+                trace.replay(memoryManager);
+                double simulated = (double) memoryManager.getResults().snapshot().getPageTableMisses() / trace.accesses.size();
+                String point = "config" + i + ", " + frames + " frames";
+                assertEquals(simulated, exactCurve.getMissRatio(frames), 1e-9, point);
+                assertEquals(simulated, sampledCurve.getMissRatio(frames), 1e-9, point);
+            }
+        }
+    }
+
+    @Test
+    void testSampledCurveApproximatesExactCurve() {
+        WorkloadGenerator workload = new WorkloadGenerator("Zipf", 26, 64, 400000, 5);
+        workload.setAlpha(0.5);
+        StackDistanceAnalyzer exact = new StackDistanceAnalyzer(64);
+        ShardsAnalyzer sampled = new ShardsAnalyzer(64, 2048);
+        workload.replay(new TraceSink() {
+            @Override
+            public void allocatePage(int vpn) { }
+            @Override
+            public void load(int virtualAddress) { exact.load(virtualAddress); sampled.load(virtualAddress); }
+            @Override
+            public void store(int virtualAddress, int data) { exact.store(virtualAddress, data); sampled.store(virtualAddress, data); }
+        });
+        assertTrue(sampled.getSamplingRate() < 0.1, "Expected the sampling rate to adapt: " + sampled.getSamplingRate());
+
+        MissRatioCurve exactCurve = exact.getMissRatioCurve();
+        MissRatioCurve sampledCurve = sampled.getMissRatioCurve();
+        double error = 0;
+        int points = 0;
+        for (int frames = 1000; frames <= exactCurve.getMaxFrames(); frames += 1000) {
+            error += Math.abs(exactCurve.getMissRatio(frames) - sampledCurve.getMissRatio(frames));
+            points++;
+        }
+        assertTrue(error / points < 0.01, "Mean absolute error too large: " + error / points);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.vms.analysis;
+
+import com.example.vms.trace.TraceSink;
+import com.example.vms.trace.WorkloadGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StackDistanceAnalyzerTest {
+
+    @Test
+    void testDistancesOfSmallSequence() {
+        StackDistanceTracker tracker = new StackDistanceTracker();
+        int[] pages = {1, 2, 3, 1, 1, 3, 2};
+        int[] expected = {0, 0, 0, 3, 1, 2, 3};
+        for (int i = 0; i < pages.length; i++) {
+            assertEquals(expected[i], tracker.access(pages[i]), "Reference " + i);
+        }
+    }
+
+    @Test
+    void testMatchesNaiveLruStackAcrossCompactions() {
+        WorkloadGenerator workload = new WorkloadGenerator("Zipf", 20, 256, 50000, 11);
+        workload.setAlpha(0.8);
+        StackDistanceAnalyzer analyzer = new StackDistanceAnalyzer(256);
+        List<Integer> references = new ArrayList<>();
+        workload.replay(new TraceSink() {
+            @Override
+            public void allocatePage(int vpn) { analyzer.allocatePage(vpn); }
+            @Override
+            public void load(int virtualAddress) { references.add(virtualAddress / 256); analyzer.load(virtualAddress); }
+            @Override
+            public void store(int virtualAddress, int data) { references.add(virtualAddress / 256); analyzer.store(virtualAddress, data); }
+        });
+
+        // simulate LRU memories of a few sizes directly with a recency list
+        MissRatioCurve curve = analyzer.getMissRatioCurve();
+        for (int frames : new int[]{1, 16, 200, 1000}) {
+            List<Integer> stack = new ArrayList<>();
+            int misses = 0;
+            for (int page : references) {
+                int position = stack.indexOf(page);
+                if (position == -1 || position >= frames) {
+                    misses++;
+                }
+                if (position != -1) {
+                    stack.remove(position);
+                }
+                stack.add(0, page);
+            }
+            assertEquals((double) misses / references.size(), curve.getMissRatio(frames), 1e-12, "Frames: " + frames);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.vms.batch;
+
+import com.example.vms.trace.DecodedTrace;
+import com.example.vms.trace.WorkloadGenerator;
+import com.example.vms.utils.SimulationConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SweepRunnerTest {
+
+    @Test
+    void testParallelSweepMatchesSequentialSweep() throws Exception {
+        SimulationConfig config = new SimulationConfig();
+        config.setVirtualAddressWidth(14);
+        config.setPageSize(64);
+        config.setTlbSize(4);
+        config.setPhysicalMemorySize(1024);
+        config.setSecondaryMemorySize(16384);
+        WorkloadGenerator workload = new WorkloadGenerator("Zipf", 14, 64, 5000, 3);
+        DecodedTrace trace = DecodedTrace.decode(workload, 64);
+
+        SweepRunner runner = new SweepRunner(trace, config);
+        List<Integer> pageSizes = List.of(32, 64);
+        List<Integer> memorySizes = List.of(256, 1024);
+        List<Integer> tlbSizes = List.of(0, 8);
+        List<String> algorithms = List.of("FIFO", "LRU");
+        List<SweepResult> parallel = runner.run(pageSizes, memorySizes, tlbSizes, algorithms, 4);
+        List<SweepResult> sequential = runner.run(pageSizes, memorySizes, tlbSizes, algorithms, 1);
+
+        assertEquals(16, parallel.size());
+        for (int i = 0; i < parallel.size(); i++) {
+            SweepResult result = parallel.get(i);
+            assertEquals(sequential.get(i).toCsv().replaceAll(",[^,]*$", ""), result.toCsv().replaceAll(",[^,]*$", ""));
+            assertTrue(result.getResults().getPageTableMisses() > 0);
+        }
+        assertTrue(parallel.get(0).getResults().getPageTableMisses() > parallel.get(4).getResults().getPageTableMisses(),
+                "More memory should give fewer page faults.");
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.vms.controller;
+
+import com.example.vms.model.MemoryManager;
+import com.example.vms.trace.BinaryTraceStreamSource;
+import com.example.vms.trace.BinaryTraceWriter;
+import com.example.vms.trace.JsonOperationSource;
+import com.example.vms.utils.LogResults;
+import com.example.vms.utils.SimulationFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationBatchTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static MemoryManager memoryManager() {
+        return new MemoryManager(6, 2, 16, 32, 64,
+                SimulationFactory.createReplacementAlgorithm("FIFO", 16, 32, null), null); // 4 pages, 2 frames
+    }
+
+    @Test
+    void testJsonAndBinaryBatchesGiveTheSameResults() throws IOException {
+        String json = "[{\"type\":\"Allocate\",\"vpn\":0},{\"type\":\"Allocate\",\"vpn\":1},{\"type\":\"Allocate\",\"vpn\":2},"
+                + "{\"type\":\"Store\",\"vpn\":0,\"offset\":3,\"data\":9},{\"type\":\"Load\",\"address\":32}]";
+        Path trace = tempDir.resolve("trace.bin");
+        try (BinaryTraceWriter writer = new BinaryTraceWriter(trace)) {
+            writer.allocatePage(0);
+            writer.allocatePage(1);
+            writer.allocatePage(2);
+            writer.store(3, 9);
+            writer.load(32);
+        }
+
+        LogResults.setSuppressedForCurrentThread(true);
+        try {
+            OperationBatch jsonBatch = new OperationBatch(memoryManager(), 100, 100);
+            boolean[] closed = {false};
+            jsonBatch.run(new JsonOperationSource(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)) {
+                @Override
+                public void close() {
+                    closed[0] = true;
+                }
+            }, 16));
+            assertFalse(closed[0], "The input belongs to the caller and is left open.");
+            OperationBatch binaryBatch = new OperationBatch(memoryManager(), 100, 0);
+            binaryBatch.run(new BinaryTraceStreamSource(Files.newInputStream(trace)));
+
+            Map<String, Object> summary = jsonBatch.getSummary();
+            assertEquals(5L, summary.get("executed"));
+            assertEquals(1L, summary.get("pageEvictions"));
+            assertEquals(1L, summary.get("diskWrites"), "Page 0 was dirty when page 2 replaced it.");
+            Map<String, Object> binary = binaryBatch.getSummary();
+            for (String key : List.of("executed", "tlbHits", "tlbMisses", "pageTableMisses", "diskReads", "diskWrites")) {
+                assertEquals(summary.get(key), binary.get(key), key);
+            }
+            assertFalse(binary.containsKey("outcomes"), "Outcomes are only recorded when asked for.");
+
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> outcomes = (List<Map<String, Object>>) summary.get("outcomes");
+            assertEquals(5, outcomes.size());
+            assertEquals(Map.of("type", "Load", "address", 32, "tlb", "miss", "pageTable", "miss",
+                    "fault", true, "frame", 0, "evicted", 0, "writeBack", true), outcomes.get(4));
+        } finally {
+            LogResults.setSuppressedForCurrentThread(false);
+        }
+    }
+
+    @Test
+    void testBatchStopsAtTheLimit() throws IOException {
+        MemoryManager memoryManager = memoryManager();
+        OperationBatch batch = new OperationBatch(memoryManager, 2, 0);
+        String ndjson = "{\"type\":\"Allocate\",\"vpn\":0}\n{\"type\":\"Load\",\"address\":1}\n{\"type\":\"Load\",\"address\":2}\n";
+        LogResults.setSuppressedForCurrentThread(true);
+        try {
+            assertThrows(IllegalArgumentException.class,
+                    () -> batch.run(new JsonOperationSource(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), 16)));
+        } finally {
+            LogResults.setSuppressedForCurrentThread(false);
+        }
+        assertEquals(2, batch.getExecuted(), "The operations before the limit stay executed.");
+        assertNull(memoryManager.getListener());
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.vms.controller;
+
+import com.example.vms.model.MemoryManager;
+import com.example.vms.utils.LogResults;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationEventStreamTest {
+
+    /**
+     * Keeps the events sent to it: their name, and the data of the JSON ones.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> names = new ArrayList<>();
+        private final List<Object> data = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text && text.startsWith("event:")) {
+                    names.add(text.substring(6, text.indexOf('\n')));
+                } else if (!(part.getData() instanceof String)) {
+                    data.add(part.getData());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testEventsAreCoalescedPerFrame() {
+        SimulationSession simulation = new SimulationSession("s", null);
+        simulation.configure(6, 16, 2, 32, 64, "FIFO", null); // 4 pages, 2 frames
+        MemoryManager memoryManager = simulation.getMemoryManager();
+        RecordingEmitter emitter = new RecordingEmitter();
+        simulation.getEvents().subscribe(emitter, Runnable::run, 4);
+        simulation.getEvents().flush(Runnable::run);
+        assertEquals(List.of("stats", "reset", "stats"), emitter.names, "A new subscriber gets the stats first.");
+
+        emitter.names.clear();
+        emitter.data.clear();
+        LogResults.setSuppressedForCurrentThread(true);
+        try {
+            memoryManager.allocatePage(0);
+            memoryManager.allocatePage(1);
+            memoryManager.allocatePage(2); // no free frame: goes to disk
+            memoryManager.store(0, 1); // page 0 is dirty
+            memoryManager.load(32); // page 2 faults into frame 0 and evicts page 0
+            memoryManager.load(0); // page 0 faults into frame 1 and evicts page 1
+        } finally {
+            LogResults.setSuppressedForCurrentThread(false);
+        }
+        simulation.getEvents().flush(Runnable::run);
+        assertEquals(List.of("access", "frames", "stats"), emitter.names);
+
+        @SuppressWarnings("unchecked")
+        Map<Integer, Map<String, Integer>> frames = (Map<Integer, Map<String, Integer>>) emitter.data.get(1);
+        assertEquals(Map.of("vpn", 2, "faults", 1, "evictions", 1, "writeBacks", 1), frames.get(0),
+                "The allocation, eviction and fault of frame 0 become one change.");
+        assertEquals(Map.of("vpn", 0, "faults", 1, "evictions", 1, "writeBacks", 0), frames.get(1));
+
+        emitter.names.clear();
+        simulation.getEvents().flush(Runnable::run);
+        assertTrue(emitter.names.isEmpty(), "Nothing is sent when nothing happened.");
+        simulation.close();
+        assertFalse(simulation.getEvents().hasSubscribers());
+    }
+}
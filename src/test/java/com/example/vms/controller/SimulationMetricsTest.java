@@ -0,0 +1,44 @@
+package com.example.vms.controller;
+
+import com.example.vms.model.MemoryManager;
+import com.example.vms.model.ResultsSnapshot;
+import com.example.vms.trace.WorkloadGenerator;
+import com.example.vms.utils.LogResults;
+import com.example.vms.utils.SimulationFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationMetricsTest {
+
+    @Test
+    void testMetersMatchStatistics() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        SimulationMetrics metrics = new SimulationMetrics(registry);
+        MemoryManager memoryManager = new MemoryManager(12, 4, 256, 2048, 4096,
+                SimulationFactory.createReplacementAlgorithm("FIFO", 256, 2048, null), null);
+        metrics.bind(memoryManager);
+        LogResults.setSuppressedForCurrentThread(true);
+        try {
+            new WorkloadGenerator("Zipf", 12, 256, 5000, 5).replay(memoryManager);
+        } finally {
+            LogResults.setSuppressedForCurrentThread(false);
+        }
+
+        ResultsSnapshot results = memoryManager.getResults().snapshot();
+        assertEquals(results.getTlbHits(), registry.get("vms.tlb.lookups").tag("result", "hit").counter().count());
+        assertEquals(results.getTlbMisses(), registry.get("vms.tlb.lookups").tag("result", "miss").counter().count());
+        assertEquals(results.getPageTableMisses(), registry.get("vms.pagetable.lookups").tag("result", "miss").counter().count());
+        assertEquals(results.getDiskWrites(), registry.get("vms.disk.writes").counter().count());
+        assertEquals(results.getPageEvictions(), registry.get("vms.page.evictions").counter().count());
+        assertEquals(results.getPageEvictions(), registry.get("vms.page.eviction.time").timer().count());
+        assertEquals(registry.get("vms.page.faults").counter().count(), registry.get("vms.page.fault.time").timer().count());
+        assertEquals(8, registry.get("vms.frames.resident").gauge().value(), "All 8 frames should be in use.");
+
+        metrics.unbind(memoryManager);
+        assertNull(memoryManager.getListener());
+        assertEquals(0, registry.get("vms.simulations").gauge().value());
+    }
+}
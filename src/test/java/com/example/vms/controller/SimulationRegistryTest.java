@@ -0,0 +1,67 @@
+package com.example.vms.controller;
+
+import com.example.vms.model.ChangeLog;
+import com.example.vms.utils.LogResults;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationRegistryTest {
+
+    @Test
+    void testRegistryIsBoundedAndDropsIdleSimulations() throws InterruptedException {
+        SimulationMetrics metrics = new SimulationMetrics(new SimpleMeterRegistry());
+        SimulationRegistry registry = new SimulationRegistry(metrics, 2, Duration.ofHours(1));
+        SimulationSession a = registry.get("a");
+        assertSame(a, registry.get("a"), "A session keeps its simulation.");
+        SimulationSession b = registry.get("b");
+        assertNotSame(a, b, "Sessions do not share a simulation.");
+
+        registry.get("a"); // b is now the least recently used
+        registry.get("c");
+        assertEquals(2, registry.size());
+        assertSame(a, registry.get("a"));
+        assertNotSame(b, registry.get("b"), "b was dropped to make room for c.");
+        assertNull(b.getMemoryManager().getListener(), "A dropped simulation no longer reports to the metrics.");
+
+        SimulationRegistry idle = new SimulationRegistry(metrics, 10, Duration.ofMillis(20));
+        SimulationSession busy = idle.get("busy");
+        SimulationSession unused = idle.get("unused");
+        busy.lock();
+        Thread.sleep(50);
+        idle.get("other");
+        assertSame(busy, idle.get("busy"), "A simulation in use is never dropped as idle.");
+        assertNotSame(unused, idle.get("unused"));
+        busy.unlock();
+    }
+
+    @Test
+    void testRecreatedSimulationDoesNotReuseVersions() {
+        SimulationRegistry registry = new SimulationRegistry(null, 1, Duration.ofHours(1));
+        SimulationSession first = registry.get("a");
+        first.configure(6, 16, 2, 32, 64, "FIFO", null);
+        LogResults.setSuppressedForCurrentThread(true);
+        try {
+            for (int vpn = 0; vpn < 4; vpn++) {
+                first.getMemoryManager().allocatePage(vpn);
+            }
+        } finally {
+            LogResults.setSuppressedForCurrentThread(false);
+        }
+        long seen = first.getChangeLog().getVersion(); // what a client of the first simulation holds
+
+        registry.get("b"); // drops the simulation of a
+        SimulationSession second = registry.get("a");
+        assertNotSame(first, second);
+        ChangeLog changeLog = second.getChangeLog();
+        assertTrue(changeLog.getVersion() > seen, "A new simulation starts above the versions of the old one.");
+        assertNull(changeLog.since(seen), "An old version needs the full state.");
+        for (int i = 0; i < 10; i++) {
+            changeLog.record(ChangeLog.Kind.PAGE, i);
+            assertNotEquals(seen, changeLog.getVersion(), "The old ETag must never match again.");
+        }
+    }
+}
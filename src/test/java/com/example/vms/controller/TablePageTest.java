@@ -0,0 +1,61 @@
+package com.example.vms.controller;
+
+import com.example.vms.model.MemoryManager;
+import com.example.vms.utils.LogResults;
+import com.example.vms.utils.SimulationFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TablePageTest {
+
+    @Test
+    void testKeyRangePages() {
+        TablePage<String> page = TablePage.ofKeyRange(10, 25, 1, 4, 100, key -> key % 2 == 0 ? "row" + key : null);
+        assertEquals(15, page.getTotal());
+        assertEquals(4, page.getPages());
+        assertEquals(List.of(14, 16), List.copyOf(page.getRows().keySet()), "Keys 14 to 17, those without a row left out.");
+
+        TablePage<String> last = TablePage.ofKeyRange(10, 25, 3, 4, 100, key -> "row" + key);
+        assertEquals(List.of(22, 23, 24), List.copyOf(last.getRows().keySet()), "The last page stops at the end of the range.");
+        assertTrue(TablePage.ofKeyRange(10, 25, 9, 4, 100, key -> "row" + key).getRows().isEmpty(), "A page past the end has no rows.");
+
+        TablePage<String> reversed = TablePage.ofKeyRange(20, 5, 0, 4, 100, key -> "row" + key);
+        assertEquals(0, reversed.getTotal(), "A range with to < from is empty.");
+        assertEquals(0, reversed.getPages());
+        assertTrue(reversed.getRows().isEmpty());
+
+        assertEquals(100, TablePage.ofKeyRange(0, 1000, 0, 5000, 100, key -> "row" + key).getRows().size(), "The size is clamped to the maximum.");
+        TablePage<String> tiny = TablePage.ofKeyRange(0, 10, -3, 0, 100, key -> "row" + key);
+        assertEquals(1, tiny.getSize(), "The size is at least 1.");
+        assertEquals(0, tiny.getPage(), "A negative page is the first one.");
+        assertEquals(Integer.MAX_VALUE - 1, TablePage.ofKeyRange(0, Integer.MAX_VALUE, Integer.MAX_VALUE / 2, 2, 100,
+                key -> "row" + key).getRows().keySet().iterator().next(), "Page offsets do not overflow.");
+    }
+
+    @Test
+    void testValidOnlyPages() {
+        MemoryManager memoryManager = new MemoryManager(6, 2, 16, 32, 64,
+                SimulationFactory.createReplacementAlgorithm("FIFO", 16, 32, null), null); // 4 pages, 2 frames
+        LogResults.setSuppressedForCurrentThread(true);
+        try {
+            memoryManager.allocatePage(3);
+            memoryManager.allocatePage(1);
+            memoryManager.allocatePage(0); // no free frame: goes to disk
+        } finally {
+            LogResults.setSuppressedForCurrentThread(false);
+        }
+        List<Integer> valid = MemoryController.validVPNs(memoryManager, 0, 4);
+        assertEquals(List.of(1, 3), valid, "Only the resident pages, in VPN order.");
+        assertEquals(List.of(3), MemoryController.validVPNs(memoryManager, 2, 4));
+        assertTrue(MemoryController.validVPNs(memoryManager, 4, 2).isEmpty(), "A range with to < from is empty.");
+
+        TablePage<Integer> second = TablePage.ofKeys(valid, 1, 1, 100, vpn -> vpn);
+        assertEquals(2, second.getTotal());
+        assertEquals(List.of(3), List.copyOf(second.getRows().keySet()));
+        assertTrue(TablePage.ofKeys(valid, 2, 1, 100, vpn -> vpn).getRows().isEmpty(), "A page past the end has no rows.");
+        assertEquals(1, TablePage.ofKeys(valid, 0, 50, 1, vpn -> vpn).getRows().size(), "The size is clamped to the maximum.");
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.vms.model;
+
+import com.example.vms.utils.LogResults;
+import com.example.vms.utils.SimulationFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeLogTest {
+
+    @Test
+    void testDeltaListsWhatTheOperationsChanged() {
+        ChangeLog changeLog = new ChangeLog(64);
+        MemoryManager memoryManager = new MemoryManager(6, 2, 16, 32, 64,
+                SimulationFactory.createReplacementAlgorithm("FIFO", 16, 32, null), null); // 4 pages, 2 frames
+        memoryManager.setReferenceResetInterval(0, 0);
+        memoryManager.setChangeLog(changeLog);
+        LogResults.setSuppressedForCurrentThread(true);
+        try {
+            memoryManager.allocatePage(0);
+            memoryManager.allocatePage(1);
+            memoryManager.allocatePage(2); // no free frame: goes to disk
+            long version = changeLog.getVersion();
+            memoryManager.store(0, 7);
+            memoryManager.load(0);
+            memoryManager.load(16);
+            ChangeLog.Delta delta = changeLog.since(version);
+            assertEquals(Set.of(0, 1), delta.getPages());
+            assertEquals(Set.of(0), delta.getFrames(), "Only the store changed a frame.");
+            assertTrue(delta.getDiskPages().isEmpty());
+            assertTrue(delta.isTlb());
+
+            version = changeLog.getVersion();
+            memoryManager.load(32); // page 2 faults in and evicts page 0, which is dirty
+            delta = changeLog.since(version);
+            assertEquals(Set.of(0, 2), delta.getPages());
+            assertEquals(Set.of(0), delta.getDiskPages());
+            assertNull(changeLog.since(changeLog.getVersion() + 1), "An unknown version needs the full state.");
+        } finally {
+            LogResults.setSuppressedForCurrentThread(false);
+        }
+
+        long version = changeLog.getVersion();
+        for (int i = 0; i < 100; i++) {
+            changeLog.record(ChangeLog.Kind.PAGE, i);
+        }
+        assertNull(changeLog.since(version), "Changes older than the capacity are overwritten.");
+        changeLog.record(ChangeLog.Kind.ALL, 0);
+        assertNull(changeLog.since(changeLog.getVersion() - 1));
+    }
+
+    @Test
+    void testReferenceResetOnlyListsResidentPages() {
+        ChangeLog changeLog = new ChangeLog(64);
+        MemoryManager memoryManager = new MemoryManager(6, 2, 16, 32, 64,
+                SimulationFactory.createReplacementAlgorithm("NRU", 16, 32, null), null); // 4 pages, 2 frames, default reset interval
+        memoryManager.setChangeLog(changeLog);
+        LogResults.setSuppressedForCurrentThread(true);
+        try {
+            memoryManager.allocatePage(0);
+            memoryManager.allocatePage(1);
+            memoryManager.allocatePage(2); // no free frame: goes to disk
+            long version = changeLog.getVersion();
+            for (int i = 0; i < 20; i++) {
+                memoryManager.load(i % 2 == 0 ? 0 : 16); // two reference bit resets on the way
+            }
+            ChangeLog.Delta delta = changeLog.since(version);
+            assertNotNull(delta, "A reference bit reset is not a change of the whole state.");
+            assertEquals(Set.of(0, 1), delta.getPages(), "Only the resident pages changed.");
+            assertTrue(delta.getDiskPages().isEmpty());
+        } finally {
+            LogResults.setSuppressedForCurrentThread(false);
+        }
+    }
+}
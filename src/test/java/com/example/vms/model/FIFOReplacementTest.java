@@ -0,0 +1,50 @@
+package com.example.vms.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FIFOReplacementTest {
+
+    @Test
+    void testEvictionOrderAcrossTheRingWrap() {
+        FIFOReplacement fifo = new FIFOReplacement(3);
+        fifo.addPage(1);
+        fifo.addPage(2);
+        fifo.addPage(3);
+        fifo.addPage(4); // full: evicts page 1, and the tail wraps to the start of the ring
+        fifo.addPage(5);
+        fifo.addPage(4); // already queued: keeps its place
+        assertArrayEquals(new int[] {3, 4, 5}, fifo.getQueue());
+        assertFalse(fifo.contains(1));
+        assertFalse(fifo.contains(2));
+
+        assertEquals(3, fifo.evictPage());
+        fifo.addPage(6);
+        fifo.addPage(1); // a page evicted earlier is queued again at the end
+        assertArrayEquals(new int[] {5, 6, 1}, fifo.getQueue());
+        assertEquals(5, fifo.evictPage());
+        assertEquals(6, fifo.evictPage());
+        assertEquals(1, fifo.evictPage());
+        assertEquals(-1, fifo.evictPage());
+    }
+
+    @Test
+    void testZeroMaxSizeGrowsTheRing() {
+        FIFOReplacement fifo = new FIFOReplacement(0); // no limit: the ring grows instead of evicting
+        fifo.addPage(1);
+        fifo.addPage(2);
+        assertEquals(1, fifo.evictPage());
+        fifo.addPage(3); // wraps to the start of the two-slot ring
+        fifo.addPage(4); // grows while the oldest page is not at the start of the ring
+        assertArrayEquals(new int[] {2, 3, 4}, fifo.getQueue());
+        for (int vpn = 10; vpn < 30; vpn++) {
+            fifo.addPage(vpn);
+        }
+        assertEquals(23, fifo.getQueue().length, "Nothing is evicted when pages are added.");
+        assertEquals(2, fifo.evictPage());
+        assertEquals(3, fifo.evictPage());
+        assertEquals(4, fifo.evictPage());
+        assertEquals(10, fifo.evictPage());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.vms.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameAllocatorTest {
+
+    @Test
+    void testLowestFirstReusesLowestFreedFrame() {
+        FrameAllocator allocator = new FrameAllocator(130);
+        for (int frame = 0; frame < 130; frame++) {
+            assertEquals(frame, allocator.peek(0));
+            allocator.take(frame);
+        }
+        assertEquals(-1, allocator.peek(0));
+        allocator.release(129);
+        allocator.release(70);
+        assertEquals(70, allocator.peek(0));
+        allocator.take(70);
+        assertEquals(129, allocator.peek(0));
+    }
+
+    @Test
+    void testStackReusesMostRecentlyFreedFrame() {
+        FrameAllocator allocator = new FrameAllocator(4, "Stack", 1);
+        for (int frame = 0; frame < 4; frame++) {
+            allocator.take(allocator.peek(0));
+        }
+        allocator.release(1);
+        allocator.release(3);
+        assertEquals(3, allocator.peek(0));
+        assertEquals(2, allocator.getFreeCount());
+    }
+
+    @Test
+    void testColouringPrefersFrameOfSameColour() {
+        FrameAllocator allocator = new FrameAllocator(8, "Colouring", 4);
+        int frame = allocator.peek(6); // colour 2
+        assertEquals(2, frame % 4);
+        allocator.take(frame);
+        allocator.take(allocator.peek(6)); // the other frame of colour 2
+        assertNotEquals(2, allocator.peek(6) % 4, "Expected a fallback to another colour.");
+        assertEquals(6, allocator.getFreeCount());
+    }
+}
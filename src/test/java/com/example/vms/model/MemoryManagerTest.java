@@ -215,4 +215,45 @@ class MemoryManagerTest {
         boolean vpn1InMemory = optimalMemoryManager.getPageTable().isValid(1);
         assertFalse(vpn1InMemory, "Expected VPN 1 to be evicted under Optimal Replacement policy.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testReferenceBitsResetByEpoch() {
+        PageTable pageTable = new PageTable(0);
+        MemoryManager nruMemoryManager = new MemoryManager(10, 4, 16, 64, 256, new NRUReplacement(pageTable));
+        nruMemoryManager.setReferenceResetInterval(0, 0); // only reset explicitly
+
+        nruMemoryManager.allocatePage(0);
+        nruMemoryManager.allocatePage(1);
+        nruMemoryManager.load(0);
+        nruMemoryManager.store(16, 7);
+        assertTrue(nruMemoryManager.getPageTable().isReferenced(0));
+        assertTrue(nruMemoryManager.getPageTable().isReferenced(1));
+
+        nruMemoryManager.resetNRUBits();
+        assertFalse(nruMemoryManager.getPageTable().isReferenced(0), "Expected the reference bit of VPN 0 to be cleared.");
+        assertFalse(nruMemoryManager.getPageTable().isReferenced(1), "Expected the reference bit of VPN 1 to be cleared.");
+        assertTrue(nruMemoryManager.getPageTable().isDirty(1), "Resetting reference bits must keep the dirty bit.");
+
+        nruMemoryManager.load(16);
+        assertTrue(nruMemoryManager.getPageTable().isReferenced(1));
+    }
+
+    @Test
+    void testStatisticsArePerInstance() {
+        MemoryManager other = new MemoryManager(10, 4, 16, 128, 256, new FIFOReplacement(8));
+        memoryManager.allocatePage(0);
+        memoryManager.load(0); // TLB miss, page table hit
+        memoryManager.load(1); // TLB hit
+        ResultsSnapshot before = memoryManager.getResults().snapshot();
+
+        other.allocatePage(0);
+        other.load(0);
+        memoryManager.load(2);
+
+        assertEquals(1, before.getTlbHits());
+        assertEquals(1, before.getTlbMisses());
+        assertEquals(2, before.getTlbAccesses(), "A snapshot must not change as the simulation continues.");
+        assertEquals(3, memoryManager.getResults().snapshot().getTlbAccesses());
+        assertEquals(1, other.getResults().snapshot().getTlbAccesses(), "Simulations must not share statistics.");
+    }
+}
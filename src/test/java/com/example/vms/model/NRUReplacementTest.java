@@ -0,0 +1,67 @@
+package com.example.vms.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NRUReplacementTest {
+
+    /**
+     * Maps pages 0 to 3 and adds them to the algorithm: page 1 and page 3 dirty, page 2 and page 3 referenced,
+     * so each page is alone in its class (its VPN).
+     */
+    private static NRUReplacement oneClassPerPage(PageTable pageTable) {
+        NRUReplacement nru = new NRUReplacement(pageTable);
+        for (int vpn = 0; vpn < 4; vpn++) {
+            pageTable.addEntry(vpn, vpn);
+            pageTable.setDirty(vpn, vpn % 2 == 1);
+            nru.addPage(vpn);
+        }
+        nru.updatePageAccess(2);
+        nru.updatePageAccess(3);
+        return nru;
+    }
+
+    @Test
+    void testEvictsFromTheLowestClass() {
+        NRUReplacement nru = oneClassPerPage(new PageTable(8));
+        assertEquals(0, nru.evictPage());
+        assertEquals(1, nru.evictPage());
+        assertEquals(2, nru.evictPage());
+        assertEquals(3, nru.evictPage());
+        assertEquals(-1, nru.evictPage());
+
+        nru.addPage(3); // the last page evicted comes back, still referenced and dirty
+        assertEquals(3, nru.evictPage());
+    }
+
+    @Test
+    void testReferenceResetMovesPagesDownLazily() {
+        PageTable pageTable = new PageTable(8);
+        NRUReplacement nru = oneClassPerPage(pageTable);
+        nru.updatePageAccess(0);
+        nru.updatePageAccess(1); // every page is referenced: classes 2 and 3
+        nru.resetReferencedBits();
+        nru.updatePageAccess(0); // referenced again in the new epoch
+
+        assertEquals(2, nru.evictPage(), "Page 2 is the only clean page not referenced since the reset.");
+        int first = nru.evictPage();
+        int second = nru.evictPage();
+        assertEquals(Set.of(1, 3), Set.of(first, second), "The dirty pages are no longer referenced: class 1.");
+        assertEquals(0, nru.evictPage(), "Page 0 was referenced since the reset: class 2.");
+    }
+
+    @Test
+    void testTLBPageComesFromTheLowestClass() {
+        PageTable pageTable = new PageTable(8);
+        NRUReplacement nru = oneClassPerPage(pageTable);
+        assertEquals(1, nru.getTLBNRUPage(Set.of(3, 1, 2)));
+        assertEquals(2, nru.getTLBNRUPage(Set.of(2, 3, 6)), "Pages NRU does not manage are skipped.");
+        assertEquals(-1, nru.getTLBNRUPage(Set.of(6, 7)));
+
+        nru.resetReferencedBits();
+        assertEquals(2, nru.getTLBNRUPage(Set.of(3, 2)), "After a reset, page 2 is in class 0 and page 3 in class 1.");
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.vms.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TLBTest {
+
+    private PageTableEntry entry(int frame) {
+        return new PageTableEntry(frame, true, false, false, false, -1, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void testLRUPolicyEvictsLeastRecentlyUsedEntry() {
+        TLB tlb = new TLB(3, new TLBLRUPolicy(3));
+        tlb.addEntry(1, entry(10));
+        tlb.addEntry(2, entry(20));
+        tlb.addEntry(3, entry(30));
+        tlb.lookup(1); // VPN 2 is now the least recently used entry
+        tlb.addEntry(4, entry(40));
+
+        assertTrue(tlb.containsEntry(1));
+        assertFalse(tlb.containsEntry(2), "Expected VPN 2 to be evicted from the TLB.");
+        assertTrue(tlb.containsEntry(3));
+        assertTrue(tlb.containsEntry(4));
+    }
+
+    @Test
+    void testFIFOPolicyIgnoresHits() {
+        TLB tlb = new TLB(2, new TLBFIFOPolicy(2));
+        tlb.addEntry(1, entry(10));
+        tlb.addEntry(2, entry(20));
+        tlb.lookup(1);
+        tlb.addEntry(3, entry(30));
+
+        assertFalse(tlb.containsEntry(1), "Expected VPN 1 to be evicted under FIFO.");
+        assertTrue(tlb.containsEntry(2));
+        assertTrue(tlb.containsEntry(3));
+    }
+
+    @Test
+    void testRemovedSlotIsReusedBeforeEviction() {
+        TLB tlb = new TLB(2, new TLBPseudoLRUPolicy(2));
+        tlb.addEntry(1, entry(10));
+        tlb.addEntry(2, entry(20));
+        tlb.removeEntry(1);
+        tlb.addEntry(3, entry(30));
+
+        assertTrue(tlb.containsEntry(2));
+        assertTrue(tlb.containsEntry(3));
+        assertEquals(30, tlb.lookup(3));
+    }
+
+    @Test
+    void testPseudoLRUNeverSelectsMissingSlot() {
+        TLBPseudoLRUPolicy policy = new TLBPseudoLRUPolicy(5);
+        for (int round = 0; round < 20; round++) {
+            int victim = policy.selectVictim();
+            assertTrue(victim >= 0 && victim < 5, "Victim slot out of range: " + victim);
+            policy.onAccess(victim);
+        }
+    }
+}
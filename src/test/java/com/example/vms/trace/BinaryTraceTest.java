@@ -0,0 +1,61 @@
+package com.example.vms.trace;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryTraceTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Sink that records every operation as a string.
+     */
+    private static class RecordingSink implements TraceSink {
+        final List<String> operations = new ArrayList<>();
+
+        @Override
+        public void allocatePage(int vpn) { operations.add("Allocate " + vpn); }
+        @Override
+        public void load(int virtualAddress) { operations.add("Load " + virtualAddress); }
+        @Override
+        public void store(int virtualAddress, int data) { operations.add("Store " + virtualAddress + " " + data); }
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Path file = tempDir.resolve("trace.bin");
+        try (BinaryTraceWriter writer = new BinaryTraceWriter(file)) {
+            writer.allocatePage(3);
+            for (int i = 0; i < 20000; i++) { // more records than the write buffer holds
+                writer.load(i);
+            }
+            writer.store(4100, -7);
+        }
+        BinaryTraceSource source = new BinaryTraceSource(file);
+        RecordingSink sink = new RecordingSink();
+        assertEquals(20002, source.replay(sink));
+        assertEquals("Allocate 3", sink.operations.get(0));
+        assertEquals("Load 19999", sink.operations.get(20000));
+        assertEquals("Store 4100 -7", sink.operations.get(20001));
+    }
+
+    @Test
+    void testRejectsTruncatedTrace() throws IOException {
+        Path file = tempDir.resolve("truncated.bin");
+        try (BinaryTraceWriter writer = new BinaryTraceWriter(file)) {
+            writer.load(1);
+        }
+        Files.write(file, new byte[]{1}, StandardOpenOption.APPEND);
+        assertThrows(IOException.class, () -> new BinaryTraceSource(file));
+    }
+}
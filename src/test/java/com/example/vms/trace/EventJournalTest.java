@@ -0,0 +1,59 @@
+package com.example.vms.trace;
+
+import com.example.vms.model.MemoryManager;
+import com.example.vms.model.ResultsSnapshot;
+import com.example.vms.model.SimulationEvent;
+import com.example.vms.utils.LogResults;
+import com.example.vms.utils.SimulationFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testJournalMatchesStatistics() throws IOException {
+        LogResults.setSuppressedForCurrentThread(true);
+        MemoryManager memoryManager = new MemoryManager(12, 4, 256, 2048, 4096,
+                SimulationFactory.createReplacementAlgorithm("LRU", 256, 2048, null), null);
+        Path file = tempDir.resolve("events.vmj");
+        try (EventJournalWriter writer = new EventJournalWriter(file)) {
+            memoryManager.setListener(writer);
+            new WorkloadGenerator("Zipf", 12, 256, 5000, 3).replay(memoryManager);
+        } finally {
+            LogResults.setSuppressedForCurrentThread(false);
+        }
+
+        long[] counts = new long[SimulationEvent.values().length];
+        long[] lastOperation = {-1};
+        EventJournalReader reader = new EventJournalReader(file);
+        long read = reader.read((event, operation, vpn, frame, dirty) -> {
+            assertTrue(operation >= lastOperation[0], "Events must come in operation order.");
+            lastOperation[0] = operation;
+            assertTrue(vpn >= 0 && vpn < 16);
+            if (event == SimulationEvent.DISK_WRITE) {
+                assertTrue(dirty);
+            }
+            counts[event.ordinal()]++;
+        });
+
+        ResultsSnapshot results = memoryManager.getResults().snapshot();
+        assertEquals(reader.getRecordCount(), read);
+        assertEquals(results.getTlbHits(), counts[SimulationEvent.TLB_HIT.ordinal()]);
+        assertEquals(results.getTlbMisses(), counts[SimulationEvent.TLB_MISS.ordinal()]);
+        assertEquals(results.getPageTableHits(), counts[SimulationEvent.PAGE_TABLE_HIT.ordinal()]);
+        assertEquals(results.getPageTableMisses(), counts[SimulationEvent.PAGE_TABLE_MISS.ordinal()]);
+        assertEquals(results.getDiskReads(), counts[SimulationEvent.DISK_READ.ordinal()]);
+        assertEquals(results.getDiskWrites(), counts[SimulationEvent.DISK_WRITE.ordinal()]);
+        assertEquals(results.getPageEvictions(), counts[SimulationEvent.EVICTION.ordinal()]);
+        assertTrue(results.getPageEvictions() > 0, "The workload should not fit in memory.");
+        assertEquals(memoryManager.getOperationCount() - 1, lastOperation[0]);
+    }
+}
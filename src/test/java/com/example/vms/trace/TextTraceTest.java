@@ -0,0 +1,64 @@
+package com.example.vms.trace;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextTraceTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Sink that records every operation as a string.
+     */
+    private static class RecordingSink implements TraceSink {
+        final List<String> operations = new ArrayList<>();
+
+        @Override
+        public void allocatePage(int vpn) { operations.add("Allocate " + vpn); }
+        @Override
+        public void load(int virtualAddress) { operations.add("Load " + virtualAddress); }
+        @Override
+        public void store(int virtualAddress, int data) { operations.add("Store " + virtualAddress + " " + data); }
+    }
+
+    @Test
+    void testLackeyAllocatesOnFirstTouch() throws IOException {
+        Path file = tempDir.resolve("trace.lackey");
+        Files.write(file, List.of("==123== Lackey, an example Valgrind tool", "I  04010173,3", " L 0401017c,8",
+                " M 04222cac,4", " S 7ff0001010,8"));
+        RecordingSink sink = new RecordingSink();
+        // 16-bit address space with 256-byte pages: 0x04010173 folds to 0x0173 (VPN 1)
+        long count = new AsyncTraceSource(new LackeyTraceSource(file, 16, 256), 2).replay(sink);
+        assertEquals(List.of("Allocate 1", "Load 371", "Load 380", "Allocate 44", "Load 11436", "Store 11436 4",
+                "Allocate 16", "Store 4112 8"), sink.operations);
+        assertEquals(8, count);
+    }
+
+    @Test
+    void testDineroSkipsEscapeRecordsAndRejectsMalformedLines() throws IOException {
+        Path file = tempDir.resolve("trace.din");
+        Files.write(file, List.of("2 0x100", "4", "1 101 extra", "0 300"));
+        RecordingSink sink = new RecordingSink();
+        new DineroTraceSource(file, 16, 256).replay(sink);
+        assertEquals(List.of("Allocate 1", "Load 256", "Store 257 0", "Allocate 3", "Load 768"), sink.operations);
+
+        Files.write(file, List.of("0 ffffffffffffffff")); // the largest address folds to the last byte
+        sink.operations.clear();
+        new DineroTraceSource(file, 16, 256).replay(sink);
+        assertEquals(List.of("Allocate 255", "Load 65535"), sink.operations);
+
+        Files.write(file, List.of("0 300", "0 1ffffffffffffffff"));
+        assertThrows(IOException.class, () -> new DineroTraceSource(file, 16, 256).replay(sink), "An address has at most 16 digits.");
+        Files.write(file, List.of("0 300", "7 zz"));
+        assertThrows(IOException.class, () -> new AsyncTraceSource(new DineroTraceSource(file, 16, 256)).replay(sink));
+    }
+}
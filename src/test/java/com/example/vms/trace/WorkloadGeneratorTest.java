@@ -0,0 +1,58 @@
+package com.example.vms.trace;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadGeneratorTest {
+
+    /**
+     * Sink that records the loaded and stored addresses and counts the allocations.
+     */
+    private static class AddressSink implements TraceSink {
+        final List<Integer> addresses = new ArrayList<>();
+        int allocations;
+
+        @Override
+        public void allocatePage(int vpn) { allocations++; }
+        @Override
+        public void load(int virtualAddress) { addresses.add(virtualAddress); }
+        @Override
+        public void store(int virtualAddress, int data) { addresses.add(virtualAddress); }
+    }
+
+    @Test
+    void testSameSeedGivesSameStream() {
+        AddressSink first = new AddressSink();
+        AddressSink second = new AddressSink();
+        new WorkloadGenerator("Phased", 16, 256, 5000, 42).replay(first);
+        new WorkloadGenerator("Phased", 16, 256, 5000, 42).replay(second);
+        assertEquals(first.addresses, second.addresses);
+        assertTrue(first.addresses.stream().allMatch(address -> address >= 0 && address < 1 << 16));
+    }
+
+    @Test
+    void testZipfFavoursLowPages() {
+        WorkloadGenerator generator = new WorkloadGenerator("Zipf", 20, 256, 100000, 7);
+        generator.setAlpha(1.2);
+        AddressSink sink = new AddressSink();
+        long count = generator.replay(sink);
+        long firstPage = sink.addresses.stream().filter(address -> address < 256).count();
+        // P(rank 1) = 1 / zeta(1.2) restricted to 4096 pages, about 0.215
+        assertTrue(firstPage > 20500 && firstPage < 22500, "Unexpected share of the hottest page: " + firstPage);
+        assertEquals(100000 + sink.allocations, count);
+    }
+
+    @Test
+    void testLoopVisitsEveryPageOfTheWorkingSetInOrder() {
+        WorkloadGenerator generator = new WorkloadGenerator("loop", 12, 64, 10, 1);
+        generator.setWorkingSetPages(4);
+        AddressSink sink = new AddressSink();
+        generator.replay(sink);
+        assertEquals(List.of(0, 64, 128, 192, 0, 64, 128, 192, 0, 64), sink.addresses);
+        assertEquals(4, sink.allocations);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.vms.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLogWriterTest {
+
+    @Test
+    void testEveryMessageOfEveryThreadIsWritten() throws InterruptedException {
+        StringWriter out = new StringWriter();
+        AsyncLogWriter writer = new AsyncLogWriter(out, 64, AsyncLogWriter.OverflowPolicy.BLOCK);
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            int id = t;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    writer.write(id + ":" + i);
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        writer.close();
+        String[] lines = out.toString().split("\n");
+        assertEquals(20000, lines.length);
+        for (int t = 0; t < producers.length; t++) {
+            String prefix = t + ":";
+            int[] order = Arrays.stream(lines).filter(line -> line.startsWith(prefix))
+                    .mapToInt(line -> Integer.parseInt(line.substring(prefix.length()))).toArray();
+            assertEquals(5000, order.length);
+            for (int i = 0; i < order.length; i++) {
+                assertEquals(i, order[i], "Messages of one thread must keep their order.");
+            }
+        }
+        assertEquals(0, writer.getDroppedCount());
+    }
+
+    @Test
+    void testDropPolicyCountsMessagesThatDoNotFit() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        StringWriter lines = new StringWriter();
+        Writer stalled = new Writer() { // holds the writer thread on the first message
+            @Override
+            public void write(char[] buffer, int offset, int length) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                lines.write(buffer, offset, length);
+            }
+            @Override
+            public void flush() { }
+            @Override
+            public void close() { }
+        };
+        AsyncLogWriter writer = new AsyncLogWriter(stalled, 8, AsyncLogWriter.OverflowPolicy.DROP);
+        int queued = 0;
+        for (int i = 0; i < 100; i++) {
+            if (writer.write("message " + i)) {
+                queued++;
+            }
+        }
+        assertTrue(queued <= 9, "At most the buffer plus the message being written can be accepted.");
+        assertEquals(100 - queued, writer.getDroppedCount());
+        release.countDown();
+        writer.close();
+        assertEquals(queued, lines.toString().split("\n").length);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.vms.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedIntSetTest {
+
+    @Test
+    void testRemoveSwapsLastElementIntoPlace() {
+        IndexedIntSet set = new IndexedIntSet(4);
+        set.add(5);
+        set.add(2);
+        set.add(7);
+        set.add(3);
+        assertFalse(set.add(7), "A value is only added once.");
+
+        assertTrue(set.remove(2));
+        assertEquals(3, set.size());
+        assertEquals(5, set.get(0));
+        assertEquals(3, set.get(1), "The last element takes the place of the removed one.");
+        assertEquals(7, set.get(2));
+        assertTrue(set.remove(3), "The moved element can still be found at its new position.");
+        assertEquals(7, set.get(1));
+        assertFalse(set.remove(2));
+        assertFalse(set.contains(2));
+    }
+
+    @Test
+    void testRemoveAndReAddLastElement() {
+        IndexedIntSet set = new IndexedIntSet(2);
+        set.add(1);
+        set.add(4);
+        assertTrue(set.remove(4));
+        assertFalse(set.contains(4));
+        assertTrue(set.contains(1));
+        assertTrue(set.add(4));
+        assertEquals(2, set.size());
+        assertEquals(4, set.get(1));
+
+        set.remove(1);
+        set.remove(4);
+        assertTrue(set.isEmpty());
+        assertEquals(-1, set.randomElement(new Random(1)));
+        assertTrue(set.add(1));
+        assertEquals(1, set.randomElement(new Random(1)));
+    }
+
+    @Test
+    void testArraysGrowPastTheExpectedSize() {
+        IndexedIntSet set = new IndexedIntSet(2);
+        assertFalse(set.contains(1000));
+        assertFalse(set.contains(-1));
+        for (int value = 0; value < 20; value++) {
+            set.add(value * 3);
+        }
+        set.add(1000); // far past the positions array
+        assertEquals(21, set.size());
+        assertTrue(set.contains(1000));
+        assertTrue(set.contains(57));
+        assertFalse(set.contains(58));
+        assertFalse(set.contains(999), "The grown positions are marked absent.");
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(1000));
+        assertTrue(set.add(57), "A cleared value can be added again.");
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.vms.utils;
+
+import com.example.vms.utils.LogResults.Category;
+import com.example.vms.utils.LogResults.Level;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogResultsTest {
+
+    @AfterEach
+    void restoreDefaults() {
+        LogResults.setLevel(Level.DEBUG);
+        LogResults.setCategories(Category.values());
+        LogResults.unbindBuffer();
+    }
+
+    @Test
+    void testFilteredMessagesAreNeverBuilt() {
+        AtomicInteger built = new AtomicInteger();
+        LogResults.setLevel(Level.INFO);
+        LogResults.setCategories(Category.EVICTION, Category.DISK);
+
+        LogResults.log(Level.DEBUG, Category.EVICTION, () -> "debug " + built.incrementAndGet()); // level too high
+        LogResults.log(Level.INFO, Category.TLB, () -> "tlb " + built.incrementAndGet()); // category off
+        assertEquals(0, built.get());
+        assertFalse(LogResults.isEnabled(Level.INFO, Category.PAGETABLE));
+
+        LogBuffer buffer = new LogBuffer(10);
+        LogResults.bindBuffer(buffer);
+        LogResults.log(Level.INFO, Category.DISK, () -> "disk " + built.incrementAndGet());
+        LogResults.log(Level.ERROR, Category.EVICTION, "eviction error");
+        assertEquals(1, built.get());
+        assertEquals(2, buffer.getMessages().size());
+        assertEquals("disk 1", buffer.getMessages().get(0));
+    }
+
+    @Test
+    void testBufferKeepsNewestMessagesAndServesThemBySequence() {
+        LogBuffer buffer = new LogBuffer(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add("m" + i);
+        }
+        assertEquals(List.of("m3", "m4", "m5"), buffer.getMessages());
+
+        LogBuffer.Slice slice = buffer.since(1);
+        assertEquals(3, slice.getFirstSequence());
+        assertEquals(1, slice.getMissed(), "m2 was overwritten before it was read");
+        assertEquals(5, slice.getLastSequence());
+
+        buffer.add("m6");
+        assertEquals(List.of("m6"), buffer.since(slice.getLastSequence()).getMessages());
+        buffer.clear();
+        assertTrue(buffer.since(0).getMessages().isEmpty());
+        buffer.add("m7");
+        assertEquals(7, buffer.since(6).getFirstSequence());
+    }
+}